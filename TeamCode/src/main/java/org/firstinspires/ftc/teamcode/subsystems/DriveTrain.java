@@ -13,6 +13,7 @@ import org.westtorrancerobotics.lib.spline.geom.Angle;
 import org.westtorrancerobotics.lib.spline.geom.Location;
 import org.westtorrancerobotics.lib.hardware.drive.MecanumController;
 import org.westtorrancerobotics.lib.hardware.drive.MecanumDrive;
+import org.westtorrancerobotics.lib.util.LinearSolver;
 
 public class DriveTrain {
 
@@ -120,6 +121,7 @@ public class DriveTrain {
         private Wheel leftY;
         private Wheel rightY;
         private Wheel x;
+        private final LinearSolver solver = new LinearSolver(3);
 
         private final double TICKS_TO_INCHES = (2 * Math.PI) / 4096;
 
@@ -141,6 +143,17 @@ public class DriveTrain {
             x = new Wheel(new Location(7.087,-1.980,
                     new Angle(-90, Angle.AngleUnit.DEGREES, Angle.AngleOrientation.COMPASS_HEADING)),
                     hardwareMap.get(DcMotorEx.class, "liftRight/odometerX"));
+            // only the distances moved change between updates
+            setRow(0, leftY);
+            setRow(1, rightY);
+            setRow(2, x);
+        }
+
+        private void setRow(int row, Wheel wheel) {
+            solver.set(row, 0, Math.cos(wheel.fetchDirection()));
+            solver.set(row, 1, -Math.sin(wheel.fetchDirection()));
+            solver.setConstant(row, Math.cos(wheel.fetchDirection()) * wheel.relativeLocation.x
+                    - Math.sin(wheel.fetchDirection()) * wheel.relativeLocation.y);
         }
 
         public void update() {
@@ -158,29 +171,10 @@ public class DriveTrain {
                 myLocation.translate(fieldDx, fieldDy);
                 return;
             }
-            double[] solved = solve(new double[][]{
-                    {
-                            Math.cos(leftY.fetchDirection()),
-                            -Math.sin(leftY.fetchDirection()),
-                            -dly,
-                            Math.cos(leftY.fetchDirection()) * leftY.relativeLocation.x
-                                    - Math.sin(leftY.fetchDirection()) * leftY.relativeLocation.y
-                    },
-                    {
-                            Math.cos(rightY.fetchDirection()),
-                            -Math.sin(rightY.fetchDirection()),
-                            -dry,
-                            Math.cos(rightY.fetchDirection()) * rightY.relativeLocation.x
-                                    - Math.sin(rightY.fetchDirection()) * rightY.relativeLocation.y
-                    },
-                    {
-                            Math.cos(x.fetchDirection()),
-                            -Math.sin(x.fetchDirection()),
-                            -dx,
-                            Math.cos(x.fetchDirection()) * x.relativeLocation.x
-                                    - Math.sin(x.fetchDirection()) * x.relativeLocation.y
-                    }
-            });
+            solver.set(0, 2, -dly);
+            solver.set(1, 2, -dry);
+            solver.set(2, 2, -dx);
+            double[] solved = solver.solve();
             double rotCenterRelX = solved[0];
             double rotCenterRelY = solved[1];
             double rotRadCw = 1 / solved[2];
@@ -223,67 +217,8 @@ public class DriveTrain {
             }
         }
 
-        private double[] solve(double[][] augmentedMatrix) {
-            double[][] matrix = new double[augmentedMatrix.length][augmentedMatrix.length + 1];
-            for (int i = 0; i < matrix.length; i++) {
-                System.arraycopy(augmentedMatrix[i], 0, matrix[i], 0, matrix[i].length);
-            }
-            for (int i = 0; i < matrix.length; i++) {
-                for (int j = i; j < matrix.length; j++) {
-                    if (!isZero(matrix[j][i])) {
-                        swapRows(matrix, i, j);
-                        break;
-                    }
-                }
-                scale(matrix, i, 1 / matrix[i][i]);
-                matrix[i][i] = 1;
-                for (int j = i + 1; j < matrix.length; j++) {
-                    if (isZero(matrix[j][i])) {
-                        continue;
-                    }
-                    scale(matrix, j, -1 / matrix[j][i]);
-                    addRow(matrix, i, j);
-                    matrix[j][i] = 0;
-                }
-            }
-            for (int i = matrix.length - 1; i >= 0; i--) {
-                for (int j = i - 1; j >= 0; j--) {
-                    if (isZero(matrix[j][i])) {
-                        continue;
-                    }
-                    double sc = -matrix[j][i];
-                    scale(matrix, i, sc);
-                    addRow(matrix, i, j);
-                    scale(matrix, i, 1/sc);
-                }
-            }
-            double[] solutions = new double[matrix.length];
-            for (int k = 0; k < matrix.length; k++) {
-                solutions[k] = matrix[k][matrix.length];
-            }
-            return solutions;
-        }
-
         private boolean isZero(double number) {
             return Math.abs(number) < 1e-9;
         }
-
-        private void swapRows(double[][] matrix, int row1, int row2) {
-            double[] rowa = matrix[row2];
-            matrix[row2] = matrix[row1];
-            matrix[row1] = rowa;
-        }
-
-        private void scale(double[][] matrix, int row, double constant) {
-            for (int i = 0; i < matrix[row].length; i++) {
-                matrix[row][i] *= constant;
-            }
-        }
-
-        private void addRow(double[][] matrix, int addend, int rowChanged) {
-            for (int i = 0; i < matrix[rowChanged].length; i++) {
-                matrix[rowChanged][i] += matrix[addend][i];
-            }
-        }
     }
 }
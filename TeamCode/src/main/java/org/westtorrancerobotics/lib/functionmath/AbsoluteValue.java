@@ -1,5 +1,6 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.util.Arrays;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 
 /**
@@ -9,6 +10,9 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
  */
 public class AbsoluteValue implements CalculusFunction {
     
+    private CalculusFunction cachedDerivative;
+    private CalculusFunction cachedIntegral;
+    
     /** 
      * Creates a new absolute value function. Takes the absolute value of the identity
      * function.
@@ -23,14 +27,17 @@ public class AbsoluteValue implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction derivative() {
-        return new Piecewise(
-                new CalculusFunction[]{
-                        new Constant(-1),
-                        new Constant(1)
-                },
-                new double[]{Double.NEGATIVE_INFINITY, 0}, Double.POSITIVE_INFINITY
-        );
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Piecewise(
+                    new CalculusFunction[]{
+                            new Constant(-1),
+                            new Constant(1)
+                    },
+                    new double[]{Double.NEGATIVE_INFINITY, 0}, Double.POSITIVE_INFINITY
+            );
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -38,14 +45,17 @@ public class AbsoluteValue implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction integral() {
-        return new Piecewise(
-                new CalculusFunction[]{
-                        new Polynomial(-0.5, 0, 0),
-                        new Polynomial(0.5, 0, 0)
-                },
-                new double[]{Double.NEGATIVE_INFINITY, 0}, Double.POSITIVE_INFINITY
-        );
+    public synchronized CalculusFunction integral() {
+        if (cachedIntegral == null) {
+            cachedIntegral = new Piecewise(
+                    new CalculusFunction[]{
+                            new Polynomial(-0.5, 0, 0),
+                            new Polynomial(0.5, 0, 0)
+                    },
+                    new double[]{Double.NEGATIVE_INFINITY, 0}, Double.POSITIVE_INFINITY
+            );
+        }
+        return cachedIntegral;
     }
 
     /**
@@ -59,6 +69,40 @@ public class AbsoluteValue implements CalculusFunction {
         return Math.abs(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.abs(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        out[0] = Math.abs(x);
+        if (order >= 1) {
+            out[1] = x < 0 ? -1 : 1;
+            Arrays.fill(out, 2, order + 1, 0);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return x.abs();
+    }
+
     /**
      * 
      * @since 1.0
@@ -1,12 +1,11 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Objects;
 import java.util.function.DoubleUnaryOperator;
-import java.util.regex.Matcher;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
-import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
 
 /**
  * Composes two functions. The {@link DoubleUnaryOperator#compose(DoubleUnaryOperator)}
@@ -20,6 +19,7 @@ public class Composition implements DerivableFunction, InversibleFunction {
 
     private final DerivableInversibleFunction out;
     private final DerivableInversibleFunction in;
+    private DerivableFunction cachedDerivative;
 
     /**
      * Creates a function that is the composition of its inputs. The first parameter
@@ -48,14 +48,46 @@ public class Composition implements DerivableFunction, InversibleFunction {
     public double get(double x) {
         return out.get(in.get(x));
     }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        in.getAll(xs, out, from, to);
+        this.out.getAll(out, out, from, to);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        in.getWithDerivatives(x, order, out);
+        Jets.compose(this.out, out, order, out);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return out.evaluate(in.evaluate(x));
+    }
     
     /**
      * 
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Product(new Derivable(in, out.derivative()), in.derivative());
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Product(new Derivable(in, out.derivative()), in.derivative());
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -67,16 +99,30 @@ public class Composition implements DerivableFunction, InversibleFunction {
         return new Inversible(out.inverse(), in.inverse());
     }
 
+    DerivableInversibleFunction getInner() {
+        return in;
+    }
+    
+    DerivableInversibleFunction getOuter() {
+        return out;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        String outStr = out.toString();
-        String inStr = in.toString();
-        outStr = outStr.replaceAll(Function.xVariableRegex(), Matcher.quoteReplacement(inStr));
-        return outStr;
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        LatexWriter.writeComposition(out, in, variable, dest);
     }
     
     /**
@@ -152,6 +198,35 @@ public class Composition implements DerivableFunction, InversibleFunction {
             return out.get(in.get(x));
         }
 
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getAll(double[] xs, double[] out, int from, int to) {
+            in.getAll(xs, out, from, to);
+            this.out.getAll(out, out, from, to);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getWithDerivatives(double x, int order, double[] out) {
+            in.getWithDerivatives(x, order, out);
+            Jets.compose(this.out, out, order, out);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public Interval evaluate(Interval x) {
+            return out.evaluate(in.evaluate(x));
+        }
+
         /**
          * 
          * @since 1.0
@@ -161,16 +236,30 @@ public class Composition implements DerivableFunction, InversibleFunction {
             return new Inversible(out.inverse(), in.inverse());
         }
 
+        InversibleFunction getInner() {
+            return in;
+        }
+        
+        InversibleFunction getOuter() {
+            return out;
+        }
+
         /**
          * 
          * @since 1.0
          */
         @Override
         public String toString() {
-            String outStr = out.toString();
-            String inStr = in.toString();
-            outStr = outStr.replaceAll(Function.xVariableRegex(), Matcher.quoteReplacement(inStr));
-            return outStr;
+            return LatexWriter.toString(this);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+            LatexWriter.writeComposition(out, in, variable, dest);
         }
         
         /**
@@ -215,6 +304,7 @@ public class Composition implements DerivableFunction, InversibleFunction {
         
         private final DerivableFunction out;
         private final DerivableFunction in;
+        private DerivableFunction cachedDerivative;
 
         /**
          * Creates a function that is the composition of its inputs. The first parameter
@@ -247,15 +337,55 @@ public class Composition implements DerivableFunction, InversibleFunction {
             return out.get(in.get(x));
         }
 
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getAll(double[] xs, double[] out, int from, int to) {
+            in.getAll(xs, out, from, to);
+            this.out.getAll(out, out, from, to);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getWithDerivatives(double x, int order, double[] out) {
+            in.getWithDerivatives(x, order, out);
+            Jets.compose(this.out, out, order, out);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public Interval evaluate(Interval x) {
+            return out.evaluate(in.evaluate(x));
+        }
+
         /**
          * 
          * @since 1.0
          */
         @Override
-        public DerivableFunction derivative() {
-            DerivableFunction od = out.derivative();
-            DerivableFunction id = in.derivative();
-            return new Product(new Derivable(in, od), id);
+        public synchronized DerivableFunction derivative() {
+            if (cachedDerivative == null) {
+                DerivableFunction od = out.derivative();
+                DerivableFunction id = in.derivative();
+                cachedDerivative = new Product(new Derivable(in, od), id);
+            }
+            return cachedDerivative;
+        }
+
+        DerivableFunction getInner() {
+            return in;
+        }
+        
+        DerivableFunction getOuter() {
+            return out;
         }
 
         /**
@@ -264,10 +394,16 @@ public class Composition implements DerivableFunction, InversibleFunction {
          */
         @Override
         public String toString() {
-            String outStr = out.toString();
-            String inStr = in.toString();
-            outStr = outStr.replaceAll(Function.xVariableRegex(), Matcher.quoteReplacement(inStr));
-            return outStr;
+            return LatexWriter.toString(this);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+            LatexWriter.writeComposition(out, in, variable, dest);
         }
         
         /**
@@ -1,5 +1,6 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.util.Arrays;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.util.StringUtils;
 
@@ -12,6 +13,8 @@ import org.westtorrancerobotics.lib.util.StringUtils;
 public class Constant implements CalculusFunction {
 
     private final double value;
+    private CalculusFunction cachedDerivative;
+    private Polynomial cachedIntegral;
     
     /**
      * Creates a new constant function {@code f(x) = c}.
@@ -27,8 +30,11 @@ public class Constant implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction derivative() {
-        return new Constant(0);
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Constant(0);
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -36,8 +42,11 @@ public class Constant implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public Polynomial integral() {
-        return new Polynomial(value, 0);
+    public synchronized Polynomial integral() {
+        if (cachedIntegral == null) {
+            cachedIntegral = new Polynomial(value, 0);
+        }
+        return cachedIntegral;
     }
 
     /**
@@ -51,6 +60,39 @@ public class Constant implements CalculusFunction {
         return value;
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        Arrays.fill(out, from, to, value);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        out[0] = value;
+        Arrays.fill(out, 1, order + 1, 0);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return x.isEmpty() ? Interval.EMPTY : new Interval(value);
+    }
+
+    double getValue() {
+        return value;
+    }
+
     /**
      * 
      * @since 1.0
@@ -1,5 +1,6 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
@@ -13,6 +14,9 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 public class Difference implements CalculusFunction {
     
     private final CalculusFunction a, b;
+    private final Scratch scratch = new Scratch();
+    private CalculusFunction cachedDerivative;
+    private CalculusFunction cachedIntegral;
 
     /**
      * Creates a function that is the difference of the supplied functions.
@@ -31,11 +35,13 @@ public class Difference implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction derivative() {
-        CalculusFunction ad = a.derivative();
-        CalculusFunction bd = b.derivative();
-        Difference d = new Difference(ad, bd);
-        return d;
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            CalculusFunction ad = a.derivative();
+            CalculusFunction bd = b.derivative();
+            cachedDerivative = new Difference(ad, bd);
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -43,8 +49,11 @@ public class Difference implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction integral() {
-        return new Difference(a.integral(), b.integral());
+    public synchronized CalculusFunction integral() {
+        if (cachedIntegral == null) {
+            cachedIntegral = new Difference(a.integral(), b.integral());
+        }
+        return cachedIntegral;
     }
 
     /**
@@ -59,13 +68,73 @@ public class Difference implements CalculusFunction {
         return a.get(x) - b.get(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        double[] bs = scratch.get(to - from);
+        System.arraycopy(xs, from, bs, 0, to - from);
+        b.getAll(bs, bs, 0, to - from);
+        a.getAll(xs, out, from, to);
+        for (int i = from; i < to; i++) {
+            out[i] = out[i] - bs[i - from];
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double[] bs = new double[order + 1];
+        b.getWithDerivatives(x, order, bs);
+        a.getWithDerivatives(x, order, out);
+        for (int k = 0; k <= order; k++) {
+            out[k] -= bs[k];
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return a.evaluate(x).minus(b.evaluate(x));
+    }
+
+    CalculusFunction getA() {
+        return a;
+    }
+    
+    CalculusFunction getB() {
+        return b;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        return "\\left("+a+"-"+b+"\\right)";
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("\\left(");
+        a.writeLatex(dest, variable);
+        dest.append("-");
+        b.writeLatex(dest, variable);
+        dest.append("\\right)");
     }
     
     /**
@@ -105,6 +174,8 @@ public class Difference implements CalculusFunction {
     public static class Derivable implements DerivableFunction {
         
         private final DerivableFunction a, b;
+        private final Scratch scratch = new Scratch();
+        private DerivableFunction cachedDerivative;
 
         /**
          * Creates a function that is the difference of the supplied functions.
@@ -124,11 +195,13 @@ public class Difference implements CalculusFunction {
          * @since 1.0
          */
         @Override
-        public DerivableFunction derivative() {
-            DerivableFunction ad = a.derivative();
-            DerivableFunction bd = b.derivative();
-            Derivable d = new Derivable(ad, bd);
-            return d;
+        public synchronized DerivableFunction derivative() {
+            if (cachedDerivative == null) {
+                DerivableFunction ad = a.derivative();
+                DerivableFunction bd = b.derivative();
+                cachedDerivative = new Derivable(ad, bd);
+            }
+            return cachedDerivative;
         }
 
         /**
@@ -142,14 +215,74 @@ public class Difference implements CalculusFunction {
         public double get(double x) {
             return a.get(x) - b.get(x);
         }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getAll(double[] xs, double[] out, int from, int to) {
+            double[] bs = scratch.get(to - from);
+            System.arraycopy(xs, from, bs, 0, to - from);
+            b.getAll(bs, bs, 0, to - from);
+            a.getAll(xs, out, from, to);
+            for (int i = from; i < to; i++) {
+                out[i] = out[i] - bs[i - from];
+            }
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getWithDerivatives(double x, int order, double[] out) {
+            Jets.checkOrder(order);
+            double[] bs = new double[order + 1];
+            b.getWithDerivatives(x, order, bs);
+            a.getWithDerivatives(x, order, out);
+            for (int k = 0; k <= order; k++) {
+                out[k] -= bs[k];
+            }
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public Interval evaluate(Interval x) {
+            return a.evaluate(x).minus(b.evaluate(x));
+        }
+        
+        DerivableFunction getA() {
+            return a;
+        }
         
+        DerivableFunction getB() {
+            return b;
+        }
+
         /**
          * 
          * @since 1.0
          */
         @Override
         public String toString() {
-            return "\\left("+a+"-"+b+"\\right)";
+            return LatexWriter.toString(this);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+            dest.append("\\left(");
+            a.writeLatex(dest, variable);
+            dest.append("-");
+            b.writeLatex(dest, variable);
+            dest.append("\\right)");
         }
 
         /**
@@ -0,0 +1,41 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+/**
+ * The ways a function with a restricted domain can answer an input outside of that
+ * domain. By default such functions throw an exception, which is slow to use as
+ * an ordinary signal, like the end of a path being reached in a follower loop run
+ * many times a second. The other policies let the caller instead test the output
+ * with a branch.
+ * 
+ * @see Piecewise#withPolicy(EvaluationPolicy)
+ * @see PiecewiseDynamicBounds#withPolicy(EvaluationPolicy)
+ * @since 1.2
+ */
+public enum EvaluationPolicy {
+    /**
+     * Throws an exception, as the function always has before policies existed.
+     * 
+     * @since 1.2
+     */
+    THROW,
+    /**
+     * Gives the output at the nearest end of the domain, so the function stays
+     * constant outside it.
+     * 
+     * @since 1.2
+     */
+    CLAMP,
+    /**
+     * Gives {@code NaN}, which can be checked with {@link Double#isNaN(double)}.
+     * 
+     * @since 1.2
+     */
+    NAN,
+    /**
+     * Continues the function past the nearest end of the domain, by the piece or
+     * the slope found there.
+     * 
+     * @since 1.2
+     */
+    EXTRAPOLATE
+}
@@ -0,0 +1,802 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.DoubleUnaryOperator;
+import org.westtorrancerobotics.lib.functionmath.casters.CasterCodec;
+import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
+import org.westtorrancerobotics.lib.functionmath.trig.Arccosecant;
+import org.westtorrancerobotics.lib.functionmath.trig.Arccosine;
+import org.westtorrancerobotics.lib.functionmath.trig.Arccotangent;
+import org.westtorrancerobotics.lib.functionmath.trig.Arcsecant;
+import org.westtorrancerobotics.lib.functionmath.trig.Arcsine;
+import org.westtorrancerobotics.lib.functionmath.trig.Arctangent;
+import org.westtorrancerobotics.lib.functionmath.trig.Cosecant;
+import org.westtorrancerobotics.lib.functionmath.trig.Cosine;
+import org.westtorrancerobotics.lib.functionmath.trig.Cotangent;
+import org.westtorrancerobotics.lib.functionmath.trig.Secant;
+import org.westtorrancerobotics.lib.functionmath.trig.Sine;
+import org.westtorrancerobotics.lib.functionmath.trig.Tangent;
+import org.westtorrancerobotics.lib.util.FastTrig;
+
+/**
+ * Utility class used for saving functions and parametric functions in a compact
+ * binary form, and loading them again. Paths made by {@code SplineGenerator},
+ * and especially their distance functions, take time to build and integrate, which
+ * need not be spent again each time an opmode starts if the finished path is
+ * saved when the robot code is built and read when it is initialized.
+ * <p>
+ * The functions of this library, including those of the {@code trig} package and
+ * the tables of the {@code casters} package, can be written. A function that
+ * appears more than once in a tree, as those shared by an {@link Interner} do,
+ * is written only once and is again a single shared object when read. The tables
+ * of integrals are completed before being written, so that reading them never
+ * repeats that work, and the tables of inverses and sampled functions are written
+ * as they are.
+ * <p>
+ * Everything is written in big-endian order after a header holding the version
+ * of the format, whatever the order of the buffer. A buffer written by an older
+ * version of this class can still be read by a newer one.
+ *
+ * @see CasterCodec
+ * @since 1.2
+ */
+public class FunctionCodec {
+
+    private FunctionCodec() {} // no constructor
+
+    /**
+     * The version of the format written by this class. Buffers of any version up
+     * to this one can be read.
+     *
+     * @since 1.2
+     */
+    public static final int VERSION = 1;
+
+    private static final int MAGIC = 0x57545246; // "WTRF"
+    private static final int FUNCTION = 0;
+    private static final int PARAMETRIC = 1;
+
+    private static final int REFERENCE = 0;
+    private static final int CONSTANT = 1;
+    private static final int IDENTITY = 2;
+    private static final int POLYNOMIAL = 3;
+    private static final int HALF_POLYNOMIAL = 4;
+    private static final int SQUARE_ROOT = 5;
+    private static final int ABSOLUTE_VALUE = 6;
+    private static final int NATURAL_LOGARITHM = 7;
+    private static final int SUM = 8;
+    private static final int SUM_DERIVABLE = 9;
+    private static final int DIFFERENCE = 10;
+    private static final int DIFFERENCE_DERIVABLE = 11;
+    private static final int PRODUCT = 12;
+    private static final int QUOTIENT = 13;
+    private static final int COMPOSITION = 14;
+    private static final int COMPOSITION_INVERSIBLE = 15;
+    private static final int COMPOSITION_DERIVABLE = 16;
+    private static final int PIECEWISE = 17;
+    private static final int PIECEWISE_DYNAMIC_BOUNDS = 18;
+    private static final int PIECEWISE_POLYNOMIAL = 19;
+    private static final int PROGRAM = 20;
+    private static final int DERIVABLE_PROGRAM = 21;
+    private static final int TRIG = 32;
+    private static final int FAST_TRIG = 48;
+
+    private static final Class<?> IDENTITY_CLASS = Function.identity().getClass();
+    private static final Class<?>[] TRIG_CLASSES = {
+        Sine.class, Cosine.class, Tangent.class, Cosecant.class, Secant.class, Cotangent.class,
+        Arcsine.class, Arccosine.class, Arctangent.class, Arccosecant.class, Arcsecant.class,
+        Arccotangent.class
+    };
+
+    /**
+     * Writes a function into a new buffer just large enough to hold it. The buffer
+     * returned is ready to be read from, or written to a file.
+     *
+     * @param f the function to write
+     * @return a buffer holding {@code f}
+     * @throws IllegalArgumentException if {@code f}, or any part of it, is of a type
+     *                                  that cannot be written
+     * @since 1.2
+     */
+    public static ByteBuffer encode(Function f) {
+        Encoder out = new Encoder(ByteBuffer.allocate(256), true);
+        out.header(FUNCTION);
+        out.putFunction(f);
+        return out.finish();
+    }
+
+    /**
+     * Writes a function at the current position of a buffer.
+     *
+     * @param f the function to write
+     * @param dest the buffer to write to
+     * @throws IllegalArgumentException if {@code f}, or any part of it, is of a type
+     *                                  that cannot be written
+     * @throws java.nio.BufferOverflowException if {@code dest} does not have room
+     *                                          for the whole function
+     * @since 1.2
+     */
+    public static void write(Function f, ByteBuffer dest) {
+        Encoder out = new Encoder(dest, false);
+        out.header(FUNCTION);
+        out.putFunction(f);
+        out.finish();
+    }
+
+    /**
+     * Reads a function written by {@link #encode(Function)} or {@link #write(Function, ByteBuffer)}
+     * from the current position of a buffer.
+     *
+     * @param src the buffer to read from
+     * @return the function read
+     * @throws IllegalArgumentException if the buffer does not hold a function of
+     *                                  a version that can be read, or ends before it
+     * @since 1.2
+     */
+    public static Function read(ByteBuffer src) {
+        Decoder in = new Decoder(src);
+        try {
+            in.header(FUNCTION);
+            return in.getFunction();
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Buffer ends before the function does.", ex);
+        } catch (IllegalArgumentException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            // a part read with values its constructor cannot take
+            throw new IllegalArgumentException("Buffer holds an invalid function.", ex);
+        } finally {
+            in.finish();
+        }
+    }
+
+    /**
+     * Writes a parametric function, with every distance function it has made, into
+     * a new buffer just large enough to hold it. The buffer returned is ready to
+     * be read from, or written to a file.
+     *
+     * @param path the parametric function to write
+     * @return a buffer holding {@code path}
+     * @throws IllegalArgumentException if any part of {@code path} is of a type
+     *                                  that cannot be written
+     * @since 1.2
+     */
+    public static ByteBuffer encode(ParametricFunction path) {
+        Encoder out = new Encoder(ByteBuffer.allocate(1024), true);
+        out.header(PARAMETRIC);
+        out.putParametric(path);
+        return out.finish();
+    }
+
+    /**
+     * Writes a parametric function, with every distance function it has made, at
+     * the current position of a buffer.
+     *
+     * @param path the parametric function to write
+     * @param dest the buffer to write to
+     * @throws IllegalArgumentException if any part of {@code path} is of a type
+     *                                  that cannot be written
+     * @throws java.nio.BufferOverflowException if {@code dest} does not have room
+     *                                          for the whole parametric function
+     * @since 1.2
+     */
+    public static void write(ParametricFunction path, ByteBuffer dest) {
+        Encoder out = new Encoder(dest, false);
+        out.header(PARAMETRIC);
+        out.putParametric(path);
+        out.finish();
+    }
+
+    /**
+     * Reads a parametric function written by {@link #encode(ParametricFunction)}
+     * or {@link #write(ParametricFunction, ByteBuffer)} from the current position
+     * of a buffer. The distance functions written with it are returned by its
+     * {@code getDistance} methods without being integrated again.
+     *
+     * @param src the buffer to read from
+     * @return the parametric function read
+     * @throws IllegalArgumentException if the buffer does not hold a parametric
+     *                                  function of a version that can be read, or ends
+     *                                  before it
+     * @since 1.2
+     */
+    public static ParametricFunction readParametric(ByteBuffer src) {
+        Decoder in = new Decoder(src);
+        try {
+            in.header(PARAMETRIC);
+            return in.getParametric();
+        } catch (BufferUnderflowException ex) {
+            throw new IllegalArgumentException("Buffer ends before the function does.", ex);
+        } catch (IllegalArgumentException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            // a part read with values its constructor cannot take
+            throw new IllegalArgumentException("Buffer holds an invalid function.", ex);
+        } finally {
+            in.finish();
+        }
+    }
+
+    /**
+     * The state of a function being written, through which the codecs of other
+     * packages write the parts of their functions. Every value is written in
+     * big-endian order.
+     *
+     * @see CasterCodec
+     * @since 1.2
+     */
+    public static final class Encoder {
+
+        private ByteBuffer buffer;
+        private final boolean growable;
+        private final ByteOrder order;
+        private final Map<Function, Integer> written;
+
+        private Encoder(ByteBuffer buffer, boolean growable) {
+            this.buffer = buffer;
+            this.growable = growable;
+            this.order = buffer.order();
+            this.written = new IdentityHashMap<>();
+            buffer.order(ByteOrder.BIG_ENDIAN);
+        }
+
+        private void header(int kind) {
+            putInt(MAGIC);
+            putByte(VERSION);
+            putByte(kind);
+        }
+
+        private ByteBuffer finish() {
+            buffer.order(order);
+            if (growable) {
+                buffer.flip();
+            }
+            return buffer;
+        }
+
+        private void ensure(int bytes) {
+            if (growable && buffer.remaining() < bytes) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+                buffer.flip();
+                buffer = bigger.put(buffer);
+            }
+        }
+
+        /**
+         * Writes a single byte.
+         *
+         * @param value the byte to write, of which only the lowest eight bits are kept
+         * @since 1.2
+         */
+        public void putByte(int value) {
+            ensure(1);
+            buffer.put((byte) value);
+        }
+
+        /**
+         * Writes a boolean as a single byte.
+         *
+         * @param value the boolean to write
+         * @since 1.2
+         */
+        public void putBoolean(boolean value) {
+            putByte(value ? 1 : 0);
+        }
+
+        /**
+         * Writes a constant of an enum as the single byte of its ordinal.
+         *
+         * @param value the constant to write
+         * @since 1.2
+         */
+        public void putEnum(Enum<?> value) {
+            putByte(value.ordinal());
+        }
+
+        /**
+         * Writes an integer.
+         *
+         * @param value the integer to write
+         * @since 1.2
+         */
+        public void putInt(int value) {
+            ensure(4);
+            buffer.putInt(value);
+        }
+
+        /**
+         * Writes a double.
+         *
+         * @param value the double to write
+         * @since 1.2
+         */
+        public void putDouble(double value) {
+            ensure(8);
+            buffer.putDouble(value);
+        }
+
+        /**
+         * Writes an array of doubles, preceded by its length.
+         *
+         * @param values the doubles to write
+         * @since 1.2
+         */
+        public void putDoubles(double[] values) {
+            ensure(4 + 8 * values.length);
+            buffer.putInt(values.length);
+            for (double value : values) {
+                buffer.putDouble(value);
+            }
+        }
+
+        /**
+         * Writes a function, or, if it has already been written by this encoder,
+         * a reference to it.
+         *
+         * @param f the function to write
+         * @throws IllegalArgumentException if {@code f}, or any part of it, is of
+         *                                  a type that cannot be written
+         * @since 1.2
+         */
+        public void putFunction(Function f) {
+            Integer index = written.get(f);
+            if (index != null) {
+                putByte(REFERENCE);
+                putInt(index);
+                return;
+            }
+            putPart(f);
+            written.put(f, written.size());
+        }
+
+        private void putFunctions(Function[] fs) {
+            putInt(fs.length);
+            for (Function f : fs) {
+                putFunction(f);
+            }
+        }
+
+        private void putPart(Function f) {
+            Class<?> type = f.getClass();
+            if (type == Constant.class) {
+                putByte(CONSTANT);
+                putDouble(((Constant) f).getValue());
+            } else if (type == IDENTITY_CLASS) {
+                putByte(IDENTITY);
+            } else if (type == Polynomial.class) {
+                putByte(POLYNOMIAL);
+                putDoubles(((Polynomial) f).getCoefficients());
+            } else if (type == PolynomialUpHalfDegree.class) {
+                putByte(HALF_POLYNOMIAL);
+                putDouble(((PolynomialUpHalfDegree) f).getMinPower());
+                putDoubles(((PolynomialUpHalfDegree) f).getCoefficients());
+            } else if (type == SquareRoot.class) {
+                putByte(SQUARE_ROOT);
+            } else if (type == AbsoluteValue.class) {
+                putByte(ABSOLUTE_VALUE);
+            } else if (type == NaturalLogarithm.class) {
+                putByte(NATURAL_LOGARITHM);
+                putFunction(((NaturalLogarithm) f).getInput());
+            } else if (type == Sum.class) {
+                putPair(SUM, ((Sum) f).getA(), ((Sum) f).getB());
+            } else if (type == Sum.Derivable.class) {
+                putPair(SUM_DERIVABLE, ((Sum.Derivable) f).getA(), ((Sum.Derivable) f).getB());
+            } else if (type == Difference.class) {
+                putPair(DIFFERENCE, ((Difference) f).getA(), ((Difference) f).getB());
+            } else if (type == Difference.Derivable.class) {
+                putPair(DIFFERENCE_DERIVABLE, ((Difference.Derivable) f).getA(), ((Difference.Derivable) f).getB());
+            } else if (type == Product.class) {
+                putPair(PRODUCT, ((Product) f).getA(), ((Product) f).getB());
+            } else if (type == Quotient.class) {
+                putPair(QUOTIENT, ((Quotient) f).getA(), ((Quotient) f).getB());
+            } else if (type == Composition.class) {
+                putPair(COMPOSITION, ((Composition) f).getInner(), ((Composition) f).getOuter());
+            } else if (type == Composition.Inversible.class) {
+                putPair(COMPOSITION_INVERSIBLE, ((Composition.Inversible) f).getInner(),
+                        ((Composition.Inversible) f).getOuter());
+            } else if (type == Composition.Derivable.class) {
+                putPair(COMPOSITION_DERIVABLE, ((Composition.Derivable) f).getInner(),
+                        ((Composition.Derivable) f).getOuter());
+            } else if (type == Piecewise.class) {
+                Piecewise pcw = (Piecewise) f;
+                putByte(PIECEWISE);
+                putFunctions(pcw.getPieces());
+                putDoubles(pcw.getStartingPoints());
+                putDouble(pcw.getEnd());
+                putEnum(pcw.getPolicy());
+            } else if (type == PiecewiseDynamicBounds.class) {
+                PiecewiseDynamicBounds pdb = (PiecewiseDynamicBounds) f;
+                if (!(pdb.getBounder() instanceof Function)) {
+                    throw new IllegalArgumentException("Cannot write a bounder that is not a Function.");
+                }
+                putByte(PIECEWISE_DYNAMIC_BOUNDS);
+                putFunctions(pdb.getPieces());
+                putFunction((Function) pdb.getBounder());
+                putDoubles(pdb.getStartingPoints());
+                putDouble(pdb.getEnd());
+                putEnum(pdb.getPolicy());
+            } else if (type == PiecewisePolynomial.class) {
+                PiecewisePolynomial pp = (PiecewisePolynomial) f;
+                putByte(PIECEWISE_POLYNOMIAL);
+                putInt(pp.degree());
+                putDoubles(pp.getCoefficients());
+                putDoubles(pp.getBounds());
+                putEnum(pp.getPolicy());
+            } else if (FunctionCompiler.sourceOf(f) != null) {
+                putByte(f instanceof DerivableFunction ? DERIVABLE_PROGRAM : PROGRAM);
+                putFunction(FunctionCompiler.sourceOf(f));
+            } else {
+                for (int i = 0; i < TRIG_CLASSES.length; i++) {
+                    if (type == TRIG_CLASSES[i]) {
+                        putByte((precisionOf(f) == FastTrig.Precision.FAST ? FAST_TRIG : TRIG) + i);
+                        return;
+                    }
+                }
+                if (!CasterCodec.write(f, this)) {
+                    throw new IllegalArgumentException("Cannot write a function of type " + type.getName());
+                }
+            }
+        }
+
+        // the precision of a trig function that has one, or else EXACT
+        private static FastTrig.Precision precisionOf(Function f) {
+            if (f instanceof Sine) {
+                return ((Sine) f).getPrecision();
+            } else if (f instanceof Cosine) {
+                return ((Cosine) f).getPrecision();
+            } else if (f instanceof Tangent) {
+                return ((Tangent) f).getPrecision();
+            } else if (f instanceof Arctangent) {
+                return ((Arctangent) f).getPrecision();
+            }
+            return FastTrig.Precision.EXACT;
+        }
+
+        private void putPair(int tag, Function a, Function b) {
+            putByte(tag);
+            putFunction(a);
+            putFunction(b);
+        }
+
+        private void putParametric(ParametricFunction path) {
+            synchronized (path) {
+                putFunction(path.getX());
+                putFunction(path.getY());
+                putDouble(path.getMaxInput());
+                putBoolean(path.goesForward());
+                putDouble(path.getDistanceTolerance());
+                Map<Integer, CalculusFunction> bySamples = path.getDistanceFunctions();
+                putInt(bySamples.size());
+                for (Map.Entry<Integer, CalculusFunction> entry : bySamples.entrySet()) {
+                    putInt(entry.getKey());
+                    putFunction(entry.getValue());
+                }
+                Map<Double, CalculusFunction> byTolerance = path.getToleranceDistanceFunctions();
+                putInt(byTolerance.size());
+                for (Map.Entry<Double, CalculusFunction> entry : byTolerance.entrySet()) {
+                    putDouble(entry.getKey());
+                    putFunction(entry.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * The state of a function being read, through which the codecs of other packages
+     * read the parts of their functions.
+     *
+     * @see CasterCodec
+     * @since 1.2
+     */
+    public static final class Decoder {
+
+        private final ByteBuffer buffer;
+        private final ByteOrder order;
+        private final List<Function> read;
+        private int version;
+
+        private Decoder(ByteBuffer buffer) {
+            this.buffer = buffer;
+            this.order = buffer.order();
+            this.read = new ArrayList<>();
+            buffer.order(ByteOrder.BIG_ENDIAN);
+        }
+
+        private void header(int kind) {
+            try {
+                if (buffer.getInt() != MAGIC) {
+                    throw new IllegalArgumentException("Buffer does not hold a written function.");
+                }
+                version = buffer.get();
+                if (version < 1 || version > VERSION) {
+                    throw new IllegalArgumentException("Unsupported version: " + version);
+                }
+                if (buffer.get() != kind) {
+                    throw new IllegalArgumentException(kind == PARAMETRIC
+                            ? "Buffer does not hold a parametric function."
+                            : "Buffer does not hold a single function.");
+                }
+            } catch (BufferUnderflowException ex) {
+                throw new IllegalArgumentException("Buffer ends before its header.", ex);
+            }
+        }
+
+        private void finish() {
+            buffer.order(order);
+        }
+
+        /**
+         * Gives the version of the format being read, which may be older than
+         * {@link FunctionCodec#VERSION}.
+         *
+         * @return the version being read
+         * @since 1.2
+         */
+        public int getVersion() {
+            return version;
+        }
+
+        /**
+         * Reads a single byte.
+         *
+         * @return the byte read, from 0 to 255
+         * @since 1.2
+         */
+        public int getByte() {
+            return buffer.get() & 0xFF;
+        }
+
+        /**
+         * Reads a boolean written as a single byte.
+         *
+         * @return the boolean read
+         * @since 1.2
+         */
+        public boolean getBoolean() {
+            return buffer.get() != 0;
+        }
+
+        /**
+         * Reads an integer.
+         *
+         * @return the integer read
+         * @since 1.2
+         */
+        public int getInt() {
+            return buffer.getInt();
+        }
+
+        /**
+         * Reads a double.
+         *
+         * @return the double read
+         * @since 1.2
+         */
+        public double getDouble() {
+            return buffer.getDouble();
+        }
+
+        /**
+         * Reads an array of doubles, preceded by its length.
+         *
+         * @return the doubles read
+         * @throws IllegalArgumentException if the length is impossible
+         * @since 1.2
+         */
+        public double[] getDoubles() {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining() / 8) {
+                throw new IllegalArgumentException("Invalid array length: " + length);
+            }
+            double[] values = new double[length];
+            buffer.asDoubleBuffer().get(values);
+            buffer.position(buffer.position() + 8 * length);
+            return values;
+        }
+
+        /**
+         * Reads a constant of an enum written as the single byte of its ordinal.
+         *
+         * @param <E> the type of the enum
+         * @param type the class of the enum
+         * @return the constant read
+         * @throws IllegalArgumentException if there is no such constant
+         * @since 1.2
+         */
+        public <E extends Enum<E>> E getEnum(Class<E> type) {
+            int ordinal = getByte();
+            E[] constants = type.getEnumConstants();
+            if (ordinal >= constants.length) {
+                throw new IllegalArgumentException("Invalid " + type.getSimpleName() + ": " + ordinal);
+            }
+            return constants[ordinal];
+        }
+
+        /**
+         * Reads a function, or a reference to one that has already been read.
+         *
+         * @return the function read
+         * @throws IllegalArgumentException if the function is of an unknown type
+         * @since 1.2
+         */
+        public Function getFunction() {
+            int tag = getByte();
+            if (tag == REFERENCE) {
+                int index = getInt();
+                if (index < 0 || index >= read.size()) {
+                    throw new IllegalArgumentException("Invalid reference: " + index);
+                }
+                return read.get(index);
+            }
+            Function f = getPart(tag);
+            read.add(f);
+            return f;
+        }
+
+        /**
+         * Reads a function that must be of the given type.
+         *
+         * @param <T> the type of the function
+         * @param type the class or interface of the function
+         * @return the function read
+         * @throws IllegalArgumentException if the function is of an unknown type, or
+         *                                  is not an instance of {@code type}
+         * @since 1.2
+         */
+        public <T extends Function> T getFunction(Class<T> type) {
+            Function f = getFunction();
+            if (!type.isInstance(f)) {
+                throw new IllegalArgumentException("Expected a " + type.getSimpleName()
+                        + " but read a " + f.getClass().getName());
+            }
+            return type.cast(f);
+        }
+
+        private <T extends Function> T[] getFunctions(T[] empty) {
+            int length = getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid array length: " + length);
+            }
+            @SuppressWarnings("unchecked")
+            Class<T> type = (Class<T>) empty.getClass().getComponentType();
+            T[] fs = Arrays.copyOf(empty, length);
+            for (int i = 0; i < length; i++) {
+                fs[i] = getFunction(type);
+            }
+            return fs;
+        }
+
+        private Function getPart(int tag) {
+            switch (tag) {
+                case CONSTANT:
+                    return new Constant(getDouble());
+                case IDENTITY:
+                    return Function.identity();
+                case POLYNOMIAL:
+                    return new Polynomial(getDoubles());
+                case HALF_POLYNOMIAL: {
+                    double minPower = getDouble();
+                    return new PolynomialUpHalfDegree(getDoubles(), minPower);
+                }
+                case SQUARE_ROOT:
+                    return new SquareRoot();
+                case ABSOLUTE_VALUE:
+                    return new AbsoluteValue();
+                case NATURAL_LOGARITHM:
+                    return new NaturalLogarithm(getFunction(CalculusFunction.class));
+                case SUM:
+                    return new Sum(getFunction(CalculusFunction.class), getFunction(CalculusFunction.class));
+                case SUM_DERIVABLE:
+                    return new Sum.Derivable(getFunction(DerivableFunction.class), getFunction(DerivableFunction.class));
+                case DIFFERENCE:
+                    return new Difference(getFunction(CalculusFunction.class), getFunction(CalculusFunction.class));
+                case DIFFERENCE_DERIVABLE:
+                    return new Difference.Derivable(getFunction(DerivableFunction.class),
+                            getFunction(DerivableFunction.class));
+                case PRODUCT:
+                    return new Product(getFunction(DerivableFunction.class), getFunction(DerivableFunction.class));
+                case QUOTIENT:
+                    return new Quotient(getFunction(DerivableFunction.class), getFunction(DerivableFunction.class));
+                case COMPOSITION:
+                    return new Composition(getFunction(DerivableInversibleFunction.class),
+                            getFunction(DerivableInversibleFunction.class));
+                case COMPOSITION_INVERSIBLE:
+                    return new Composition.Inversible(getFunction(InversibleFunction.class),
+                            getFunction(InversibleFunction.class));
+                case COMPOSITION_DERIVABLE:
+                    return new Composition.Derivable(getFunction(DerivableFunction.class),
+                            getFunction(DerivableFunction.class));
+                case PIECEWISE: {
+                    CalculusFunction[] pieces = getFunctions(new CalculusFunction[0]);
+                    double[] startingPoints = getDoubles();
+                    double end = getDouble();
+                    return new Piecewise(pieces, startingPoints, end).withPolicy(getEnum(EvaluationPolicy.class));
+                }
+                case PIECEWISE_DYNAMIC_BOUNDS: {
+                    DerivableFunction[] pieces = getFunctions(new DerivableFunction[0]);
+                    DoubleUnaryOperator bounder = getFunction();
+                    double[] startingPoints = getDoubles();
+                    double end = getDouble();
+                    return new PiecewiseDynamicBounds(pieces, bounder, startingPoints, end).withPolicy(getEnum(EvaluationPolicy.class));
+                }
+                case PIECEWISE_POLYNOMIAL: {
+                    int degree = getInt();
+                    double[] coefficients = getDoubles();
+                    double[] bounds = getDoubles();
+                    return new PiecewisePolynomial(degree, coefficients, bounds).withPolicy(getEnum(EvaluationPolicy.class));
+                }
+                case PROGRAM:
+                    return FunctionCompiler.compile(getFunction());
+                case DERIVABLE_PROGRAM:
+                    return FunctionCompiler.compile(getFunction(DerivableFunction.class));
+                default:
+                    if (tag >= TRIG && tag < TRIG + TRIG_CLASSES.length) {
+                        return trig(tag - TRIG, FastTrig.Precision.EXACT);
+                    }
+                    if (tag >= FAST_TRIG && tag < FAST_TRIG + TRIG_CLASSES.length) {
+                        return trig(tag - FAST_TRIG, FastTrig.Precision.FAST);
+                    }
+                    return CasterCodec.read(tag, this);
+            }
+        }
+
+        private static Function trig(int index, FastTrig.Precision precision) {
+            switch (index) {
+                case 0:
+                    return new Sine(precision);
+                case 1:
+                    return new Cosine(precision);
+                case 2:
+                    return new Tangent(precision);
+                case 3:
+                    return new Cosecant();
+                case 4:
+                    return new Secant();
+                case 5:
+                    return new Cotangent();
+                case 6:
+                    return new Arcsine();
+                case 7:
+                    return new Arccosine();
+                case 8:
+                    return new Arctangent(precision);
+                case 9:
+                    return new Arccosecant();
+                case 10:
+                    return new Arcsecant();
+                default:
+                    return new Arccotangent();
+            }
+        }
+
+        private ParametricFunction getParametric() {
+            DerivableFunction x = getFunction(DerivableFunction.class);
+            DerivableFunction y = getFunction(DerivableFunction.class);
+            double maxInput = getDouble();
+            boolean forward = getBoolean();
+            ParametricFunction path = new ParametricFunction(x, y, maxInput, forward, getDouble());
+            int bySamples = getInt();
+            for (int i = 0; i < bySamples; i++) {
+                int samples = getInt();
+                path.getDistanceFunctions().put(samples, getFunction(CalculusFunction.class));
+            }
+            int byTolerance = getInt();
+            for (int i = 0; i < byTolerance; i++) {
+                double tolerance = getDouble();
+                path.getToleranceDistanceFunctions().put(tolerance, getFunction(CalculusFunction.class));
+            }
+            return path;
+        }
+    }
+}
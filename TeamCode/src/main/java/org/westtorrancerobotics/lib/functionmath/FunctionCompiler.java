@@ -0,0 +1,680 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+import org.westtorrancerobotics.lib.functionmath.trig.Arccosecant;
+import org.westtorrancerobotics.lib.functionmath.trig.Arccosine;
+import org.westtorrancerobotics.lib.functionmath.trig.Arccotangent;
+import org.westtorrancerobotics.lib.functionmath.trig.Arcsecant;
+import org.westtorrancerobotics.lib.functionmath.trig.Arcsine;
+import org.westtorrancerobotics.lib.functionmath.trig.Arctangent;
+import org.westtorrancerobotics.lib.functionmath.trig.Cosecant;
+import org.westtorrancerobotics.lib.functionmath.trig.Cosine;
+import org.westtorrancerobotics.lib.functionmath.trig.Cotangent;
+import org.westtorrancerobotics.lib.functionmath.trig.Secant;
+import org.westtorrancerobotics.lib.functionmath.trig.Sine;
+import org.westtorrancerobotics.lib.functionmath.trig.Tangent;
+import org.westtorrancerobotics.lib.util.FastTrig;
+
+/**
+ * Utility class used for flattening a tree of functions into a single program.
+ * Functions built out of {@link Sum}, {@link Product}, {@link Composition} and
+ * the other classes of this library evaluate by calling {@code get} on each of
+ * their parts, so a deep tree performs many virtual calls for every output. The
+ * {@code Function} returned by {@link #compile(Function)} instead walks an array
+ * of primitive instructions and a pool of constants in a single loop, and gives
+ * the same outputs as the tree from which it was made.
+ * <p>
+ * Functions of types unknown to the compiler, such as those from the {@code casters}
+ * package, are not flattened, and are instead called from within the program.
+ * <p>
+ * The tree is first passed through an {@link Interner}, so parts that appear more
+ * than once, at the same input, are found. Each of these is computed once for
+ * every input given to the program, and its output kept to be reused wherever
+ * else it appears.
+ * 
+ * @since 1.2
+ */
+public class FunctionCompiler {
+
+    private FunctionCompiler() {} // no constructor
+
+    private static final int CONST = 0;
+    private static final int VAR = 1;
+    private static final int STORE = 2;
+    private static final int ADD = 3;
+    private static final int SUB = 4;
+    private static final int MUL = 5;
+    private static final int DIV = 6;
+    private static final int POLY = 7;
+    private static final int HALF_POLY = 8;
+    private static final int SIN = 9;
+    private static final int COS = 10;
+    private static final int TAN = 11;
+    private static final int ASIN = 12;
+    private static final int ACOS = 13;
+    private static final int ATAN = 14;
+    private static final int ABS = 15;
+    private static final int LOG = 16;
+    private static final int RECIP = 17;
+    private static final int CALL = 18;
+    private static final int SELECT = 19;
+    private static final int JUMP = 20;
+    private static final int TEE = 21;
+    private static final int FAST_SIN = 22;
+    private static final int FAST_COS = 23;
+    private static final int FAST_TAN = 24;
+    private static final int FAST_ATAN = 25;
+
+    private static final Class<?> IDENTITY_CLASS = Function.identity().getClass();
+
+    /**
+     * Flattens a function into a program that gives the same outputs. The returned
+     * function is not linked to the derivative, integral, or inverse of the original,
+     * and only gives its outputs, string representation, and equality.
+     * 
+     * @param f the function to compile
+     * @return a function that evaluates {@code f} in a single loop
+     * @since 1.2
+     */
+    public static Function compile(Function f) {
+        if (f instanceof Program) {
+            return f;
+        }
+        if (f instanceof DerivableProgram) {
+            return ((DerivableProgram) f).program;
+        }
+        return new Emitter(f).finish(f);
+    }
+
+    /**
+     * Flattens a derivable function into a program that gives the same outputs.
+     * Only the outputs are computed by the program. Derivatives and bounds over
+     * intervals are given by the original function, and the derivative returned
+     * is itself compiled the first time it is requested, so the result can be
+     * used wherever the original could be used as a {@code DerivableFunction}.
+     * 
+     * @param f the function to compile
+     * @return a derivable function that evaluates {@code f} in a single loop
+     * @since 1.2
+     */
+    public static DerivableFunction compile(DerivableFunction f) {
+        if (f instanceof DerivableProgram) {
+            return f;
+        }
+        Emitter emitter = new Emitter(f);
+        return new DerivableProgram(f, emitter.finish(f));
+    }
+
+    // the function a program was compiled from, or null if f is not a program
+    static Function sourceOf(Function f) {
+        if (f instanceof Program) {
+            return ((Program) f).source;
+        }
+        if (f instanceof DerivableProgram) {
+            return ((DerivableProgram) f).source;
+        }
+        return null;
+    }
+
+    private static class Emitter {
+
+        private final Map<Value, Value> values = new HashMap<>();
+        private final List<Value> stored = new ArrayList<>();
+        private Value[] slotValues = new Value[4];
+        private boolean counting;
+
+        private int[] code = new int[16];
+        private int codeLength = 0;
+        private double[] pool = new double[16];
+        private int poolLength = 0;
+        private Function[] calls = new Function[4];
+        private int callsLength = 0;
+        private int slots = 1;
+        private int depth = 0;
+        private int maxDepth = 0;
+
+        // compiles in two passes, the first only counting the uses of each part
+        private Emitter(Function f) {
+            Function shared = new Interner().intern(f);
+            slotValues[0] = new Value(null, null);
+            counting = true;
+            emit(shared, 0);
+            codeLength = 0;
+            poolLength = 0;
+            callsLength = 0;
+            slots = 1;
+            depth = 0;
+            maxDepth = 0;
+            forget(0);
+            counting = false;
+            emit(shared, 0);
+        }
+
+        private void emit(Function f, int slot) {
+            Class<?> type = f.getClass();
+            if (type == Constant.class || type == IDENTITY_CLASS) {
+                emitPart(f, slot);
+                return;
+            }
+            Value value = value(f, slot);
+            if (counting) {
+                value.uses++;
+            }
+            if (value.slot >= 0 || counting && value.uses > 1) {
+                op(VAR, Math.max(value.slot, 0));
+                push();
+                return;
+            }
+            emitPart(f, slot);
+            if (!counting && value.uses > 1) {
+                keep(value, TEE);
+            }
+        }
+
+        private void emitPart(Function f, int slot) {
+            Class<?> type = f.getClass();
+            if (type == Constant.class) {
+                op(CONST, constant(((Constant) f).getValue()));
+                push();
+            } else if (type == IDENTITY_CLASS) {
+                op(VAR, slot);
+                push();
+            } else if (type == Polynomial.class) {
+                double[] coefficients = ((Polynomial) f).getCoefficients();
+                op(VAR, slot);
+                push();
+                op(POLY, constants(coefficients), coefficients.length);
+            } else if (type == PolynomialUpHalfDegree.class || type == SquareRoot.class) {
+                PolynomialUpHalfDegree puh = (PolynomialUpHalfDegree) f;
+                op(VAR, slot);
+                push();
+                int start = constant(puh.getMinPower());
+                constants(puh.getCoefficients());
+                op(HALF_POLY, start, puh.getCoefficients().length);
+            } else if (type == Sum.class) {
+                binary(((Sum) f).getA(), ((Sum) f).getB(), ADD, slot);
+            } else if (type == Sum.Derivable.class) {
+                binary(((Sum.Derivable) f).getA(), ((Sum.Derivable) f).getB(), ADD, slot);
+            } else if (type == Difference.class) {
+                binary(((Difference) f).getA(), ((Difference) f).getB(), SUB, slot);
+            } else if (type == Difference.Derivable.class) {
+                binary(((Difference.Derivable) f).getA(), ((Difference.Derivable) f).getB(), SUB, slot);
+            } else if (type == Product.class) {
+                binary(((Product) f).getA(), ((Product) f).getB(), MUL, slot);
+            } else if (type == Quotient.class) {
+                binary(((Quotient) f).getA(), ((Quotient) f).getB(), DIV, slot);
+            } else if (type == Composition.class) {
+                compose(((Composition) f).getInner(), ((Composition) f).getOuter(), slot);
+            } else if (type == Composition.Derivable.class) {
+                compose(((Composition.Derivable) f).getInner(), ((Composition.Derivable) f).getOuter(), slot);
+            } else if (type == Composition.Inversible.class) {
+                compose(((Composition.Inversible) f).getInner(), ((Composition.Inversible) f).getOuter(), slot);
+            } else if (type == NaturalLogarithm.class) {
+                emit(((NaturalLogarithm) f).getInput(), slot);
+                op(LOG);
+            } else if (type == AbsoluteValue.class) {
+                unary(slot, ABS);
+            } else if (type == Piecewise.class && ((Piecewise) f).getPolicy() == EvaluationPolicy.THROW) {
+                piecewise((Piecewise) f, slot);
+            } else if (type == Sine.class) {
+                unary(slot, ((Sine) f).getPrecision() == FastTrig.Precision.FAST ? FAST_SIN : SIN);
+            } else if (type == Cosine.class) {
+                unary(slot, ((Cosine) f).getPrecision() == FastTrig.Precision.FAST ? FAST_COS : COS);
+            } else if (type == Tangent.class) {
+                unary(slot, ((Tangent) f).getPrecision() == FastTrig.Precision.FAST ? FAST_TAN : TAN);
+            } else if (type == Cosecant.class) {
+                unary(slot, SIN, RECIP);
+            } else if (type == Secant.class) {
+                unary(slot, COS, RECIP);
+            } else if (type == Cotangent.class) {
+                unary(slot, TAN, RECIP);
+            } else if (type == Arcsine.class) {
+                unary(slot, ASIN);
+            } else if (type == Arccosine.class) {
+                unary(slot, ACOS);
+            } else if (type == Arctangent.class) {
+                unary(slot, ((Arctangent) f).getPrecision() == FastTrig.Precision.FAST ? FAST_ATAN : ATAN);
+            } else if (type == Arccosecant.class) {
+                unary(slot, RECIP, ASIN);
+            } else if (type == Arcsecant.class) {
+                unary(slot, RECIP, ACOS);
+            } else if (type == Arccotangent.class) {
+                unary(slot, RECIP, ATAN);
+            } else {
+                op(VAR, slot);
+                push();
+                if (callsLength == calls.length) {
+                    calls = Arrays.copyOf(calls, calls.length * 2);
+                }
+                calls[callsLength] = f;
+                op(CALL, callsLength++);
+            }
+        }
+
+        private void binary(Function a, Function b, int opcode, int slot) {
+            emit(a, slot);
+            emit(b, slot);
+            op(opcode);
+            depth--;
+        }
+
+        private void unary(int slot, int... opcodes) {
+            op(VAR, slot);
+            push();
+            for (int opcode : opcodes) {
+                op(opcode);
+            }
+        }
+
+        private void compose(Function in, Function out, int slot) {
+            Value value = value(in, slot);
+            if (counting) {
+                value.uses++;
+            }
+            if (value.slot < 0) {
+                emitPart(in, slot);
+                keep(value, STORE);
+                depth--;
+            }
+            emit(out, value.slot);
+        }
+
+        // the output of a shared part at the input held in a slot
+        private Value value(Function f, int slot) {
+            Value value = new Value(f, slotValues[slot]);
+            Value found = values.putIfAbsent(value, value);
+            return found == null ? value : found;
+        }
+
+        // stores the output on top of the stack in a new slot, popping it if storing
+        private void keep(Value value, int opcode) {
+            int slot = slots++;
+            op(opcode, slot);
+            if (slot == slotValues.length) {
+                slotValues = Arrays.copyOf(slotValues, slotValues.length * 2);
+            }
+            slotValues[slot] = value;
+            value.slot = slot;
+            stored.add(value);
+        }
+
+        // outputs kept after the first count are no longer held in their slots
+        private void forget(int count) {
+            while (stored.size() > count) {
+                stored.remove(stored.size() - 1).slot = -1;
+            }
+        }
+
+        private void piecewise(Piecewise pcw, int slot) {
+            CalculusFunction[] pieces = pcw.getPieces();
+            int bounds = constants(pcw.getStartingPoints());
+            constant(pcw.getEnd());
+            op(SELECT, slot, bounds, pieces.length);
+            int table = codeLength;
+            op(new int[pieces.length]);
+            int[] jumps = new int[pieces.length];
+            int entryDepth = depth;
+            int entryStored = stored.size();
+            for (int i = 0; i < pieces.length; i++) {
+                code[table + i] = codeLength;
+                depth = entryDepth;
+                emit(pieces[i], slot);
+                // outputs found in one piece are not computed in the others
+                forget(entryStored);
+                op(JUMP, 0);
+                jumps[i] = codeLength - 1;
+            }
+            for (int jump : jumps) {
+                code[jump] = codeLength;
+            }
+        }
+
+        private void push() {
+            depth++;
+            maxDepth = Math.max(maxDepth, depth);
+        }
+
+        private void op(int... words) {
+            while (codeLength + words.length > code.length) {
+                code = Arrays.copyOf(code, code.length * 2);
+            }
+            System.arraycopy(words, 0, code, codeLength, words.length);
+            codeLength += words.length;
+        }
+
+        private int constant(double value) {
+            if (poolLength == pool.length) {
+                pool = Arrays.copyOf(pool, pool.length * 2);
+            }
+            pool[poolLength] = value;
+            return poolLength++;
+        }
+
+        private int constants(double[] values) {
+            int start = poolLength;
+            for (double value : values) {
+                constant(value);
+            }
+            return start;
+        }
+
+        private Program finish(Function source) {
+            return new Program(source, Arrays.copyOf(code, codeLength), Arrays.copyOf(pool, poolLength),
+                    Arrays.copyOf(calls, callsLength), slots, maxDepth);
+        }
+    }
+
+    // the output of a shared part, with the number of times it is used and the slot
+    // it is kept in, or -1 if it is not kept
+    private static class Value {
+
+        private final Function part;
+        private final Value input;
+        private int uses;
+        private int slot = -1;
+
+        private Value(Function part, Value input) {
+            this.part = part;
+            this.input = input;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null) {
+                return this == null;
+            }
+            if (!(obj.getClass().equals(getClass()))) {
+                return false;
+            }
+            Value val = (Value) obj;
+            return val.part == part && val.input == input;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 37 * hash + System.identityHashCode(part);
+            hash = 37 * hash + System.identityHashCode(input);
+            return hash;
+        }
+    }
+
+    private static class Program implements Function {
+
+        private final Function source;
+        private final int[] code;
+        private final double[] pool;
+        private final Function[] calls;
+        private final int slots;
+        // one frame for each thread, so that evaluating never allocates after the first
+        private final ThreadLocal<double[]> frames;
+
+        private Program(Function source, int[] code, double[] pool, Function[] calls, int slots, int maxDepth) {
+            this.source = source;
+            this.code = code;
+            this.pool = pool;
+            this.calls = calls;
+            this.slots = slots;
+            final int frameSize = slots + maxDepth;
+            this.frames = new ThreadLocal<double[]>() {
+                @Override
+                protected double[] initialValue() {
+                    return new double[frameSize];
+                }
+            };
+        }
+
+        @Override
+        public double get(double x) {
+            return run(x, frames.get());
+        }
+
+        @Override
+        public void getAll(double[] xs, double[] out, int from, int to) {
+            double[] frame = frames.get();
+            for (int i = from; i < to; i++) {
+                out[i] = run(xs[i], frame);
+            }
+        }
+
+        private double run(double x, double[] frame) {
+            final int[] code = this.code;
+            final double[] pool = this.pool;
+            frame[0] = x;
+            int sp = slots;
+            int pc = 0;
+            while (pc < code.length) {
+                switch (code[pc++]) {
+                    case CONST:
+                        frame[sp++] = pool[code[pc++]];
+                        break;
+                    case VAR:
+                        frame[sp++] = frame[code[pc++]];
+                        break;
+                    case STORE:
+                        frame[code[pc++]] = frame[--sp];
+                        break;
+                    case TEE:
+                        frame[code[pc++]] = frame[sp - 1];
+                        break;
+                    case ADD:
+                        sp--;
+                        frame[sp - 1] = frame[sp - 1] + frame[sp];
+                        break;
+                    case SUB:
+                        sp--;
+                        frame[sp - 1] = frame[sp - 1] - frame[sp];
+                        break;
+                    case MUL:
+                        sp--;
+                        frame[sp - 1] = frame[sp - 1] * frame[sp];
+                        break;
+                    case DIV:
+                        sp--;
+                        frame[sp - 1] = frame[sp - 1] / frame[sp];
+                        break;
+                    case POLY: {
+                        int start = code[pc++];
+                        int length = code[pc++];
+                        double in = frame[sp - 1];
+                        double n = 0;
+                        for (int i = start; i < start + length; i++) {
+                            n = n * in + pool[i];
+                        }
+                        frame[sp - 1] = n;
+                        break;
+                    }
+                    case HALF_POLY: {
+                        int start = code[pc++];
+                        int length = code[pc++];
+                        frame[sp - 1] = PolynomialUpHalfDegree.evaluate(pool, start + 1, length, pool[start],
+                                frame[sp - 1]);
+                        break;
+                    }
+                    case SIN:
+                        frame[sp - 1] = Math.sin(frame[sp - 1]);
+                        break;
+                    case COS:
+                        frame[sp - 1] = Math.cos(frame[sp - 1]);
+                        break;
+                    case TAN:
+                        frame[sp - 1] = Math.tan(frame[sp - 1]);
+                        break;
+                    case ASIN:
+                        frame[sp - 1] = Math.asin(frame[sp - 1]);
+                        break;
+                    case ACOS:
+                        frame[sp - 1] = Math.acos(frame[sp - 1]);
+                        break;
+                    case ATAN:
+                        frame[sp - 1] = Math.atan(frame[sp - 1]);
+                        break;
+                    case FAST_SIN:
+                        frame[sp - 1] = FastTrig.sin(frame[sp - 1]);
+                        break;
+                    case FAST_COS:
+                        frame[sp - 1] = FastTrig.cos(frame[sp - 1]);
+                        break;
+                    case FAST_TAN:
+                        frame[sp - 1] = FastTrig.tan(frame[sp - 1]);
+                        break;
+                    case FAST_ATAN:
+                        frame[sp - 1] = FastTrig.atan(frame[sp - 1]);
+                        break;
+                    case ABS:
+                        frame[sp - 1] = Math.abs(frame[sp - 1]);
+                        break;
+                    case LOG:
+                        frame[sp - 1] = Math.log(frame[sp - 1]);
+                        break;
+                    case RECIP:
+                        frame[sp - 1] = 1 / frame[sp - 1];
+                        break;
+                    case CALL:
+                        frame[sp - 1] = calls[code[pc++]].get(frame[sp - 1]);
+                        break;
+                    case SELECT: {
+                        double in = frame[code[pc++]];
+                        int bounds = code[pc++];
+                        int pieces = code[pc++];
+                        pc = code[pc + select(pool, bounds, pieces, in)];
+                        break;
+                    }
+                    case JUMP:
+                        pc = code[pc];
+                        break;
+                    default:
+                        throw new IllegalStateException("Unknown instruction at " + (pc - 1));
+                }
+            }
+            return frame[sp - 1];
+        }
+
+        // same piece selection as Piecewise#get(double)
+        private static int select(double[] pool, int bounds, int pieces, double x) {
+            if (x < pool[bounds]) {
+                throw new ArithmeticException("Domain Error: Input too low.");
+            }
+            if (x > pool[bounds + pieces]) {
+                throw new ArithmeticException("Domain Error: Input too high.");
+            }
+            int low = 0;
+            int high = pieces - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (pool[bounds + mid] <= x) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return x >= pool[bounds + low] ? low : pieces - 1;
+        }
+
+        @Override
+        public String toString() {
+            return source.toString();
+        }
+
+        @Override
+        public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+            source.writeLatex(dest, variable);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null) {
+                return this == null;
+            }
+            if (!(obj.getClass().equals(getClass()))) {
+                return false;
+            }
+            Program prg = (Program) obj;
+            return prg.source.equals(source);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 5;
+            hash = 53 * hash + source.hashCode();
+            return hash;
+        }
+    }
+
+    private static class DerivableProgram implements DerivableFunction {
+
+        private final DerivableFunction source;
+        private final Program program;
+        private DerivableFunction cachedDerivative;
+
+        private DerivableProgram(DerivableFunction source, Program program) {
+            this.source = source;
+            this.program = program;
+        }
+
+        @Override
+        public double get(double x) {
+            return program.get(x);
+        }
+
+        @Override
+        public void getAll(double[] xs, double[] out, int from, int to) {
+            program.getAll(xs, out, from, to);
+        }
+
+        @Override
+        public void getWithDerivatives(double x, int order, double[] out) {
+            source.getWithDerivatives(x, order, out);
+        }
+
+        @Override
+        public Interval evaluate(Interval x) {
+            return source.evaluate(x);
+        }
+
+        @Override
+        public synchronized DerivableFunction derivative() {
+            if (cachedDerivative == null) {
+                cachedDerivative = compile(source.derivative());
+            }
+            return cachedDerivative;
+        }
+
+        @Override
+        public String toString() {
+            return source.toString();
+        }
+
+        @Override
+        public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+            source.writeLatex(dest, variable);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null) {
+                return this == null;
+            }
+            if (!(obj.getClass().equals(getClass()))) {
+                return false;
+            }
+            DerivableProgram prg = (DerivableProgram) obj;
+            return prg.source.equals(source);
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = 7;
+            hash = 59 * hash + source.hashCode();
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
+
+/**
+ * A factory that shares structurally equal functions. Trees of functions built
+ * by hand, or as derivatives, often contain the same part more than once, like
+ * an angle that is given both to a sine and a cosine. Each copy is a separate
+ * object, so its derivative is built, and its output computed, once for every
+ * copy. Passing every function through the same interner instead gives a single
+ * object for each distinct part, which is then built and cached only once.
+ * <p>
+ * Functions are interned from the bottom up. The parts of sums, differences,
+ * products, quotients, compositions, logarithms and piecewise functions are interned
+ * first, so two of these are equal exactly when they are of the same class and
+ * their parts are the same objects. This is checked by identity, and the hash
+ * of each is computed only once, rather than by walking the whole tree as
+ * {@link Function#equals(Object)} does. Functions of any other type are compared
+ * by their own {@code equals} and {@code hashCode}.
+ * <p>
+ * An interner holds on to every function it has given out, so one should be kept
+ * only for as long as the trees it builds are being made.
+ *
+ * @see FunctionCompiler
+ * @since 1.2
+ */
+public class Interner {
+
+    private final Map<Object, Function> nodes;
+
+    /**
+     * Creates an interner that has not yet seen any function.
+     *
+     * @since 1.2
+     */
+    public Interner() {
+        nodes = new HashMap<>();
+    }
+
+    /**
+     * Gives the shared function structurally equal to the one specified. The first
+     * function interned with a certain structure is the one given out for it from
+     * then on, unless one of its parts was itself replaced by a shared copy, in
+     * which case it is rebuilt from the shared parts. Either way, the function
+     * returned is of the same class as {@code f} and gives the same outputs.
+     *
+     * @param <T> the type of the function
+     * @param f the function to intern
+     * @return a function equal to {@code f}, shared with every equal function interned
+     * @since 1.2
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends Function> T intern(T f) {
+        return (T) share(f);
+    }
+
+    /**
+     * Gives the number of distinct functions, including parts of functions, that
+     * this interner has seen.
+     *
+     * @return the number of functions shared by this interner
+     * @since 1.2
+     */
+    public synchronized int size() {
+        return nodes.size();
+    }
+
+    private Function share(Function f) {
+        Class<?> type = f.getClass();
+        if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            CalculusFunction a = intern(sum.getA());
+            CalculusFunction b = intern(sum.getB());
+            return node(a == sum.getA() && b == sum.getB() ? f : new Sum(a, b), a, b);
+        } else if (type == Sum.Derivable.class) {
+            Sum.Derivable sum = (Sum.Derivable) f;
+            DerivableFunction a = intern(sum.getA());
+            DerivableFunction b = intern(sum.getB());
+            return node(a == sum.getA() && b == sum.getB() ? f : new Sum.Derivable(a, b), a, b);
+        } else if (type == Difference.class) {
+            Difference dif = (Difference) f;
+            CalculusFunction a = intern(dif.getA());
+            CalculusFunction b = intern(dif.getB());
+            return node(a == dif.getA() && b == dif.getB() ? f : new Difference(a, b), a, b);
+        } else if (type == Difference.Derivable.class) {
+            Difference.Derivable dif = (Difference.Derivable) f;
+            DerivableFunction a = intern(dif.getA());
+            DerivableFunction b = intern(dif.getB());
+            return node(a == dif.getA() && b == dif.getB() ? f : new Difference.Derivable(a, b), a, b);
+        } else if (type == Product.class) {
+            Product prod = (Product) f;
+            DerivableFunction a = intern(prod.getA());
+            DerivableFunction b = intern(prod.getB());
+            return node(a == prod.getA() && b == prod.getB() ? f : new Product(a, b), a, b);
+        } else if (type == Quotient.class) {
+            Quotient quot = (Quotient) f;
+            DerivableFunction a = intern(quot.getA());
+            DerivableFunction b = intern(quot.getB());
+            return node(a == quot.getA() && b == quot.getB() ? f : new Quotient(a, b), a, b);
+        } else if (type == Composition.class) {
+            Composition comp = (Composition) f;
+            DerivableInversibleFunction in = intern(comp.getInner());
+            DerivableInversibleFunction out = intern(comp.getOuter());
+            return node(in == comp.getInner() && out == comp.getOuter() ? f : new Composition(in, out), in, out);
+        } else if (type == Composition.Inversible.class) {
+            Composition.Inversible comp = (Composition.Inversible) f;
+            InversibleFunction in = intern(comp.getInner());
+            InversibleFunction out = intern(comp.getOuter());
+            return node(in == comp.getInner() && out == comp.getOuter() ? f
+                    : new Composition.Inversible(in, out), in, out);
+        } else if (type == Composition.Derivable.class) {
+            Composition.Derivable comp = (Composition.Derivable) f;
+            DerivableFunction in = intern(comp.getInner());
+            DerivableFunction out = intern(comp.getOuter());
+            return node(in == comp.getInner() && out == comp.getOuter() ? f
+                    : new Composition.Derivable(in, out), in, out);
+        } else if (type == NaturalLogarithm.class) {
+            NaturalLogarithm ln = (NaturalLogarithm) f;
+            CalculusFunction input = intern(ln.getInput());
+            return node(input == ln.getInput() ? f : new NaturalLogarithm(input), input);
+        } else if (type == Piecewise.class) {
+            Piecewise pcw = (Piecewise) f;
+            CalculusFunction[] pieces = pcw.getPieces();
+            CalculusFunction[] shared = new CalculusFunction[pieces.length];
+            boolean changed = false;
+            for (int i = 0; i < pieces.length; i++) {
+                shared[i] = intern(pieces[i]);
+                changed |= shared[i] != pieces[i];
+            }
+            Object[] parts = Arrays.copyOf(shared, pieces.length + 3, Object[].class);
+            parts[pieces.length] = pcw.getStartingPoints();
+            parts[pieces.length + 1] = pcw.getEnd();
+            parts[pieces.length + 2] = pcw.getPolicy();
+            return node(changed ? new Piecewise(shared, pcw.getStartingPoints(), pcw.getEnd())
+                    .withPolicy(pcw.getPolicy()) : f, parts);
+        }
+        Function found = nodes.putIfAbsent(f, f);
+        return found == null ? f : found;
+    }
+
+    private Function node(Function f, Object... parts) {
+        Function found = nodes.putIfAbsent(new Node(f.getClass(), parts), f);
+        return found == null ? f : found;
+    }
+
+    // a function whose parts are already shared, so that they can be compared by identity
+    private static class Node {
+
+        private final Class<?> type;
+        private final Object[] parts;
+        private final int hash;
+
+        private Node(Class<?> type, Object[] parts) {
+            this.type = type;
+            this.parts = parts;
+            int hash = type.hashCode();
+            for (Object part : parts) {
+                hash = 31 * hash + (part instanceof Function ? System.identityHashCode(part)
+                        : Arrays.deepHashCode(new Object[]{part}));
+            }
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == null) {
+                return this == null;
+            }
+            if (!(obj.getClass().equals(getClass()))) {
+                return false;
+            }
+            Node node = (Node) obj;
+            if (node.hash != hash || node.type != type || node.parts.length != parts.length) {
+                return false;
+            }
+            for (int i = 0; i < parts.length; i++) {
+                if (parts[i] instanceof Function ? node.parts[i] != parts[i]
+                        : !Arrays.deepEquals(new Object[]{node.parts[i]}, new Object[]{parts[i]})) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
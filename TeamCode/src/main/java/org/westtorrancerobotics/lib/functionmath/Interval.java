@@ -0,0 +1,366 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+/**
+ * A closed range of real numbers, used to bound every output of a function over a
+ * whole range of inputs at once. Arithmetic on intervals rounds outward, so the
+ * result of an operation always contains every result of the same operation on
+ * numbers within its operands, even after floating point rounding. An interval may
+ * also be empty, as the result of evaluating a function entirely outside its domain.
+ * <p>
+ * Intervals are immutable.
+ * 
+ * @see org.westtorrancerobotics.lib.functionmath.interfaces.Function#evaluate(Interval)
+ * @since 1.2
+ */
+public final class Interval {
+
+    /**
+     * The interval containing every real number, which bounds any function.
+     * 
+     * @since 1.2
+     */
+    public static final Interval ENTIRE = new Interval(Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY);
+
+    /**
+     * The interval containing no numbers.
+     * 
+     * @since 1.2
+     */
+    public static final Interval EMPTY = new Interval();
+
+    private final double min;
+    private final double max;
+
+    /**
+     * Creates the interval [{@code min}, {@code max}].
+     * 
+     * @param min the lowest number in the interval
+     * @param max the highest number in the interval
+     * @throws IllegalArgumentException if {@code min} is greater than {@code max},
+     *                                  or either is {@code NaN}
+     * @since 1.2
+     */
+    public Interval(double min, double max) {
+        if (!(min <= max)) {
+            throw new IllegalArgumentException("Invalid interval: [" + min + ", " + max + "]");
+        }
+        this.min = min;
+        this.max = max;
+    }
+
+    /**
+     * Creates the interval containing only {@code value}.
+     * 
+     * @param value the only number in the interval
+     * @throws IllegalArgumentException if {@code value} is {@code NaN}
+     * @since 1.2
+     */
+    public Interval(double value) {
+        this(value, value);
+    }
+
+    private Interval() {
+        this.min = Double.NaN;
+        this.max = Double.NaN;
+    }
+
+    /**
+     * Gives the smallest interval certainly containing two computed values and
+     * everything between them, allowing each to be off by one unit in the last place.
+     * Either value may be the larger, and a {@code NaN} value, from a computation
+     * with no defined result, makes the interval unbounded on that side.
+     * 
+     * @param a one end of the interval, before widening
+     * @param b the other end of the interval, before widening
+     * @return an interval containing both values and their neighbors
+     * @since 1.2
+     */
+    public static Interval enclosing(double a, double b) {
+        double lo = Math.min(a, b);
+        double hi = Math.max(a, b);
+        lo = Double.isNaN(lo) ? Double.NEGATIVE_INFINITY : Math.nextDown(lo);
+        hi = Double.isNaN(hi) ? Double.POSITIVE_INFINITY : Math.nextUp(hi);
+        return new Interval(lo, hi);
+    }
+
+    /**
+     * Gives the lowest number in the interval.
+     * 
+     * @return the lower bound, or {@code NaN} if the interval is empty
+     * @since 1.2
+     */
+    public double getMin() {
+        return min;
+    }
+
+    /**
+     * Gives the highest number in the interval.
+     * 
+     * @return the upper bound, or {@code NaN} if the interval is empty
+     * @since 1.2
+     */
+    public double getMax() {
+        return max;
+    }
+
+    /**
+     * Gives the distance between the ends of the interval.
+     * 
+     * @return the width of the interval, or {@code NaN} if it is empty
+     * @since 1.2
+     */
+    public double width() {
+        return max - min;
+    }
+
+    /**
+     * Gives the number halfway between the ends of the interval.
+     * 
+     * @return the midpoint of the interval, or {@code NaN} if it is empty or unbounded
+     * @since 1.2
+     */
+    public double midpoint() {
+        return min + (max - min) / 2;
+    }
+
+    /**
+     * Checks whether the interval contains no numbers.
+     * 
+     * @return whether the interval is empty
+     * @since 1.2
+     */
+    public boolean isEmpty() {
+        return Double.isNaN(min);
+    }
+
+    /**
+     * Checks whether a number lies within the interval.
+     * 
+     * @param value the number to check
+     * @return whether the interval contains {@code value}
+     * @since 1.2
+     */
+    public boolean contains(double value) {
+        return min <= value && value <= max;
+    }
+
+    /**
+     * Checks whether another interval lies entirely within this one. The empty
+     * interval lies within every interval.
+     * 
+     * @param other the interval to check
+     * @return whether this interval contains {@code other}
+     * @since 1.2
+     */
+    public boolean contains(Interval other) {
+        return other.isEmpty() || (min <= other.min && other.max <= max);
+    }
+
+    /**
+     * Checks whether the interval may contain {@code offset + k * period} for some
+     * integer {@code k}. This is meant for finding the extremes of periodic functions,
+     * and in the presence of rounding it errs toward answering true.
+     * 
+     * @param offset any one of the points being searched for
+     * @param period the distance between consecutive points being searched for
+     * @return whether the interval contains one of the points
+     * @since 1.2
+     */
+    public boolean containsPeriodically(double offset, double period) {
+        if (isEmpty()) {
+            return false;
+        }
+        if (!(max - min < period)) {
+            return true;
+        }
+        double first = Math.ceil((min - offset) / period - 1e-9);
+        double last = Math.floor((max - offset) / period + 1e-9);
+        return first <= last;
+    }
+
+    /**
+     * Gives the smallest interval containing both this one and another.
+     * 
+     * @param other the interval to combine with this one
+     * @return the hull of both intervals
+     * @since 1.2
+     */
+    public Interval hull(Interval other) {
+        if (isEmpty()) {
+            return other;
+        }
+        if (other.isEmpty()) {
+            return this;
+        }
+        return new Interval(Math.min(min, other.min), Math.max(max, other.max));
+    }
+
+    /**
+     * Gives the numbers contained in both this interval and another.
+     * 
+     * @param other the interval to intersect with this one
+     * @return the intersection of both intervals, which may be empty
+     * @since 1.2
+     */
+    public Interval intersect(Interval other) {
+        double lo = Math.max(min, other.min);
+        double hi = Math.min(max, other.max);
+        if (!(lo <= hi)) {
+            return EMPTY;
+        }
+        return new Interval(lo, hi);
+    }
+
+    /**
+     * Bounds the sum of a number from this interval and a number from another.
+     * 
+     * @param other the interval of numbers to add
+     * @return an interval containing every such sum
+     * @since 1.2
+     */
+    public Interval plus(Interval other) {
+        if (isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        return enclosing(min + other.min, max + other.max);
+    }
+
+    /**
+     * Bounds the difference of a number from this interval and a number from another.
+     * 
+     * @param other the interval of numbers to subtract
+     * @return an interval containing every such difference
+     * @since 1.2
+     */
+    public Interval minus(Interval other) {
+        if (isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        return enclosing(min - other.max, max - other.min);
+    }
+
+    /**
+     * Bounds the product of a number from this interval and a number from another.
+     * 
+     * @param other the interval of numbers to multiply by
+     * @return an interval containing every such product
+     * @since 1.2
+     */
+    public Interval times(Interval other) {
+        if (isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        double a = product(min, other.min);
+        double b = product(min, other.max);
+        double c = product(max, other.min);
+        double d = product(max, other.max);
+        return enclosing(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    // zero times an infinite bound is zero, since the bound itself is never reached
+    private static double product(double a, double b) {
+        return a == 0 || b == 0 ? 0 : a * b;
+    }
+
+    /**
+     * Bounds the quotient of a number from this interval and a number from another.
+     * If the divisor interval contains zero, the quotient is unbounded.
+     * 
+     * @param other the interval of numbers to divide by
+     * @return an interval containing every such quotient
+     * @since 1.2
+     */
+    public Interval dividedBy(Interval other) {
+        if (isEmpty() || other.isEmpty()) {
+            return EMPTY;
+        }
+        if (other.contains(0)) {
+            return ENTIRE;
+        }
+        double a = min / other.min;
+        double b = min / other.max;
+        double c = max / other.min;
+        double d = max / other.max;
+        return enclosing(Math.min(Math.min(a, b), Math.min(c, d)), Math.max(Math.max(a, b), Math.max(c, d)));
+    }
+
+    /**
+     * Gives the interval of the negatives of the numbers in this interval.
+     * 
+     * @return the negated interval
+     * @since 1.2
+     */
+    public Interval negate() {
+        if (isEmpty()) {
+            return EMPTY;
+        }
+        return new Interval(-max, -min);
+    }
+
+    /**
+     * Gives the interval of the absolute values of the numbers in this interval.
+     * 
+     * @return the interval of absolute values
+     * @since 1.2
+     */
+    public Interval abs() {
+        if (isEmpty() || min >= 0) {
+            return this;
+        }
+        if (max <= 0) {
+            return negate();
+        }
+        return new Interval(0, Math.max(-min, max));
+    }
+
+    /**
+     * Gives the interval in the form [{@code min}, {@code max}], or
+     * {@code "\\emptyset"} if it is empty. This string is valid LaTeX.
+     * 
+     * @return a string representation of the interval
+     * @since 1.2
+     */
+    @Override
+    public String toString() {
+        if (isEmpty()) {
+            return "\\emptyset";
+        }
+        return "\\left[" + bound(min) + ", " + bound(max) + "\\right]";
+    }
+
+    private static String bound(double value) {
+        if (Double.isInfinite(value)) {
+            return value > 0 ? "\\infty" : "-\\infty";
+        }
+        return String.valueOf(value);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return this == null;
+        }
+        if (!(obj.getClass().equals(getClass()))) {
+            return false;
+        }
+        Interval itv = (Interval) obj;
+        return Double.doubleToLongBits(itv.min) == Double.doubleToLongBits(min)
+                && Double.doubleToLongBits(itv.max) == Double.doubleToLongBits(max);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 29 * hash + (int) (Double.doubleToLongBits(this.min) ^ (Double.doubleToLongBits(this.min) >>> 32));
+        hash = 29 * hash + (int) (Double.doubleToLongBits(this.max) ^ (Double.doubleToLongBits(this.max) >>> 32));
+        return hash;
+    }
+}
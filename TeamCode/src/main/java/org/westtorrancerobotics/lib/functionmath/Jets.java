@@ -0,0 +1,171 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+
+/**
+ * Arithmetic on truncated Taylor jets, the arrays filled by
+ * {@link Function#getWithDerivatives(double, int, double[])}.
+ * Element {@code k} of a jet is the {@code k}th derivative of a function at a point.
+ * Every operation reads all of its inputs before writing its output, so the output
+ * may be the same array as either input. The jets must have a length of at least
+ * {@code order + 1}.
+ * 
+ * @since 1.2
+ */
+public final class Jets {
+
+    private Jets() {} // no constructor
+
+    /**
+     * Checks that a number of derivatives can be carried in a jet.
+     * 
+     * @param order the highest derivative requested
+     * @throws IllegalArgumentException if {@code order} is not between 0 and 3
+     * @since 1.2
+     */
+    public static void checkOrder(int order) {
+        if (order < 0 || order > 3) {
+            throw new IllegalArgumentException("Derivative order must be between 0 and 3: " + order);
+        }
+    }
+
+    /**
+     * Stores as much of a known jet in {@code out} as is requested. This is meant
+     * for functions whose derivatives are all simple to compute at once.
+     * 
+     * @param out the array in which to store the jet
+     * @param order the highest derivative requested
+     * @param value the output of the function
+     * @param d1 the first derivative of the function
+     * @param d2 the second derivative of the function
+     * @param d3 the third derivative of the function
+     * @throws IllegalArgumentException if {@code order} is not between 0 and 3
+     * @since 1.2
+     */
+    public static void fill(double[] out, int order, double value, double d1, double d2, double d3) {
+        checkOrder(order);
+        out[0] = value;
+        if (order >= 1) {
+            out[1] = d1;
+        }
+        if (order >= 2) {
+            out[2] = d2;
+        }
+        if (order >= 3) {
+            out[3] = d3;
+        }
+    }
+
+    /**
+     * Fills {@code out} with the jet of the product of the functions with jets
+     * {@code a} and {@code b}, by the Leibniz rule.
+     * 
+     * @param a the jet of the first factor
+     * @param b the jet of the second factor
+     * @param order the highest derivative in the jets
+     * @param out the array in which to store the jet of the product
+     * @since 1.2
+     */
+    public static void product(double[] a, double[] b, int order, double[] out) {
+        double a0 = a[0], b0 = b[0];
+        double a1 = 0, a2 = 0, a3 = 0, b1 = 0, b2 = 0, b3 = 0;
+        if (order >= 1) {
+            a1 = a[1];
+            b1 = b[1];
+        }
+        if (order >= 2) {
+            a2 = a[2];
+            b2 = b[2];
+        }
+        if (order >= 3) {
+            a3 = a[3];
+            b3 = b[3];
+        }
+        out[0] = a0 * b0;
+        if (order >= 1) {
+            out[1] = a1 * b0 + a0 * b1;
+        }
+        if (order >= 2) {
+            out[2] = a2 * b0 + 2 * a1 * b1 + a0 * b2;
+        }
+        if (order >= 3) {
+            out[3] = a3 * b0 + 3 * a2 * b1 + 3 * a1 * b2 + a0 * b3;
+        }
+    }
+
+    /**
+     * Fills {@code out} with the jet of the quotient of the functions with jets
+     * {@code a} and {@code b}, by solving {@code a = q * b} one derivative at a time.
+     * 
+     * @param a the jet of the dividend
+     * @param b the jet of the divisor
+     * @param order the highest derivative in the jets
+     * @param out the array in which to store the jet of the quotient
+     * @since 1.2
+     */
+    public static void quotient(double[] a, double[] b, int order, double[] out) {
+        double b0 = b[0];
+        double b1 = order >= 1 ? b[1] : 0;
+        double b2 = order >= 2 ? b[2] : 0;
+        double b3 = order >= 3 ? b[3] : 0;
+        double q0 = a[0] / b0;
+        out[0] = q0;
+        if (order >= 1) {
+            double q1 = (a[1] - q0 * b1) / b0;
+            out[1] = q1;
+            if (order >= 2) {
+                double q2 = (a[2] - 2 * q1 * b1 - q0 * b2) / b0;
+                out[2] = q2;
+                if (order >= 3) {
+                    out[3] = (a[3] - 3 * q2 * b1 - 3 * q1 * b2 - q0 * b3) / b0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Fills {@code out} with the jet of {@code f(g(x))}, given the jet {@code outer}
+     * of {@code f} at {@code g(x)} and the jet {@code inner} of {@code g} at {@code x},
+     * by the formula of Faa di Bruno.
+     * 
+     * @param outer the jet of the outer function at the output of the inner
+     * @param inner the jet of the inner function
+     * @param order the highest derivative in the jets
+     * @param out the array in which to store the jet of the composition
+     * @since 1.2
+     */
+    public static void compose(double[] outer, double[] inner, int order, double[] out) {
+        double f1 = order >= 1 ? outer[1] : 0;
+        double f2 = order >= 2 ? outer[2] : 0;
+        double f3 = order >= 3 ? outer[3] : 0;
+        double g1 = order >= 1 ? inner[1] : 0;
+        double g2 = order >= 2 ? inner[2] : 0;
+        double g3 = order >= 3 ? inner[3] : 0;
+        out[0] = outer[0];
+        if (order >= 1) {
+            out[1] = f1 * g1;
+        }
+        if (order >= 2) {
+            out[2] = f2 * g1 * g1 + f1 * g2;
+        }
+        if (order >= 3) {
+            out[3] = f3 * g1 * g1 * g1 + 3 * f2 * g1 * g2 + f1 * g3;
+        }
+    }
+
+    /**
+     * Fills {@code out} with the jet of {@code f(g(x))}, where {@code inner} is the
+     * jet of {@code g} at {@code x}.
+     * 
+     * @param f the outer function
+     * @param inner the jet of the inner function
+     * @param order the highest derivative in the jets
+     * @param out the array in which to store the jet of the composition
+     * @since 1.2
+     */
+    public static void compose(Function f, double[] inner, int order, double[] out) {
+        double[] outer = new double[order + 1];
+        f.getWithDerivatives(inner[0], order, outer);
+        compose(outer, inner, order, out);
+    }
+}
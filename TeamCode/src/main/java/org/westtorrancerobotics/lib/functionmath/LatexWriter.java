@@ -0,0 +1,170 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+
+/**
+ * Utility class used for writing the LaTeX representations of functions. A function
+ * made of parts used to build its string from the strings of those parts, and a
+ * composition replaced every input variable in the string of its outer function
+ * with the whole string of its inner function, using a regular expression. Each
+ * level of a tree then copied and searched everything below it again, so a deep
+ * tree took time quadratic in its size.
+ * <p>
+ * Through {@link Function#writeLatex(Appendable, CharSequence)}, the text to put
+ * in place of the input variable is instead passed down the tree, and each part
+ * writes itself directly to the end of a single {@link Appendable}. A tree is
+ * then written in a single pass, in time linear in the length of its string.
+ *
+ * @see Function#toString()
+ * @since 1.2
+ */
+public class LatexWriter {
+
+    private LatexWriter() {} // no constructor
+
+    // stands for the input of an outer function, and is replaced by the inner one
+    // as it is appended
+    private static final String INPUT_MARK = "\u0000";
+
+    /**
+     * Gives the LaTeX representation of a function, as written by
+     * {@link Function#writeLatex(Appendable, CharSequence)} with the usual input
+     * variable {@code x}.
+     *
+     * @param f the function to write
+     * @return a LaTeX representation of {@code f}
+     * @since 1.2
+     */
+    public static String toString(Function f) {
+        return toString(f, "x");
+    }
+
+    /**
+     * Gives the LaTeX representation of a function, with the given text in place
+     * of its input variable.
+     *
+     * @param f the function to write
+     * @param variable the text to write in place of the input variable {@code x}
+     * @return a LaTeX representation of {@code f} in terms of {@code variable}
+     * @since 1.2
+     */
+    public static String toString(Function f, CharSequence variable) {
+        StringBuilder str = new StringBuilder();
+        try {
+            f.writeLatex(str, variable);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex); // never thrown by a StringBuilder
+        }
+        return str.toString();
+    }
+
+    /**
+     * Writes the LaTeX representation of a function to the end of an
+     * {@code Appendable}, such as a {@code Writer} for a log file.
+     *
+     * @param f the function to write
+     * @param dest where to write the representation
+     * @throws IOException if {@code dest} cannot be written to
+     * @since 1.2
+     */
+    public static void write(Function f, Appendable dest) throws IOException {
+        f.writeLatex(dest, "x");
+    }
+
+    /**
+     * Writes a LaTeX string, with every input variable in it replaced by the given
+     * text, to the end of an {@code Appendable}. The input variables replaced are
+     * those matched by {@link Function#xVariableRegex()}, each {@code "x"} that
+     * is not followed by a LaTeX subscript, but no regular expression is used.
+     *
+     * @param latex the string in terms of the input variable {@code x}
+     * @param variable the text to write in place of the input variable
+     * @param dest where to write the string
+     * @throws IOException if {@code dest} cannot be written to
+     * @since 1.2
+     */
+    public static void substitute(CharSequence latex, CharSequence variable, Appendable dest)
+            throws IOException {
+        if (variable.length() == 1 && variable.charAt(0) == 'x') {
+            dest.append(latex);
+            return;
+        }
+        int length = latex.length();
+        int copied = 0;
+        for (int i = 0; i < length; i++) {
+            if (latex.charAt(i) == 'x' && !isSubscript(latex, i + 1)) {
+                dest.append(latex, copied, i).append(variable);
+                copied = i + 1;
+            }
+        }
+        dest.append(latex, copied, length);
+    }
+
+    // writes out applied to the output of in, straight to dest, with in written in
+    // wherever out puts its input; integrals are numbered in the order written
+    static void writeComposition(Function out, Function in, CharSequence variable, Appendable dest)
+            throws IOException {
+        out.writeLatex(new Substitution(in, variable, dest), INPUT_MARK);
+    }
+
+    // passes text on to the end of base, except the input mark, for which in is written
+    private static final class Substitution implements Appendable {
+
+        private final Function in;
+        private final CharSequence variable;
+        private final Appendable dest;
+        private final Appendable base;
+
+        private Substitution(Function in, CharSequence variable, Appendable dest) {
+            this.in = in;
+            this.variable = variable;
+            this.dest = dest;
+            // text outside of every mark skips the substitutions between, so nesting
+            // them does not slow down what is written through them
+            this.base = dest instanceof Substitution ? ((Substitution) dest).base : dest;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) throws IOException {
+            if (csq == INPUT_MARK) {
+                in.writeLatex(dest, variable);
+            } else {
+                base.append(csq);
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) throws IOException {
+            if (csq == INPUT_MARK) {
+                if (start < end) {
+                    in.writeLatex(dest, variable);
+                }
+            } else {
+                base.append(csq, start, end);
+            }
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) throws IOException {
+            base.append(c);
+            return this;
+        }
+    }
+
+    // whether the string has a subscript of digits, like "_{12}", at the index
+    private static boolean isSubscript(CharSequence latex, int i) {
+        int length = latex.length();
+        if (i + 1 >= length || latex.charAt(i) != '_' || latex.charAt(i + 1) != '{') {
+            return false;
+        }
+        int j = i + 2;
+        while (j < length && latex.charAt(j) >= '0' && latex.charAt(j) <= '9') {
+            j++;
+        }
+        return j > i + 2 && j < length && latex.charAt(j) == '}';
+    }
+}
@@ -1,5 +1,6 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
@@ -12,6 +13,7 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 public class NaturalLogarithm implements DerivableFunction {
     
     private final CalculusFunction input;
+    private DerivableFunction cachedDerivative;
 
     /**
      * Creates a new natural logarithm. Takes the {@code ln()} of the supplied input
@@ -28,8 +30,11 @@ public class NaturalLogarithm implements DerivableFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Quotient(input.derivative(), input);
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Quotient(input.derivative(), input);
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -43,14 +48,56 @@ public class NaturalLogarithm implements DerivableFunction {
     public double get(double x) {
         return Math.log(input.get(x));
     }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        input.getWithDerivatives(x, order, out);
+        double u = out[0];
+        double[] ln = {Math.log(u), 1 / u, -1 / (u * u), 2 / (u * u * u)};
+        Jets.compose(ln, out, order, out);
+    }
+
+    /**
+     * Bounds the logarithm over the range of outputs of the inner function. Parts
+     * of that range that are negative are outside the domain of the logarithm and
+     * are ignored.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        Interval u = input.evaluate(x).intersect(new Interval(0, Double.POSITIVE_INFINITY));
+        if (u.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        return Interval.enclosing(Math.log(u.getMin()), Math.log(u.getMax()));
+    }
     
+    CalculusFunction getInput() {
+        return input;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        return "\\ln" + input.toString();
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("\\ln");
+        input.writeLatex(dest, variable);
     }
     
     /**
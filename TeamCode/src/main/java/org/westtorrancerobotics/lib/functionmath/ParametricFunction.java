@@ -6,9 +6,11 @@ import org.westtorrancerobotics.lib.functionmath.casters.Inversiblify;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.casters.BruteIntegral;
-import org.westtorrancerobotics.lib.functionmath.casters.BruteInverse;
+import org.westtorrancerobotics.lib.functionmath.casters.GaussKronrodIntegral;
+import org.westtorrancerobotics.lib.functionmath.casters.InverseTable;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
 import org.westtorrancerobotics.lib.spline.geom.Location;
 import org.westtorrancerobotics.lib.spline.geom.Angle;
@@ -31,6 +33,7 @@ public class ParametricFunction {
     private double parameterTolerance;
     private final boolean goesForward;
     private final HashMap<Integer, CalculusFunction> dstFuncs;
+    private final HashMap<Double, CalculusFunction> tolDstFuncs;
 
     /**
      * Creates a new parametric function with x = h(t) specified by {@code x} and
@@ -86,7 +89,7 @@ public class ParametricFunction {
      * double, boolean, double)} If a parameter outside the domain of 0 to {@code MAX_INPUT}
      * is supplied, position calculation will still work, but conversion between
      * parameter and distance along the function is likely to be unstable. The distance
-     * tolerance parameter is used as an input to a {@link BruteInverse} used in
+     * tolerance parameter is used as an input to an {@link InverseTable} used in
      * {@link #getParameter(int)}. The direction is assumed to be forward.
      * 
      * @param x the function specifying the x of the parametric with respect to its parameter
@@ -111,8 +114,8 @@ public class ParametricFunction {
      * parameter and distance along the function is likely to be unstable. The
      * function is also given a direction that can be used by other code through
      * {@link #goesForward()}, but that is not used as a part of any internal
-     * calculations. The distance tolerance parameter is used as an input to a
-     * {@link BruteInverse} used in {@link #getParameter(int)}.
+     * calculations. The distance tolerance parameter is used as an input to an
+     * {@link InverseTable} used in {@link #getParameter(int)}.
      * 
      * @param x the function specifying the x of the parametric with respect to its parameter
      * @param y the function specifying the y of the parametric with respect to its parameter
@@ -129,12 +132,13 @@ public class ParametricFunction {
         this.y = y;
         this.MAX_INPUT = MAX_INPUT;
         dstFuncs = new HashMap<>();
+        tolDstFuncs = new HashMap<>();
         goesForward = forward;
         this.parameterTolerance = parameterTolerance;
     }
 
     /**
-     * Sets the input to a {@link BruteInverse} used in {@link #getParameter(int)}.
+     * Sets the input to an {@link InverseTable} used in {@link #getParameter(int)}.
      * This is the allowed distance between the parameter returned by a parameter
      * getter function and the actual parameter required to go that distance along
      * the parametric function (subject to inaccuracies in functions returned by
@@ -167,13 +171,33 @@ public class ParametricFunction {
      * @since 1.0
      */
     public Location getXYDir(double parameter) {
-        double dy = y.derivative().get(parameter);
-        double dx = x.derivative().get(parameter);
-        double rad = Math.atan2(dy, dx);
+        double[] xJet = new double[2];
+        double[] yJet = new double[2];
+        x.getWithDerivatives(parameter, 1, xJet);
+        y.getWithDerivatives(parameter, 1, yJet);
+        double rad = Math.atan2(yJet[1], xJet[1]);
         Angle dir = new Angle(rad, Angle.AngleUnit.RADIANS, Angle.AngleOrientation.UNIT_CIRCLE);
-        double xOut = x.get(parameter);
-        double yOut = y.get(parameter);
-        return new Location(xOut, yOut, dir);
+        return new Location(xJet[0], yJet[0], dir);
+    }
+
+    /**
+     * Returns the signed curvature of the parametric function at the input parameter,
+     * the rate at which its direction turns per unit of distance travelled along it.
+     * Curvature is positive for counterclockwise turns, and its reciprocal is the
+     * radius of the circle that best fits the path at that point.
+     * 
+     * @param parameter the input, often a time measurement
+     * @return the curvature of the function at the input parameter, in radians per
+     *         unit distance
+     * @since 1.2
+     */
+    public double getCurvature(double parameter) {
+        double[] xJet = new double[3];
+        double[] yJet = new double[3];
+        x.getWithDerivatives(parameter, 2, xJet);
+        y.getWithDerivatives(parameter, 2, yJet);
+        double speedSquared = xJet[1] * xJet[1] + yJet[1] * yJet[1];
+        return (xJet[1] * yJet[2] - yJet[1] * xJet[2]) / (speedSquared * Math.sqrt(speedSquared));
     }
     
     /**
@@ -189,30 +213,107 @@ public class ParametricFunction {
         if (dstFuncs.containsKey(INTEGRAL_NUM_SAMPLES)) {
             return dstFuncs.get(INTEGRAL_NUM_SAMPLES);
         }
-        CalculusFunction newFunc = new Calculify(new Composition.Derivable(
+        CalculusFunction newFunc = new Calculify(getSpeed(), INTEGRAL_NUM_SAMPLES, MAX_INPUT).integral();
+        dstFuncs.put(INTEGRAL_NUM_SAMPLES, newFunc);
+        return newFunc;
+    }
+
+    /**
+     * Gives a function that converts parameters to distances along the parametric.
+     * The function returned is estimated by a {@link GaussKronrodIntegral}, and the
+     * function returned will be approximate, with an error in distance estimated
+     * to be no more than {@code TOLERANCE}.
+     * 
+     * @param TOLERANCE accuracy specification as per {@link GaussKronrodIntegral}
+     * @return a parameter to distance function for this parametric
+     * @since 1.2
+     */
+    public synchronized CalculusFunction getDistance(double TOLERANCE) {
+        if (tolDstFuncs.containsKey(TOLERANCE)) {
+            return tolDstFuncs.get(TOLERANCE);
+        }
+        CalculusFunction newFunc = new Calculify(getSpeed(), TOLERANCE, MAX_INPUT).integral();
+        tolDstFuncs.put(TOLERANCE, newFunc);
+        return newFunc;
+    }
+
+    // compiled so that each derivative, squared, is computed only once; it is not
+    // simplified, as the squares of the pieces of a long spline, multiplied out in
+    // powers of the parameter, would lose most of their digits to cancellation
+    private DerivableFunction getSpeed() {
+        return FunctionCompiler.compile(new Composition.Derivable(
                 new Sum.Derivable(
                         new Product(x.derivative(), x.derivative()),
                         new Product(y.derivative(), y.derivative())
                 ),
                 new PolynomialUpHalfDegree(1)
-        ), INTEGRAL_NUM_SAMPLES, MAX_INPUT).integral();
-        dstFuncs.put(INTEGRAL_NUM_SAMPLES, newFunc);
-        return newFunc;
+        ));
     }
     
     /**
      * Gives a function that converts distances to parameters along the parametric.
      * The function returned is estimated by a {@link BruteIntegral}, and the function
-     * returned will be approximate. A {@link BruteInverse} is also required, and
+     * returned will be approximate. An {@link InverseTable} is also required, and
      * its accuracy is specified either in the constructor or through the method
-     * {@link #setDistanceTolerance(double)}.
+     * {@link #setDistanceTolerance(double)}. The table is built when this method
+     * is called, so the returned function should be kept rather than fetched again.
      * 
      * @param INTEGRAL_NUM_SAMPLES accuracy specification as per {@link BruteIntegral}
      * @return a distance to parameter function for this parametric
      * @since 1.0
      */
     public DerivableInversibleFunction getParameter(int INTEGRAL_NUM_SAMPLES) {
-        return new Inversiblify(getDistance(INTEGRAL_NUM_SAMPLES), parameterTolerance, MAX_INPUT).inverse();
+        return getParameter(INTEGRAL_NUM_SAMPLES, EvaluationPolicy.THROW);
+    }
+
+    /**
+     * Gives a function that converts distances to parameters along the parametric,
+     * answering distances beyond either end of the parametric by the specified
+     * policy. Overloads {@link #getParameter(int)}. A follower can use
+     * {@link EvaluationPolicy#NAN} to find the end of the path with a check of
+     * the parameter rather than by catching an exception.
+     * 
+     * @param INTEGRAL_NUM_SAMPLES accuracy specification as per {@link BruteIntegral}
+     * @param policy how to answer distances beyond either end of the parametric
+     * @return a distance to parameter function for this parametric
+     * @see InverseTable#InverseTable(Function, double, double, double, EvaluationPolicy)
+     * @since 1.2
+     */
+    public DerivableInversibleFunction getParameter(int INTEGRAL_NUM_SAMPLES, EvaluationPolicy policy) {
+        return new Inversiblify(getDistance(INTEGRAL_NUM_SAMPLES), parameterTolerance, 0, MAX_INPUT,
+                Inversiblify.Method.TABLE, policy).inverse();
+    }
+
+    /**
+     * Gives a function that converts distances to parameters along the parametric.
+     * The function returned is estimated by a {@link GaussKronrodIntegral}, and the
+     * function returned will be approximate. An {@link InverseTable} is also required,
+     * and its accuracy is specified either in the constructor or through the method
+     * {@link #setDistanceTolerance(double)}. The table is built when this method
+     * is called, so the returned function should be kept rather than fetched again.
+     * 
+     * @param TOLERANCE accuracy specification as per {@link GaussKronrodIntegral}
+     * @return a distance to parameter function for this parametric
+     * @since 1.2
+     */
+    public DerivableInversibleFunction getParameter(double TOLERANCE) {
+        return getParameter(TOLERANCE, EvaluationPolicy.THROW);
+    }
+
+    /**
+     * Gives a function that converts distances to parameters along the parametric,
+     * answering distances beyond either end of the parametric by the specified
+     * policy. Overloads {@link #getParameter(double)}.
+     * 
+     * @param TOLERANCE accuracy specification as per {@link GaussKronrodIntegral}
+     * @param policy how to answer distances beyond either end of the parametric
+     * @return a distance to parameter function for this parametric
+     * @see #getParameter(int, EvaluationPolicy)
+     * @since 1.2
+     */
+    public DerivableInversibleFunction getParameter(double TOLERANCE, EvaluationPolicy policy) {
+        return new Inversiblify(getDistance(TOLERANCE), parameterTolerance, 0, MAX_INPUT,
+                Inversiblify.Method.TABLE, policy).inverse();
     }
 
     /**
@@ -256,9 +357,21 @@ public class ParametricFunction {
      * @since 1.0
      */
     public void print(double increment) {
+        int count = 0;
         for (double d = 0; d <= MAX_INPUT; d += increment) {
-            Location loc = getXYDir(d);
-            System.out.printf("(%f, %f)\n", loc.x, loc.y);
+            count++;
+        }
+        double[] ts = new double[count];
+        int i = 0;
+        for (double d = 0; i < count; d += increment) {
+            ts[i++] = d;
+        }
+        double[] xs = new double[count];
+        double[] ys = new double[count];
+        x.getAll(ts, xs, 0, count);
+        y.getAll(ts, ys, 0, count);
+        for (i = 0; i < count; i++) {
+            System.out.printf("(%f, %f)\n", xs[i], ys[i]);
         }
     }
 
@@ -274,6 +387,18 @@ public class ParametricFunction {
     public boolean goesForward() {
         return goesForward;
     }
+
+    double getDistanceTolerance() {
+        return parameterTolerance;
+    }
+
+    Map<Integer, CalculusFunction> getDistanceFunctions() {
+        return dstFuncs;
+    }
+
+    Map<Double, CalculusFunction> getToleranceDistanceFunctions() {
+        return tolDstFuncs;
+    }
     
     /**
      * 
@@ -281,9 +406,7 @@ public class ParametricFunction {
      */
     @Override
     public String toString() {
-        String xStr = x.toString().replaceAll(Function.xVariableRegex(), "t");
-        String yStr = y.toString().replaceAll(Function.xVariableRegex(), "t");
-        return "\\left(" + xStr + ", " + yStr + "\\right)";
+        return "\\left(" + LatexWriter.toString(x, "t") + ", " + LatexWriter.toString(y, "t") + "\\right)";
     }
     
     /**
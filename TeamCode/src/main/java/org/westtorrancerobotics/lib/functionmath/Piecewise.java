@@ -1,6 +1,8 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Arrays;
+import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.util.StringUtils;
 
@@ -15,6 +17,10 @@ public class Piecewise implements CalculusFunction {
     private final CalculusFunction[] pieces;
     private final double[] startingPoints;
     private final double end;
+    private final EvaluationPolicy policy;
+    private Piecewise cachedDerivative;
+    private Piecewise cachedIntegral;
+    private int lastPiece; // shared by all threads, only ever a hint
     
     /**
      * Creates a piecewise function with the specified pieces, starting points,
@@ -35,6 +41,11 @@ public class Piecewise implements CalculusFunction {
      * @since 1.0
      */
     public Piecewise(CalculusFunction[] pieces, double[] startingPoints, double end) {
+        this(pieces, startingPoints, end, EvaluationPolicy.THROW);
+    }
+
+    private Piecewise(CalculusFunction[] pieces, double[] startingPoints, double end,
+            EvaluationPolicy policy) {
         if (pieces.length != startingPoints.length) {
             throw new IllegalArgumentException(
                     "Piecewise must have equal number of pieces and starting points."
@@ -45,15 +56,12 @@ public class Piecewise implements CalculusFunction {
             if (Double.isNaN(start)) {
                 throw new IllegalArgumentException("NaN is an invalid starting point.");
             }
-            if (Double.isNaN(last)) {
-                last = start;
-            } else {
-                if (last >= start) {
-                    throw new IllegalArgumentException("Starting points and end must be strictly increasing.");
-                }
+            if (!Double.isNaN(last) && last >= start) {
+                throw new IllegalArgumentException("Starting points and end must be strictly increasing.");
             }
+            last = start;
         }
-        if (Double.isNaN(Double.NaN)) {
+        if (Double.isNaN(end)) {
             throw new IllegalArgumentException("NaN is an invalid ending point.");
         }
         if (last >= end) {
@@ -62,6 +70,7 @@ public class Piecewise implements CalculusFunction {
         this.pieces = pieces;
         this.startingPoints = startingPoints;
         this.end = end;
+        this.policy = Objects.requireNonNull(policy);
     }
     
     /**
@@ -85,18 +94,55 @@ public class Piecewise implements CalculusFunction {
         System.arraycopy(original, 0, output, 0, output.length);
         return output;
     }
+
+    /**
+     * Gives a copy of this function that answers inputs out of the domain of every
+     * piece by the specified policy. With {@link EvaluationPolicy#CLAMP}, the output
+     * is that of the first or last piece at the nearest end of the domain, and with
+     * {@link EvaluationPolicy#EXTRAPOLATE}, it is that of the first or last piece at
+     * the input itself. Derivatives and integrals of the copy keep its policy, except
+     * that those of a clamped copy are taken as if its first and last pieces were
+     * continued by constants, so its derivative is zero out of the domain and its
+     * integral continues along a line.
+     * 
+     * @param policy how to answer inputs out of the domain
+     * @return a piecewise function with the same pieces and the new policy
+     * @since 1.2
+     */
+    public Piecewise withPolicy(EvaluationPolicy policy) {
+        if (policy == this.policy) {
+            return this;
+        }
+        return new Piecewise(pieces, startingPoints, end, policy);
+    }
+
+    /**
+     * Gives the way this function answers inputs out of the domain of every piece.
+     * 
+     * @return the policy of this function
+     * @since 1.2
+     */
+    public EvaluationPolicy getPolicy() {
+        return policy;
+    }
     
     /**
      * 
      * @since 1.0
      */
     @Override
-    public Piecewise derivative() {
-        CalculusFunction[] arr = new CalculusFunction[pieces.length];
-        for (int i = 0; i < pieces.length; i++) {
-            arr[i] = pieces[i].derivative();
+    public synchronized Piecewise derivative() {
+        if (cachedDerivative == null && clampedByPieces() != this) {
+            cachedDerivative = clampedByPieces().derivative();
         }
-        return new Piecewise(arr, startingPoints, end);
+        if (cachedDerivative == null) {
+            CalculusFunction[] arr = new CalculusFunction[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                arr[i] = pieces[i].derivative();
+            }
+            cachedDerivative = new Piecewise(arr, startingPoints, end, policy);
+        }
+        return cachedDerivative;
     }
     
     /**
@@ -105,15 +151,30 @@ public class Piecewise implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public Piecewise integral() {
-        if (startingPoints[0] > 0 || end < 0) {
-            throw new ArithmeticException("No indefinite integral when undefined at zero.");
+    public synchronized Piecewise integral() {
+        if (cachedIntegral == null && clampedByPieces() != this) {
+            cachedIntegral = clampedByPieces().integral();
         }
-        CalculusFunction[] newPieces = new CalculusFunction[pieces.length];
-        for (int i = 0; i < pieces.length; i++) {
-            newPieces[i] = new Sum(pieces[i].integral(), new Constant(integralConstant(i)));
+        if (cachedIntegral == null) {
+            if (startingPoints[0] > 0 || end < 0) {
+                throw new ArithmeticException("No indefinite integral when undefined at zero.");
+            }
+            CalculusFunction[] integrals = new CalculusFunction[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                integrals[i] = pieces[i].integral();
+            }
+            double[] constants = integralConstants(integrals);
+            CalculusFunction[] newPieces = new CalculusFunction[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                if (integrals[i] instanceof Polynomial) {
+                    newPieces[i] = ((Polynomial) integrals[i]).plus(new Polynomial(constants[i]));
+                } else {
+                    newPieces[i] = new Sum(integrals[i], new Constant(constants[i]));
+                }
+            }
+            cachedIntegral = new Piecewise(newPieces, startingPoints, end, policy);
         }
-        return new Piecewise(newPieces, startingPoints, end);
+        return cachedIntegral;
     }
 
     /**
@@ -124,25 +185,200 @@ public class Piecewise implements CalculusFunction {
      * @param x the input of the piece in whose domain this parameter is
      * @return the output of the chosen piece
      * @throws ArithmeticException if the input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @see #withPolicy(EvaluationPolicy)
      * @since 1.0
      */
     @Override
     public double get(double x) {
+        if (isOutside(x)) {
+            double input = outsideInput(x);
+            return Double.isNaN(input) ? Double.NaN : pieces[outsidePiece(x)].get(input);
+        }
+        return pieces[pieceIndex(x)].get(x);
+    }
+
+    /**
+     * Gives the outputs of the pieces at many inputs at once. Consecutive inputs
+     * that fall within the same piece are passed to that piece in a single call.
+     * 
+     * @throws ArithmeticException if an input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        int runStart = from;
+        int runPiece = -1;
+        for (int i = from; i < to; i++) {
+            double x = xs[i];
+            int piece = isOutside(x) ? -1 : pieceIndex(x);
+            if (piece != runPiece) {
+                if (runPiece >= 0) {
+                    pieces[runPiece].getAll(xs, out, runStart, i);
+                }
+                runStart = i;
+                runPiece = piece;
+            }
+            if (piece < 0) {
+                out[i] = get(x);
+            }
+        }
+        if (runPiece >= 0) {
+            pieces[runPiece].getAll(xs, out, runStart, to);
+        }
+    }
+
+    /**
+     * Gives the output and derivatives of the piece in whose domain the input is.
+     * At a boundary between pieces, these are the derivatives of the later piece.
+     * Out of the domain, a clamped function has derivatives of zero.
+     * 
+     * @throws ArithmeticException if the input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        if (isOutside(x)) {
+            double input = outsideInput(x);
+            if (Double.isNaN(input)) {
+                Jets.fill(out, order, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            } else if (policy == EvaluationPolicy.CLAMP) {
+                Jets.fill(out, order, pieces[outsidePiece(x)].get(input), 0, 0, 0);
+            } else {
+                pieces[outsidePiece(x)].getWithDerivatives(input, order, out);
+            }
+            return;
+        }
+        pieces[pieceIndex(x)].getWithDerivatives(x, order, out);
+    }
+
+    /**
+     * Bounds the outputs over a range of inputs by the hull of the bounds of every
+     * piece over the part of the range in its domain. Inputs out of the domain of
+     * every piece are ignored, unless the policy of this function gives them an
+     * output from the first or last piece.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        Interval result = Interval.EMPTY;
+        for (int i = 0; i < pieces.length && !x.isEmpty(); i++) {
+            double pieceEnd = i + 1 < pieces.length ? startingPoints[i + 1] : end;
+            Interval part = x.intersect(new Interval(startingPoints[i], pieceEnd));
+            if (!part.isEmpty()) {
+                result = result.hull(pieces[i].evaluate(part));
+            }
+        }
+        if (x.isEmpty() || (policy != EvaluationPolicy.CLAMP && policy != EvaluationPolicy.EXTRAPOLATE)) {
+            return result;
+        }
+        if (x.getMin() < startingPoints[0]) {
+            Interval below = policy == EvaluationPolicy.CLAMP ? new Interval(startingPoints[0])
+                    : new Interval(x.getMin(), Math.min(x.getMax(), startingPoints[0]));
+            result = result.hull(pieces[0].evaluate(below));
+        }
+        if (x.getMax() > end) {
+            Interval above = policy == EvaluationPolicy.CLAMP ? new Interval(end)
+                    : new Interval(Math.max(x.getMin(), end), x.getMax());
+            result = result.hull(pieces[pieces.length - 1].evaluate(above));
+        }
+        return result;
+    }
+
+    // the same function, with the outputs at the ends of the domain continued by
+    // constant pieces, so that its derivative and integral are those of the clamp;
+    // the last piece keeps its end, where the clamp still takes its derivatives;
+    // this function itself if it is not clamped or has no finite end to continue
+    private Piecewise clampedByPieces() {
+        boolean low = startingPoints[0] > Double.NEGATIVE_INFINITY;
+        boolean high = Math.nextUp(end) < Double.POSITIVE_INFINITY;
+        if (policy != EvaluationPolicy.CLAMP || !(low || high)) {
+            return this;
+        }
+        int count = pieces.length + (low ? 1 : 0) + (high ? 1 : 0);
+        CalculusFunction[] arr = new CalculusFunction[count];
+        double[] starts = new double[count];
+        int offset = low ? 1 : 0;
+        if (low) {
+            arr[0] = new Constant(pieces[0].get(startingPoints[0]));
+            starts[0] = Double.NEGATIVE_INFINITY;
+        }
+        System.arraycopy(pieces, 0, arr, offset, pieces.length);
+        System.arraycopy(startingPoints, 0, starts, offset, pieces.length);
+        if (high) {
+            arr[count - 1] = new Constant(pieces[pieces.length - 1].get(end));
+            starts[count - 1] = Math.nextUp(end);
+        }
+        return new Piecewise(arr, starts, high ? Double.POSITIVE_INFINITY : end, policy);
+    }
+
+    private boolean isOutside(double x) {
+        return x < startingPoints[0] || x > end;
+    }
+
+    // the input at which to evaluate the nearest piece for an input out of the
+    // domain, or NaN if the output should be NaN
+    private double outsideInput(double x) {
+        switch (policy) {
+            case CLAMP:
+                return x < startingPoints[0] ? startingPoints[0] : end;
+            case NAN:
+                return Double.NaN;
+            case EXTRAPOLATE:
+                return x;
+            default:
+                throw new ArithmeticException(x < startingPoints[0]
+                        ? "Domain Error: Input too low." : "Domain Error: Input too high.");
+        }
+    }
+
+    private int outsidePiece(double x) {
+        return x < startingPoints[0] ? 0 : pieces.length - 1;
+    }
+
+    private int pieceIndex(double x) {
         if (x < startingPoints[0]) {
             throw new ArithmeticException("Domain Error: Input too low.");
         }
         if (x > end) {
             throw new ArithmeticException("Domain Error: Input too high.");
         }
-        for (int i = 0; i < startingPoints.length; i++) {
-            if (x >= getBoundingPoint(i) && x < getBoundingPoint(i + 1)) {
-                return pieces[i].get(x);
+        int hint = lastPiece;
+        if (isInPiece(x, hint)) {
+            return hint;
+        }
+        if (hint + 1 < startingPoints.length && isInPiece(x, hint + 1)) {
+            lastPiece = hint + 1;
+            return hint + 1;
+        }
+        int low = 0;
+        int high = startingPoints.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (startingPoints[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
             }
         }
-        return pieces[startingPoints.length - 1].get(x);
+        if (!(x >= startingPoints[low])) {
+            return startingPoints.length - 1;
+        }
+        lastPiece = low;
+        return low;
+    }
+
+    private boolean isInPiece(double x, int i) {
+        return x >= startingPoints[i] && (x < getBoundingPoint(i + 1) || i == startingPoints.length - 1);
     }
 
-    private double integralConstant(int pieceIndex) {
+    // Each piece's constant makes its integral continue from the end of the one
+    // before it, starting with zero at x = 0, so they are found in one pass
+    // outward from the piece containing zero.
+    private double[] integralConstants(CalculusFunction[] integrals) {
         int zeroContainer = -1;
         for (int i = 0; i < startingPoints.length; i++) {
             if (0 >= getBoundingPoint(i) && 0 <= getBoundingPoint(i + 1)) {
@@ -150,26 +386,17 @@ public class Piecewise implements CalculusFunction {
                 break;
             }
         }
-        double count = 0;
-        count -= pieces[zeroContainer].integral().get(0);
-        if (pieceIndex > zeroContainer) {
-            while (pieceIndex > zeroContainer) {
-                double bound = getBoundingPoint(zeroContainer + 1);
-                count -= pieces[zeroContainer + 1].integral().get(bound);
-                count += pieces[zeroContainer].integral().get(bound);
-                zeroContainer++;
-                count -= pieces[zeroContainer].integral().get(0);
-            }
-        } else {
-            while (pieceIndex < zeroContainer) {
-                double bound = getBoundingPoint(zeroContainer);
-                count -= pieces[zeroContainer - 1].integral().get(bound);
-                count += pieces[zeroContainer].integral().get(bound);
-                zeroContainer--;
-                count -= pieces[zeroContainer].integral().get(0);
-            }
+        double[] constants = new double[integrals.length];
+        constants[zeroContainer] = -integrals[zeroContainer].get(0);
+        for (int i = zeroContainer + 1; i < integrals.length; i++) {
+            double bound = getBoundingPoint(i);
+            constants[i] = constants[i - 1] + integrals[i - 1].get(bound) - integrals[i].get(bound);
         }
-        return count;
+        for (int i = zeroContainer - 1; i >= 0; i--) {
+            double bound = getBoundingPoint(i + 1);
+            constants[i] = constants[i + 1] + integrals[i + 1].get(bound) - integrals[i].get(bound);
+        }
+        return constants;
     }
     
     private String getBoundingPointStr (int i) {
@@ -186,29 +413,55 @@ public class Piecewise implements CalculusFunction {
         return startingPoints[i];
     }
     
+    CalculusFunction[] getPieces() {
+        return pieces;
+    }
+    
+    double[] getStartingPoints() {
+        return startingPoints;
+    }
+    
+    double getEnd() {
+        return end;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        StringBuilder strBuild = new StringBuilder("\\left\\{");
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("\\left\\{");
         for (int i = 0; i < pieces.length; i++) {
-            CalculusFunction seg = pieces[i];
-            if (!Double.isFinite(getBoundingPoint(i)) && !Double.isFinite(getBoundingPoint(i + 1))) {
-                strBuild.append(seg.toString()).append(",");
-            } else if (!Double.isFinite(getBoundingPoint(i))) {
-                strBuild.append("x<").append(getBoundingPointStr(i + 1)).append(":").append(seg.toString()).append(",");
-            } else if (!Double.isFinite(getBoundingPoint(i + 1))) {
-                strBuild.append(getBoundingPointStr(i)).append("<x:").append(seg.toString()).append(",");
-            } else {
-                strBuild.append(getBoundingPointStr(i)).append("<x<").append(getBoundingPointStr(i + 1))
-                        .append(":").append(seg.toString()).append(",");
+            if (i > 0) {
+                dest.append(",");
+            }
+            boolean lowBounded = Double.isFinite(getBoundingPoint(i));
+            boolean highBounded = Double.isFinite(getBoundingPoint(i + 1));
+            if (lowBounded) {
+                dest.append(getBoundingPointStr(i)).append("<");
+            }
+            if (lowBounded || highBounded) {
+                dest.append(variable);
+            }
+            if (highBounded) {
+                dest.append("<").append(getBoundingPointStr(i + 1));
+            }
+            if (lowBounded || highBounded) {
+                dest.append(":");
             }
+            pieces[i].writeLatex(dest, variable);
         }
-        strBuild.deleteCharAt(strBuild.length() - 1);
-        strBuild.append("\\right\\}");
-        return strBuild.toString();
+        dest.append("\\right\\}");
     }
     
     /**
@@ -224,7 +477,8 @@ public class Piecewise implements CalculusFunction {
             return false;
         }
         Piecewise pcw = (Piecewise) obj;
-        return Arrays.equals(pcw.pieces, pieces) && Arrays.equals(pcw.startingPoints, startingPoints) && pcw.end == end;
+        return Arrays.equals(pcw.pieces, pieces) && Arrays.equals(pcw.startingPoints, startingPoints)
+                && pcw.end == end && pcw.policy == policy;
     }
 
     /**
@@ -237,6 +491,7 @@ public class Piecewise implements CalculusFunction {
         hash = 71 * hash + Arrays.deepHashCode(this.pieces);
         hash = 71 * hash + Arrays.hashCode(this.startingPoints);
         hash = 71 * hash + (int) (Double.doubleToLongBits(this.end) ^ (Double.doubleToLongBits(this.end) >>> 32));
+        hash = 71 * hash + Objects.hashCode(this.policy);
         return hash;
     }
     
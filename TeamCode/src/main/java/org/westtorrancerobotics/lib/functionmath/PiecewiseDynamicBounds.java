@@ -1,9 +1,11 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.DoubleUnaryOperator;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
 
 /**
  * A piecewise function. Depending on the output of the bounder function at the
@@ -17,6 +19,8 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
     private final DoubleUnaryOperator bounder;
     private final double[] startingPoints;
     private final double end;
+    private final EvaluationPolicy policy;
+    private PiecewiseDynamicBounds cachedDerivative;
     
     /**
      * Creates a piecewise function with the specified pieces, starting points,
@@ -40,6 +44,11 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
      */
     public PiecewiseDynamicBounds(DerivableFunction[] pieces, DoubleUnaryOperator bounder,
             double[] startingPoints, double end) {
+        this(pieces, bounder, startingPoints, end, EvaluationPolicy.THROW);
+    }
+
+    private PiecewiseDynamicBounds(DerivableFunction[] pieces, DoubleUnaryOperator bounder,
+            double[] startingPoints, double end, EvaluationPolicy policy) {
         if (pieces.length != startingPoints.length) {
             throw new IllegalArgumentException(
                     "Piecewise must have equal number of pieces and starting points."
@@ -68,6 +77,36 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
         this.startingPoints = startingPoints;
         this.end = end;
         this.bounder = bounder;
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    /**
+     * Gives a copy of this function that answers inputs at which the output of the
+     * bounder is out of the domain of every piece by the specified policy. Since the
+     * bounder cannot be inverted to find the nearest end of the domain, both
+     * {@link EvaluationPolicy#CLAMP} and {@link EvaluationPolicy#EXTRAPOLATE} give
+     * the output of the first or last piece, whichever is nearer, at the input itself.
+     * Derivatives of the copy keep its policy.
+     * 
+     * @param policy how to answer inputs out of the domain
+     * @return a piecewise function with the same pieces and bounder and the new policy
+     * @since 1.2
+     */
+    public PiecewiseDynamicBounds withPolicy(EvaluationPolicy policy) {
+        if (policy == this.policy) {
+            return this;
+        }
+        return new PiecewiseDynamicBounds(pieces, bounder, startingPoints, end, policy);
+    }
+
+    /**
+     * Gives the way this function answers inputs out of the domain of every piece.
+     * 
+     * @return the policy of this function
+     * @since 1.2
+     */
+    public EvaluationPolicy getPolicy() {
+        return policy;
     }
     
     /**
@@ -75,12 +114,15 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
      * @since 1.0
      */
     @Override
-    public PiecewiseDynamicBounds derivative() {
-        DerivableFunction[] arr = new DerivableFunction[pieces.length];
-        for (int i = 0; i < pieces.length; i++) {
-            arr[i] = pieces[i].derivative();
+    public synchronized PiecewiseDynamicBounds derivative() {
+        if (cachedDerivative == null) {
+            DerivableFunction[] arr = new DerivableFunction[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                arr[i] = pieces[i].derivative();
+            }
+            cachedDerivative = new PiecewiseDynamicBounds(arr, bounder, startingPoints, end, policy);
         }
-        return new PiecewiseDynamicBounds(arr, bounder, startingPoints, end);
+        return cachedDerivative;
     }
 
     /**
@@ -92,26 +134,73 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
      * @param x the input of the piece in whose domain this parameter is
      * @return the output of the chosen piece
      * @throws ArithmeticException if the input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @see #withPolicy(EvaluationPolicy)
      * @since 1.0
      */
     @Override
     public double get(double x) {
-        double bounderX = bounder.applyAsDouble(x);
-        if (bounderX < startingPoints[0]) {
-            throw new ArithmeticException("Domain Error: Input too low.");
+        DerivableFunction piece = pieceAt(x);
+        return piece == null ? Double.NaN : piece.get(x);
+    }
+
+    /**
+     * Gives the output and derivatives of the piece in whose domain the input is,
+     * as chosen by the bounding function.
+     * 
+     * @throws ArithmeticException if the input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        DerivableFunction piece = pieceAt(x);
+        if (piece == null) {
+            Jets.fill(out, order, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+            return;
+        }
+        piece.getWithDerivatives(x, order, out);
+    }
+
+    /**
+     * Bounds the outputs over a range of inputs by the hull of the bounds of every
+     * piece over the whole range, since the bounder may choose any of them.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        Interval result = Interval.EMPTY;
+        for (DerivableFunction piece : pieces) {
+            result = result.hull(piece.evaluate(x));
         }
-        if (bounderX > end) {
-            throw new ArithmeticException("Domain Error: Input too high.");
+        return result;
+    }
+
+    // the piece chosen for an input, or null if the output should be NaN
+    private DerivableFunction pieceAt(double x) {
+        double bounderX = bounder.applyAsDouble(x);
+        if (bounderX < startingPoints[0] || bounderX > end) {
+            switch (policy) {
+                case CLAMP:
+                case EXTRAPOLATE:
+                    return bounderX < startingPoints[0] ? pieces[0] : pieces[pieces.length - 1];
+                case NAN:
+                    return null;
+                default:
+                    throw new ArithmeticException(bounderX < startingPoints[0]
+                            ? "Domain Error: Input too low." : "Domain Error: Input too high.");
+            }
         }
         for (int i = 0; i < startingPoints.length; i++) {
             if (i + 1 == startingPoints.length) {
-                return pieces[i].get(x);
+                return pieces[i];
             }
             if (bounderX >= startingPoints[i] && bounderX <= startingPoints[i + 1]) {
-                return pieces[i].get(x);
+                return pieces[i];
             }
         }
-        return 0; // this statement will never be called
+        return null; // this statement will never be called
     }
     
     private double getBoundingPoint (int i) {
@@ -121,32 +210,63 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
         return startingPoints[i];
     }
 
+    DerivableFunction[] getPieces() {
+        return pieces;
+    }
+
+    DoubleUnaryOperator getBounder() {
+        return bounder;
+    }
+
+    double[] getStartingPoints() {
+        return startingPoints;
+    }
+
+    double getEnd() {
+        return end;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        StringBuilder strBuild = new StringBuilder("\\left\\{");
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("\\left\\{");
         for (int i = 0; i < pieces.length; i++) {
-            DerivableFunction seg = pieces[i];
-            if (!Double.isFinite(getBoundingPoint(i)) && !Double.isFinite(getBoundingPoint(i + 1))) {
-                strBuild.append(seg.toString()).append(",");
-            } else if (!Double.isFinite(getBoundingPoint(i))) {
-                strBuild.append(bounder.toString()).append("<").append(getBoundingPoint(i + 1))
-                        .append(":").append(seg.toString()).append(",");
-            } else if (!Double.isFinite(getBoundingPoint(i + 1))) {
-                strBuild.append(getBoundingPoint(i)).append("<").append(bounder.toString())
-                        .append(":").append(seg.toString()).append(",");
-            } else {
-                strBuild.append(getBoundingPoint(i)).append("<").append(bounder.toString())
-                        .append("<").append(getBoundingPoint(i + 1))
-                        .append(":").append(seg.toString()).append(",");
+            if (i > 0) {
+                dest.append(",");
+            }
+            boolean lowBounded = Double.isFinite(getBoundingPoint(i));
+            boolean highBounded = Double.isFinite(getBoundingPoint(i + 1));
+            if (lowBounded) {
+                dest.append(String.valueOf(getBoundingPoint(i))).append("<");
+            }
+            if (lowBounded || highBounded) {
+                if (bounder instanceof Function) {
+                    ((Function) bounder).writeLatex(dest, variable);
+                } else {
+                    LatexWriter.substitute(bounder.toString(), variable, dest);
+                }
+            }
+            if (highBounded) {
+                dest.append("<").append(String.valueOf(getBoundingPoint(i + 1)));
+            }
+            if (lowBounded || highBounded) {
+                dest.append(":");
             }
+            pieces[i].writeLatex(dest, variable);
         }
-        strBuild.deleteCharAt(strBuild.length() - 1);
-        strBuild.append("\\right\\}");
-        return strBuild.toString();
+        dest.append("\\right\\}");
     }
     
     /**
@@ -163,7 +283,8 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
         }
         PiecewiseDynamicBounds pdb = (PiecewiseDynamicBounds) obj;
         return pdb.bounder.equals(bounder) && Arrays.equals(pdb.pieces, pieces)
-                && Arrays.equals(pdb.startingPoints, startingPoints) && pdb.end == end;
+                && Arrays.equals(pdb.startingPoints, startingPoints) && pdb.end == end
+                && pdb.policy == policy;
     }
 
     /**
@@ -177,6 +298,7 @@ public class PiecewiseDynamicBounds implements DerivableFunction {
         hash = 47 * hash + Objects.hashCode(this.bounder);
         hash = 47 * hash + Arrays.hashCode(this.startingPoints);
         hash = 47 * hash + (int) (Double.doubleToLongBits(this.end) ^ (Double.doubleToLongBits(this.end) >>> 32));
+        hash = 47 * hash + Objects.hashCode(this.policy);
         return hash;
     }
 }
@@ -0,0 +1,552 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
+
+/**
+ * A piecewise function whose every piece is a polynomial. It gives the same outputs
+ * as a {@link Piecewise} of {@link Polynomial} pieces, but all of the coefficients
+ * are kept in a single array, with those of each piece following those of the
+ * piece before it, and all of the bounds in another. Evaluating it touches only
+ * those two arrays, and its derivative and integral are found coefficient by
+ * coefficient in closed form, so they are also of this class.
+ * <p>
+ * Splines and velocity profiles are made of this class, as they are evaluated
+ * many times a second while a path is followed.
+ * 
+ * @since 1.2
+ */
+public class PiecewisePolynomial implements CalculusFunction {
+
+    private final int stride;
+    private final double[] coefficients;
+    private final double[] bounds;
+    private final EvaluationPolicy policy;
+    private PiecewisePolynomial cachedDerivative;
+    private PiecewisePolynomial cachedIntegral;
+    private int lastPiece; // shared by all threads, only ever a hint
+
+    /**
+     * Creates a piecewise polynomial with the specified pieces, starting points,
+     * and end point, which are treated exactly as by {@link
+     * Piecewise#Piecewise(CalculusFunction[], double[], double)}.
+     * 
+     * @param pieces the individual portions of the function
+     * @param startingPoints the low-end x-value for the domain of each piece
+     * @param end the high-end x-value for the last piece
+     * @throws IllegalArgumentException if the supplied starting points and end point
+     *                                  are not strictly increasing
+     * @since 1.2
+     */
+    public PiecewisePolynomial(Polynomial[] pieces, double[] startingPoints, double end) {
+        this(pieces, append(startingPoints, end, pieces.length));
+    }
+
+    /**
+     * Creates a piecewise polynomial with the specified pieces and x-values of
+     * divisions between pieces. Overloads {@link #PiecewisePolynomial(Polynomial[],
+     * double[], double)} with the parameter {@code end} combined into
+     * {@code startingPoints} as the highest indexed value.
+     * 
+     * @param pieces the individual portions of the function
+     * @param bounds the domain restrictions of the pieces
+     * @throws IllegalArgumentException if the bounds are not strictly increasing
+     * @since 1.2
+     */
+    public PiecewisePolynomial(Polynomial[] pieces, double... bounds) {
+        this(maxDegree(pieces), pack(pieces), bounds);
+    }
+
+    /**
+     * Creates a piecewise polynomial from coefficients already packed into a single
+     * array. The coefficients of piece {@code i} are {@code coefficients[i * (degree + 1)]}
+     * through {@code coefficients[i * (degree + 1) + degree]}, in order of decreasing
+     * degree as given to {@link Polynomial#Polynomial(double...)}, and piece {@code i}
+     * extends from {@code bounds[i]} to {@code bounds[i + 1]}. Neither array is
+     * copied, so neither should be changed afterwards.
+     * 
+     * @param degree the highest degree of any piece
+     * @param coefficients the coefficients of every piece, one piece after another
+     * @param bounds the domain restrictions of the pieces
+     * @throws IllegalArgumentException if the degree is negative, the lengths of the
+     *                                  arrays do not agree, or the bounds are not
+     *                                  strictly increasing
+     * @since 1.2
+     */
+    public PiecewisePolynomial(int degree, double[] coefficients, double... bounds) {
+        this(degree, coefficients, bounds, EvaluationPolicy.THROW);
+    }
+
+    private PiecewisePolynomial(int degree, double[] coefficients, double[] bounds,
+            EvaluationPolicy policy) {
+        if (degree < 0) {
+            throw new IllegalArgumentException("Degree must not be negative: " + degree);
+        }
+        if (bounds.length < 2 || coefficients.length != (bounds.length - 1) * (degree + 1)) {
+            throw new IllegalArgumentException(
+                    "Piecewise must have one more bound than pieces, and every piece all its coefficients."
+            );
+        }
+        for (int i = 0; i < bounds.length; i++) {
+            if (Double.isNaN(bounds[i])) {
+                throw new IllegalArgumentException("NaN is an invalid bound.");
+            }
+            if (i > 0 && bounds[i - 1] >= bounds[i]) {
+                throw new IllegalArgumentException("Starting points and end must be strictly increasing.");
+            }
+        }
+        this.stride = degree + 1;
+        this.coefficients = coefficients;
+        this.bounds = bounds;
+        this.policy = Objects.requireNonNull(policy);
+    }
+
+    private static double[] append(double[] startingPoints, double end, int pieces) {
+        if (startingPoints.length != pieces) {
+            throw new IllegalArgumentException(
+                    "Piecewise must have equal number of pieces and starting points."
+            );
+        }
+        double[] bounds = Arrays.copyOf(startingPoints, startingPoints.length + 1);
+        bounds[startingPoints.length] = end;
+        return bounds;
+    }
+
+    private static int maxDegree(Polynomial[] pieces) {
+        int degree = 0;
+        for (Polynomial piece : pieces) {
+            degree = Math.max(degree, piece.degree());
+        }
+        return degree;
+    }
+
+    private static double[] pack(Polynomial[] pieces) {
+        int stride = maxDegree(pieces) + 1;
+        double[] packed = new double[pieces.length * stride];
+        for (int i = 0; i < pieces.length; i++) {
+            double[] c = pieces[i].getCoefficients();
+            System.arraycopy(c, 0, packed, (i + 1) * stride - c.length, c.length);
+        }
+        return packed;
+    }
+
+    /**
+     * Gives a copy of this function that answers inputs out of the domain of every
+     * piece by the specified policy, as {@link Piecewise#withPolicy(EvaluationPolicy)}
+     * does. Derivatives and integrals of the copy keep its policy, except that those
+     * of a clamped copy are zero and linear out of the domain, as for a {@code Piecewise}.
+     * 
+     * @param policy how to answer inputs out of the domain
+     * @return a piecewise polynomial with the same pieces and the new policy
+     * @since 1.2
+     */
+    public PiecewisePolynomial withPolicy(EvaluationPolicy policy) {
+        if (policy == this.policy) {
+            return this;
+        }
+        return new PiecewisePolynomial(stride - 1, coefficients, bounds, policy);
+    }
+
+    /**
+     * Gives the way this function answers inputs out of the domain of every piece.
+     * 
+     * @return the policy of this function
+     * @since 1.2
+     */
+    public EvaluationPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Returns the derivative of every piece, packed in the same way.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public synchronized PiecewisePolynomial derivative() {
+        if (cachedDerivative == null && clampedByPieces() != this) {
+            cachedDerivative = clampedByPieces().derivative();
+        }
+        if (cachedDerivative == null) {
+            int degree = stride - 1;
+            int newStride = Math.max(degree, 1);
+            double[] arr = new double[pieceCount() * newStride];
+            if (degree > 0) {
+                for (int i = 0; i < pieceCount(); i++) {
+                    int from = i * stride;
+                    int to = i * newStride;
+                    for (int k = 0; k < degree; k++) {
+                        arr[to + k] = coefficients[from + k] * (degree - k);
+                    }
+                }
+            }
+            cachedDerivative = new PiecewisePolynomial(newStride - 1, arr, bounds, policy);
+        }
+        return cachedDerivative;
+    }
+
+    /**
+     * Returns the integral of every piece, packed in the same way. The constant
+     * of each piece makes the integral continue from the end of the piece before
+     * it, and is chosen so the integral is zero at x = 0.
+     * 
+     * @throws ArithmeticException if the function is undefined at {@code x = 0}
+     * @since 1.2
+     */
+    @Override
+    public synchronized PiecewisePolynomial integral() {
+        if (cachedIntegral == null && clampedByPieces() != this) {
+            cachedIntegral = clampedByPieces().integral();
+        }
+        if (cachedIntegral == null) {
+            int n = pieceCount();
+            if (bounds[0] > 0 || bounds[n] < 0) {
+                throw new ArithmeticException("No indefinite integral when undefined at zero.");
+            }
+            int newStride = stride + 1;
+            double[] arr = new double[n * newStride];
+            for (int i = 0; i < n; i++) {
+                int from = i * stride;
+                int to = i * newStride;
+                for (int k = 0; k < stride; k++) {
+                    arr[to + k] = coefficients[from + k] / (stride - k);
+                }
+            }
+            // one pass outward from the piece containing zero, as in Piecewise
+            int zeroContainer = 0;
+            while (!(0 >= bounds[zeroContainer] && 0 <= bounds[zeroContainer + 1])) {
+                zeroContainer++;
+            }
+            int last = newStride - 1;
+            arr[zeroContainer * newStride + last] = -horner(arr, zeroContainer * newStride, newStride, 0);
+            for (int i = zeroContainer + 1; i < n; i++) {
+                double bound = bounds[i];
+                arr[i * newStride + last] = horner(arr, (i - 1) * newStride, newStride, bound)
+                        - horner(arr, i * newStride, newStride, bound);
+            }
+            for (int i = zeroContainer - 1; i >= 0; i--) {
+                double bound = bounds[i + 1];
+                arr[i * newStride + last] = horner(arr, (i + 1) * newStride, newStride, bound)
+                        - horner(arr, i * newStride, newStride, bound);
+            }
+            cachedIntegral = new PiecewisePolynomial(newStride - 1, arr, bounds, policy);
+        }
+        return cachedIntegral;
+    }
+
+    // the same function, with constant pieces past each finite end, as in Piecewise
+    private PiecewisePolynomial clampedByPieces() {
+        int n = pieceCount();
+        boolean low = bounds[0] > Double.NEGATIVE_INFINITY;
+        boolean high = Math.nextUp(bounds[n]) < Double.POSITIVE_INFINITY;
+        if (policy != EvaluationPolicy.CLAMP || !(low || high)) {
+            return this;
+        }
+        int offset = low ? 1 : 0;
+        int count = n + offset + (high ? 1 : 0);
+        double[] arr = new double[count * stride];
+        double[] newBounds = new double[count + 1];
+        if (low) {
+            arr[stride - 1] = horner(coefficients, 0, stride, bounds[0]);
+            newBounds[0] = Double.NEGATIVE_INFINITY;
+        }
+        System.arraycopy(coefficients, 0, arr, offset * stride, n * stride);
+        System.arraycopy(bounds, 0, newBounds, offset, n + 1);
+        if (high) {
+            arr[count * stride - 1] = horner(coefficients, (n - 1) * stride, stride, bounds[n]);
+            newBounds[count - 1] = Math.nextUp(bounds[n]);
+            newBounds[count] = Double.POSITIVE_INFINITY;
+        }
+        return new PiecewisePolynomial(stride - 1, arr, newBounds, policy);
+    }
+
+    private static double horner(double[] c, int from, int length, double x) {
+        double n = 0;
+        for (int k = from; k < from + length; k++) {
+            n = n * x + c[k];
+        }
+        return n;
+    }
+
+    /**
+     * Returns the output of the piece in whose domain the input is, chosen exactly
+     * as by {@link Piecewise#get(double)}.
+     * 
+     * @param x the input of the piece in whose domain this parameter is
+     * @return the output of the chosen piece
+     * @throws ArithmeticException if the input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @since 1.2
+     */
+    @Override
+    public double get(double x) {
+        if (isOutside(x)) {
+            double input = outsideInput(x);
+            return Double.isNaN(input) ? Double.NaN
+                    : horner(coefficients, outsidePiece(x) * stride, stride, input);
+        }
+        return horner(coefficients, pieceIndex(x) * stride, stride, x);
+    }
+
+    /**
+     * 
+     * @throws ArithmeticException if an input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int j = from; j < to; j++) {
+            double x = xs[j];
+            if (isOutside(x)) {
+                out[j] = get(x);
+            } else {
+                out[j] = horner(coefficients, pieceIndex(x) * stride, stride, x);
+            }
+        }
+    }
+
+    /**
+     * Gives the output and derivatives of the piece in whose domain the input is,
+     * by carrying the derivatives through the same loop that evaluates the piece.
+     * Out of the domain, a clamped function has derivatives of zero.
+     * 
+     * @throws ArithmeticException if the input is out of the domain of every piece
+     *                             and the policy of this function is to throw
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        int piece;
+        double input = x;
+        if (isOutside(x)) {
+            input = outsideInput(x);
+            if (Double.isNaN(input)) {
+                Jets.fill(out, order, Double.NaN, Double.NaN, Double.NaN, Double.NaN);
+                return;
+            }
+            piece = outsidePiece(x);
+            if (policy == EvaluationPolicy.CLAMP) {
+                Jets.fill(out, order, horner(coefficients, piece * stride, stride, input), 0, 0, 0);
+                return;
+            }
+        } else {
+            piece = pieceIndex(x);
+        }
+        double p0 = 0;
+        double p1 = 0;
+        double p2 = 0;
+        double p3 = 0;
+        for (int k = piece * stride; k < (piece + 1) * stride; k++) {
+            p3 = p3 * input + p2;
+            p2 = p2 * input + p1;
+            p1 = p1 * input + p0;
+            p0 = p0 * input + coefficients[k];
+        }
+        Jets.fill(out, order, p0, p1, 2 * p2, 6 * p3);
+    }
+
+    /**
+     * Bounds the outputs over a range of inputs by the hull of the bounds of every
+     * piece over the part of the range in its domain, as {@link
+     * Piecewise#evaluate(Interval)} does.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        int n = pieceCount();
+        Interval result = Interval.EMPTY;
+        for (int i = 0; i < n && !x.isEmpty(); i++) {
+            Interval part = x.intersect(new Interval(bounds[i], bounds[i + 1]));
+            if (!part.isEmpty()) {
+                result = result.hull(getPiece(i).evaluate(part));
+            }
+        }
+        if (x.isEmpty() || (policy != EvaluationPolicy.CLAMP && policy != EvaluationPolicy.EXTRAPOLATE)) {
+            return result;
+        }
+        if (x.getMin() < bounds[0]) {
+            Interval below = policy == EvaluationPolicy.CLAMP ? new Interval(bounds[0])
+                    : new Interval(x.getMin(), Math.min(x.getMax(), bounds[0]));
+            result = result.hull(getPiece(0).evaluate(below));
+        }
+        if (x.getMax() > bounds[n]) {
+            Interval above = policy == EvaluationPolicy.CLAMP ? new Interval(bounds[n])
+                    : new Interval(Math.max(x.getMin(), bounds[n]), x.getMax());
+            result = result.hull(getPiece(n - 1).evaluate(above));
+        }
+        return result;
+    }
+
+    private boolean isOutside(double x) {
+        return x < bounds[0] || x > bounds[bounds.length - 1];
+    }
+
+    // the input at which to evaluate the nearest piece for an input out of the
+    // domain, or NaN if the output should be NaN
+    private double outsideInput(double x) {
+        switch (policy) {
+            case CLAMP:
+                return x < bounds[0] ? bounds[0] : bounds[bounds.length - 1];
+            case NAN:
+                return Double.NaN;
+            case EXTRAPOLATE:
+                return x;
+            default:
+                throw new ArithmeticException(x < bounds[0]
+                        ? "Domain Error: Input too low." : "Domain Error: Input too high.");
+        }
+    }
+
+    private int outsidePiece(double x) {
+        return x < bounds[0] ? 0 : pieceCount() - 1;
+    }
+
+    private int pieceIndex(double x) {
+        int n = pieceCount();
+        int hint = lastPiece;
+        if (isInPiece(x, hint)) {
+            return hint;
+        }
+        if (hint + 1 < n && isInPiece(x, hint + 1)) {
+            lastPiece = hint + 1;
+            return hint + 1;
+        }
+        int low = 0;
+        int high = n - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (bounds[mid] <= x) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        if (!(x >= bounds[low])) {
+            return n - 1;
+        }
+        lastPiece = low;
+        return low;
+    }
+
+    private boolean isInPiece(double x, int i) {
+        return x >= bounds[i] && (x < bounds[i + 1] || i == pieceCount() - 1);
+    }
+
+    private int pieceCount() {
+        return bounds.length - 1;
+    }
+
+    /**
+     * Gives the number of pieces of this function.
+     * 
+     * @return the number of pieces
+     * @since 1.2
+     */
+    public int getPieceCount() {
+        return pieceCount();
+    }
+
+    /**
+     * Gives the highest degree of any piece of this function. Every piece is stored
+     * with this many coefficients, plus one, even if its leading coefficients are zero.
+     * 
+     * @return the degree of the pieces
+     * @since 1.2
+     */
+    public int degree() {
+        return stride - 1;
+    }
+
+    /**
+     * Gives one piece of this function, as a polynomial defined everywhere.
+     * 
+     * @param i the index of the piece, from zero for the piece with the lowest inputs
+     * @return the polynomial of the piece
+     * @throws IndexOutOfBoundsException if there is no piece with the index
+     * @since 1.2
+     */
+    public Polynomial getPiece(int i) {
+        if (i < 0 || i >= pieceCount()) {
+            throw new IndexOutOfBoundsException("Piece " + i + " of " + pieceCount());
+        }
+        return new Polynomial(Arrays.copyOfRange(coefficients, i * stride, (i + 1) * stride));
+    }
+
+    /**
+     * Gives a {@code Piecewise} with the same pieces, bounds and policy, for use
+     * where the pieces are needed as separate functions.
+     * 
+     * @return an equivalent piecewise function
+     * @since 1.2
+     */
+    public Piecewise toPiecewise() {
+        int n = pieceCount();
+        CalculusFunction[] pieces = new CalculusFunction[n];
+        for (int i = 0; i < n; i++) {
+            pieces[i] = getPiece(i);
+        }
+        return new Piecewise(pieces, bounds).withPolicy(policy);
+    }
+
+    double[] getCoefficients() {
+        return coefficients;
+    }
+
+    double[] getBounds() {
+        return bounds;
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public String toString() {
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        toPiecewise().writeLatex(dest, variable);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return this == null;
+        }
+        if (!(obj.getClass().equals(getClass()))) {
+            return false;
+        }
+        PiecewisePolynomial ppl = (PiecewisePolynomial) obj;
+        return ppl.stride == stride && Arrays.equals(ppl.coefficients, coefficients)
+                && Arrays.equals(ppl.bounds, bounds) && ppl.policy == policy;
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 53 * hash + this.stride;
+        hash = 53 * hash + Arrays.hashCode(this.coefficients);
+        hash = 53 * hash + Arrays.hashCode(this.bounds);
+        hash = 53 * hash + Objects.hashCode(this.policy);
+        return hash;
+    }
+}
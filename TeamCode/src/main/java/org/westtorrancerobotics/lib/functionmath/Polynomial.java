@@ -12,6 +12,8 @@ import org.westtorrancerobotics.lib.util.StringUtils;
 public class Polynomial implements CalculusFunction {
     
     private final double[] coefficients;
+    private Polynomial cachedDerivative;
+    private Polynomial cachedIntegral;
 
     /**
      * Creates a polynomial with the specified coefficients, in order of decreasing
@@ -54,12 +56,15 @@ public class Polynomial implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public Polynomial derivative() {
-        double[] arr = new double[coefficients.length - 1];
-        for (int i = 0; i < arr.length; i++) {
-            arr[i] = coefficients[i] * (arr.length - i);
+    public synchronized Polynomial derivative() {
+        if (cachedDerivative == null) {
+            double[] arr = new double[coefficients.length - 1];
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = coefficients[i] * (arr.length - i);
+            }
+            cachedDerivative = new Polynomial(arr);
         }
-        return new Polynomial(arr);
+        return cachedDerivative;
     }
 
     /**
@@ -67,12 +72,15 @@ public class Polynomial implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public Polynomial integral() {
-        double[] arr = new double[coefficients.length + 1];
-        for (int i = 0; i < coefficients.length; i++) {
-            arr[i] = coefficients[i] / (coefficients.length - i);
+    public synchronized Polynomial integral() {
+        if (cachedIntegral == null) {
+            double[] arr = new double[coefficients.length + 1];
+            for (int i = 0; i < coefficients.length; i++) {
+                arr[i] = coefficients[i] / (coefficients.length - i);
+            }
+            cachedIntegral = new Polynomial(arr);
         }
-        return new Polynomial(arr);
+        return cachedIntegral;
     }
 
     /**
@@ -85,13 +93,121 @@ public class Polynomial implements CalculusFunction {
     @Override
     public double get(double x) {
         double n = 0;
-        double m = 1;
-        for (int i = degree(); i >= 0; i--) {
-            n += m * coefficients[i];
-            m *= x;
+        for (double coefficient : coefficients) {
+            n = n * x + coefficient;
         }
         return n;
     }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int j = from; j < to; j++) {
+            double x = xs[j];
+            double n = 0;
+            for (double coefficient : coefficients) {
+                n = n * x + coefficient;
+            }
+            out[j] = n;
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double p0 = 0;
+        double p1 = 0;
+        double p2 = 0;
+        double p3 = 0;
+        for (double coefficient : coefficients) {
+            p3 = p3 * x + p2;
+            p2 = p2 * x + p1;
+            p1 = p1 * x + p0;
+            p0 = p0 * x + coefficient;
+        }
+        out[0] = p0;
+        if (order >= 1) {
+            out[1] = p1;
+        }
+        if (order >= 2) {
+            out[2] = 2 * p2;
+        }
+        if (order >= 3) {
+            out[3] = 6 * p3;
+        }
+    }
+
+    /**
+     * Bounds the polynomial over a range of inputs. Where the bound on the derivative
+     * shows the polynomial to be monotone over the range, its values at the ends of
+     * the range are used. Otherwise the bound comes from its Taylor expansion about
+     * the middle of the range, which is much tighter than evaluating it term by term
+     * with interval arithmetic when the range is narrow. Either bound is widened
+     * enough to cover any rounding in computing it.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        int n = coefficients.length - 1;
+        if (n == 0) {
+            return new Interval(coefficients[0]);
+        }
+        double mid = x.midpoint();
+        double half = x.getMax() - mid;
+        if (!Double.isFinite(mid) || !Double.isFinite(half)) {
+            return Interval.ENTIRE;
+        }
+        double magnitude = Math.max(Math.abs(x.getMin()), Math.abs(x.getMax()));
+        double size = 0;
+        for (double coefficient : coefficients) {
+            size = size * magnitude + Math.abs(coefficient);
+        }
+        double slack = 4 * (n + 1) * (n + 1) * Math.ulp(1.0) * size;
+        double low;
+        double high;
+        if (!derivative().evaluate(x).contains(0)) {
+            double a = get(x.getMin());
+            double b = get(x.getMax());
+            low = Math.min(a, b);
+            high = Math.max(a, b);
+        } else {
+            // Taylor coefficients about the midpoint by repeated synthetic division;
+            // afterwards t[n - k] is the coefficient of (x - mid)^k
+            double[] t = Arrays.copyOf(coefficients, n + 1);
+            for (int k = 0; k < n; k++) {
+                for (int i = 1; i <= n - k; i++) {
+                    t[i] += mid * t[i - 1];
+                }
+            }
+            low = t[n];
+            high = t[n];
+            double power = 1;
+            for (int k = 1; k <= n; k++) {
+                power *= half;
+                double term = t[n - k] * power;
+                if (k % 2 == 1) {
+                    low -= Math.abs(term);
+                    high += Math.abs(term);
+                } else if (term > 0) {
+                    high += term;
+                } else {
+                    low += term;
+                }
+            }
+        }
+        return Interval.enclosing(low - slack, high + slack);
+    }
     
     /**
      * Returns the degree of the polynomial. The constant polynomial with value zero
@@ -106,6 +222,86 @@ public class Polynomial implements CalculusFunction {
         return coefficients.length - 1;
     }
     
+    /**
+     * Gives the sum of this polynomial and another polynomial, as a single polynomial.
+     * 
+     * @param other the polynomial to add to this one
+     * @return the polynomial {@code this(x) + other(x)}
+     * @since 1.2
+     */
+    public Polynomial plus(Polynomial other) {
+        double[] sum = new double[Math.max(coefficients.length, other.coefficients.length)];
+        for (int i = 0; i < coefficients.length; i++) {
+            sum[sum.length - coefficients.length + i] += coefficients[i];
+        }
+        for (int i = 0; i < other.coefficients.length; i++) {
+            sum[sum.length - other.coefficients.length + i] += other.coefficients[i];
+        }
+        return new Polynomial(sum);
+    }
+
+    /**
+     * Gives the product of this polynomial and another polynomial, as a single polynomial.
+     * 
+     * @param other the polynomial by which to multiply this one
+     * @return the polynomial {@code this(x) * other(x)}
+     * @since 1.2
+     */
+    public Polynomial times(Polynomial other) {
+        double[] product = new double[coefficients.length + other.coefficients.length - 1];
+        for (int i = 0; i < coefficients.length; i++) {
+            for (int j = 0; j < other.coefficients.length; j++) {
+                product[i + j] += coefficients[i] * other.coefficients[j];
+            }
+        }
+        return new Polynomial(product);
+    }
+
+    /**
+     * Gives the composition of this polynomial with another polynomial, as a single
+     * polynomial. The other polynomial is applied to the input first, and this polynomial
+     * is applied to its output, as in {@link Composition}.
+     * 
+     * @param inner the polynomial to apply to the input before this one
+     * @return the polynomial {@code this(inner(x))}
+     * @since 1.2
+     */
+    public Polynomial compose(Polynomial inner) {
+        Polynomial result = new Polynomial(coefficients[0]);
+        for (int i = 1; i < coefficients.length; i++) {
+            result = result.times(inner).plus(new Polynomial(coefficients[i]));
+        }
+        return result;
+    }
+
+    /**
+     * Gives this polynomial multiplied by a constant, stretching its graph vertically.
+     * 
+     * @param factor the number by which every coefficient is multiplied
+     * @return the polynomial {@code factor * this(x)}
+     * @since 1.2
+     */
+    public Polynomial scale(double factor) {
+        double[] arr = new double[coefficients.length];
+        for (int i = 0; i < arr.length; i++) {
+            arr[i] = coefficients[i] * factor;
+        }
+        return new Polynomial(arr);
+    }
+
+    /**
+     * Gives this polynomial moved horizontally. A positive {@code amount} moves
+     * the graph to the right, so that the output of the returned polynomial at
+     * {@code x + amount} is the output of this polynomial at {@code x}.
+     * 
+     * @param amount the distance to move the graph in the positive x direction
+     * @return the polynomial {@code this(x - amount)}
+     * @since 1.2
+     */
+    public Polynomial shift(double amount) {
+        return compose(new Polynomial(1, -amount));
+    }
+    
     /**
      * Returns the inverse of this polynomial, if it is of degree one. If it is not a line,
      * or if its slope is zero, an {@code IllegalArgumentException} is thrown.
@@ -151,7 +347,158 @@ public class Polynomial implements CalculusFunction {
         }
         return new double[]{(-b+sqrt)/(2*a), (-b-sqrt)/(2*a)};
     }
+
+    /**
+     * Returns every real root of this polynomial within the domain [{@code lo},
+     * {@code hi}]. Overloads {@link #realSolutions(double, double, double)} with a
+     * target output of zero.
+     * 
+     * @param lo the lowest input to search
+     * @param hi the highest input to search
+     * @return the distinct roots in the domain, in increasing order
+     * @throws IllegalArgumentException if {@code lo} is greater than {@code hi}, or
+     *                                  either is {@code NaN}
+     * @throws ArithmeticException if this polynomial is zero everywhere
+     * @since 1.2
+     */
+    public double[] realRoots(double lo, double hi) {
+        return realSolutions(0, lo, hi);
+    }
+
+    /**
+     * Returns every input within the domain [{@code lo}, {@code hi}] for which this
+     * polynomial has the specified output, for a polynomial of any degree. The roots
+     * of the derivative, found the same way, split the domain into pieces on which
+     * this polynomial is strictly increasing or decreasing, so each piece holds at
+     * most one solution, and it is found by Newton's method kept within the piece by
+     * bisection. Solutions are accurate to about the last place of a double. A
+     * solution where the graph only touches the target output is found when the
+     * output there is within rounding error of the target. Either end of the domain
+     * may be infinite.
+     * 
+     * @param targY the output for which inputs are to be found
+     * @param lo the lowest input to search
+     * @param hi the highest input to search
+     * @return the distinct inputs in the domain that give the specified output, in
+     *         increasing order
+     * @throws IllegalArgumentException if {@code lo} is greater than {@code hi}, or
+     *                                  either is {@code NaN}
+     * @throws ArithmeticException if this polynomial is constant at {@code targY},
+     *                             so that every input is a solution
+     * @since 1.2
+     */
+    public double[] realSolutions(double targY, double lo, double hi) {
+        if (!(lo <= hi)) {
+            throw new IllegalArgumentException("Invalid domain: [" + lo + ", " + hi + "]");
+        }
+        int n = degree();
+        if (n == 0) {
+            if (coefficients[0] == targY) {
+                throw new ArithmeticException("Every input is a solution of a constant.");
+            }
+            return new double[0];
+        }
+        // every root of a polynomial is within the Cauchy bound of zero
+        double bound = 0;
+        for (int i = 1; i <= n; i++) {
+            bound = Math.max(bound, Math.abs((i == n ? coefficients[i] - targY : coefficients[i]) / coefficients[0]));
+        }
+        bound += 1;
+        lo = Math.max(lo, -bound);
+        hi = Math.min(hi, bound);
+        if (!(lo <= hi)) {
+            return new double[0];
+        }
+        if (n == 1) {
+            double x = (targY - coefficients[1]) / coefficients[0];
+            return lo <= x && x <= hi ? new double[]{x} : new double[0];
+        }
+        double[] critical = derivative().realSolutions(0, lo, hi);
+        double[] roots = new double[critical.length + 2];
+        int count = 0;
+        double a = lo;
+        double fa = residual(lo, targY);
+        if (fa == 0) {
+            roots[count++] = lo;
+        }
+        for (int i = 0; i <= critical.length; i++) {
+            double b = i < critical.length ? critical[i] : hi;
+            if (b == a) {
+                continue;
+            }
+            double fb = residual(b, targY);
+            if (fa * fb < 0) {
+                roots[count++] = bracketedRoot(targY, a, b, fa);
+            }
+            if (fb == 0) {
+                roots[count++] = b;
+            }
+            a = b;
+            fa = fb;
+        }
+        return Arrays.copyOf(roots, count);
+    }
+
+    /**
+     * Gives the output less the target at {@code x}, or zero if that is within the
+     * rounding error of evaluating the polynomial there.
+     */
+    private double residual(double x, double targY) {
+        double value = 0;
+        double size = 0;
+        double magnitude = Math.abs(x);
+        for (double coefficient : coefficients) {
+            value = value * x + coefficient;
+            size = size * magnitude + Math.abs(coefficient);
+        }
+        value -= targY;
+        double slack = 4 * coefficients.length * Math.ulp(1.0) * (size + Math.abs(targY));
+        return Math.abs(value) <= slack ? 0 : value;
+    }
+
+    /**
+     * Finds the single solution between {@code a} and {@code b}, where this polynomial
+     * is monotone and crosses the target, by Newton's method, bisecting instead
+     * whenever a step would leave the bracket or fails to halve it.
+     */
+    private double bracketedRoot(double targY, double a, double b, double fa) {
+        double x = a + (b - a) / 2;
+        double width = b - a;
+        while (true) {
+            double f = 0;
+            double d = 0;
+            for (double coefficient : coefficients) {
+                d = d * x + f;
+                f = f * x + coefficient;
+            }
+            f -= targY;
+            if (f == 0) {
+                return x;
+            }
+            if ((f < 0) == (fa < 0)) {
+                a = x;
+            } else {
+                b = x;
+            }
+            double next = x - f / d;
+            if (!(a < next && next < b) || b - a > width / 2) {
+                next = a + (b - a) / 2;
+                if (!(a < next && next < b)) {
+                    return x;
+                }
+            }
+            if (next == x) {
+                return x;
+            }
+            width = b - a;
+            x = next;
+        }
+    }
     
+    double[] getCoefficients() {
+        return coefficients;
+    }
+
     /**
      * 
      * @since 1.0
@@ -17,6 +17,8 @@ class PolynomialUpHalfDegree implements CalculusFunction {
     
     private final double[] coefficients;
     private final double minPower;
+    private CalculusFunction cachedDerivative;
+    private CalculusFunction cachedIntegral;
     
     public PolynomialUpHalfDegree(double... coefficients) {
         this(coefficients, 0.5);
@@ -50,13 +52,16 @@ class PolynomialUpHalfDegree implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction derivative() {
-        double[] arr = new double[coefficients.length];
-        for (int i = 0; i < arr.length; i++) {
-            double thisTermsPower = (arr.length - 1 - i + minPower);
-            arr[i] = coefficients[i] * thisTermsPower;
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            double[] arr = new double[coefficients.length];
+            for (int i = 0; i < arr.length; i++) {
+                double thisTermsPower = (arr.length - 1 - i + minPower);
+                arr[i] = coefficients[i] * thisTermsPower;
+            }
+            cachedDerivative = new PolynomialUpHalfDegree(arr, minPower - 1);
         }
-        return new PolynomialUpHalfDegree(arr, minPower - 1);
+        return cachedDerivative;
     }
 
     /**
@@ -64,28 +69,161 @@ class PolynomialUpHalfDegree implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction integral() {
-        double[] arr = new double[coefficients.length];
-        for (int i = 0; i < arr.length; i++) {
-            double thisTermsPowerp1 = (arr.length - i + minPower);
-            arr[i] = coefficients[i] / thisTermsPowerp1;
+    public synchronized CalculusFunction integral() {
+        if (cachedIntegral == null) {
+            double[] arr = new double[coefficients.length];
+            for (int i = 0; i < arr.length; i++) {
+                double thisTermsPowerp1 = (arr.length - i + minPower);
+                arr[i] = coefficients[i] / thisTermsPowerp1;
+            }
+            cachedIntegral = new PolynomialUpHalfDegree(arr, minPower + 1);
         }
-        return new PolynomialUpHalfDegree(arr, minPower + 1);
+        return cachedIntegral;
     }
     
+    /**
+     * Gives the output of the function. The terms are summed by Horner's method
+     * and scaled once by the lowest power, which for the usual half powers is found
+     * with a single square root rather than a call to {@code Math.pow} per term.
+     * 
+     * @since 1.0
+     */
     @Override
     public double get(double x) {
+        return evaluate(coefficients, 0, coefficients.length, minPower, x);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int j = from; j < to; j++) {
+            out[j] = evaluate(coefficients, 0, coefficients.length, minPower, xs[j]);
+        }
+    }
+
+    /**
+     * Gives the output and derivatives of the function. Each derivative is summed
+     * by Horner's method like the output, and all of them share one square root.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double root = Math.sqrt(x + 0.0);
+        int length = coefficients.length;
+        Arrays.fill(out, 0, order + 1, 0);
+        for (int i = 0; i < length; i++) {
+            double power = minPower + length - 1 - i;
+            double factor = coefficients[i];
+            for (int k = 0; k <= order; k++) {
+                out[k] = out[k] * x + factor;
+                factor *= power - k;
+            }
+        }
+        for (int k = 0; k <= order; k++) {
+            double n = out[k] * power(x, root, minPower - k);
+            out[k] = n == 0 || !Double.isFinite(n) ? sumOfTerms(coefficients, 0, length, minPower, k, x) : n;
+        }
+    }
+
+    // the terms with coefficients stored from the highest power to the lowest, from index from
+    static double evaluate(double[] coefficients, int from, int length, double minPower, double x) {
         double n = 0;
-        for (int i = degree(); i >= 0; i--) {
-            n += Math.pow(x, minPower + i) * coefficients[coefficients.length - 1 - i];
+        for (int i = from; i < from + length; i++) {
+            n = n * x + coefficients[i];
+        }
+        n *= power(x, minPower - Math.floor(minPower) == 0.5 ? Math.sqrt(x + 0.0) : 0, minPower);
+        // where a term vanishes or blows up, or the sum overflows, the terms are summed one by one
+        return n == 0 || !Double.isFinite(n) ? sumOfTerms(coefficients, from, length, minPower, 0, x) : n;
+    }
+
+    // the kth derivative of the terms, summed one by one through Math.pow
+    private static double sumOfTerms(double[] coefficients, int from, int length, double minPower, int k, double x) {
+        double n = 0;
+        for (int i = 0; i < length; i++) {
+            double power = minPower + length - 1 - i;
+            double factor = coefficients[from + i];
+            for (int j = 0; j < k; j++) {
+                factor *= power - j;
+            }
+            n += factor * Math.pow(x, power - k);
+        }
+        return n;
+    }
+
+    // x to the exponent, by the square root given for half powers and by multiplication for whole ones
+    private static double power(double x, double root, double exponent) {
+        if (exponent == 0.5) {
+            return root;
+        }
+        if (exponent != Math.rint(exponent)) {
+            x += 0.0; // as in Math.pow, negative zero is zero to a fractional power
+        }
+        if (exponent < 0) {
+            return 1 / power(x, root, -exponent);
+        }
+        double whole = Math.floor(exponent);
+        if (whole > 64) {
+            return Math.pow(x, exponent);
+        }
+        double n = exponent == whole ? 1 : exponent - whole == 0.5 ? root : Math.pow(x, exponent - whole);
+        for (int i = 0; i < whole; i++) {
+            n *= x;
         }
         return n;
     }
+
+    /**
+     * Bounds the function over the part of a range of inputs in its domain. When
+     * the powers are not whole numbers, the domain is the nonnegative numbers, on
+     * which every term is monotone, so each is bounded by its values at the ends of
+     * the range.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (minPower == Math.rint(minPower)) {
+            return CalculusFunction.super.evaluate(x);
+        }
+        Interval domain = x.intersect(new Interval(0, Double.POSITIVE_INFINITY));
+        if (domain.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        double low = 0;
+        double high = 0;
+        double size = 0;
+        for (int i = degree(); i >= 0; i--) {
+            double coefficient = coefficients[coefficients.length - 1 - i];
+            if (coefficient == 0) {
+                continue;
+            }
+            double a = coefficient * Math.pow(domain.getMin(), minPower + i);
+            double b = coefficient * Math.pow(domain.getMax(), minPower + i);
+            low += Math.min(a, b);
+            high += Math.max(a, b);
+            size += Math.max(Math.abs(a), Math.abs(b));
+        }
+        double slack = 4 * (degree() + 2) * Math.ulp(1.0) * size;
+        return Interval.enclosing(low - slack, high + slack);
+    }
     
     private int degree() {
         return coefficients.length - 1;
     }
 
+    double[] getCoefficients() {
+        return coefficients;
+    }
+    
+    double getMinPower() {
+        return minPower;
+    }
+
     /**
      * 
      * @since 1.0
@@ -1,5 +1,6 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 
@@ -11,6 +12,8 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 public class Product implements DerivableFunction {
     
     private final DerivableFunction a, b;
+    private final Scratch scratch = new Scratch();
+    private DerivableFunction cachedDerivative;
 
     /**
      * Creates a function that is the product of the supplied functions.
@@ -29,11 +32,13 @@ public class Product implements DerivableFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        DerivableFunction ad = a.derivative();
-        DerivableFunction bd = b.derivative();
-        Sum.Derivable s = new Sum.Derivable(new Product(ad, b), new Product(bd, a));
-        return s;
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            DerivableFunction ad = a.derivative();
+            DerivableFunction bd = b.derivative();
+            cachedDerivative = new Sum.Derivable(new Product(ad, b), new Product(bd, a));
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -48,13 +53,71 @@ public class Product implements DerivableFunction {
         return a.get(x) * b.get(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        double[] bs = scratch.get(to - from);
+        System.arraycopy(xs, from, bs, 0, to - from);
+        b.getAll(bs, bs, 0, to - from);
+        a.getAll(xs, out, from, to);
+        for (int i = from; i < to; i++) {
+            out[i] = out[i] * bs[i - from];
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double[] bs = new double[order + 1];
+        b.getWithDerivatives(x, order, bs);
+        a.getWithDerivatives(x, order, out);
+        Jets.product(out, bs, order, out);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return a.evaluate(x).times(b.evaluate(x));
+    }
+
+    DerivableFunction getA() {
+        return a;
+    }
+    
+    DerivableFunction getB() {
+        return b;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        return "\\left(" + a + "\\cdot " + b + "\\right)";
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("\\left(");
+        a.writeLatex(dest, variable);
+        dest.append("\\cdot ");
+        b.writeLatex(dest, variable);
+        dest.append("\\right)");
     }
     
     /**
@@ -1,5 +1,6 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 
@@ -12,6 +13,8 @@ public class Quotient implements DerivableFunction {
     
     private final DerivableFunction a;
     private final DerivableFunction b;
+    private final Scratch scratch = new Scratch();
+    private DerivableFunction cachedDerivative;
 
     /**
      * Creates a function that is the quotient of the supplied functions.
@@ -30,14 +33,17 @@ public class Quotient implements DerivableFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Sum.Derivable(
-                new Quotient(
-                        new Product(new Product(a, b.derivative()), new Constant(-1)),
-                        new Product(b, b)
-                ),
-                new Quotient(a.derivative(), b)
-        );
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Sum.Derivable(
+                    new Quotient(
+                            new Product(new Product(a, b.derivative()), new Constant(-1)),
+                            new Product(b, b)
+                    ),
+                    new Quotient(a.derivative(), b)
+            );
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -52,13 +58,71 @@ public class Quotient implements DerivableFunction {
         return a.get(x) / b.get(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        double[] bs = scratch.get(to - from);
+        System.arraycopy(xs, from, bs, 0, to - from);
+        b.getAll(bs, bs, 0, to - from);
+        a.getAll(xs, out, from, to);
+        for (int i = from; i < to; i++) {
+            out[i] = out[i] / bs[i - from];
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double[] bs = new double[order + 1];
+        b.getWithDerivatives(x, order, bs);
+        a.getWithDerivatives(x, order, out);
+        Jets.quotient(out, bs, order, out);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return a.evaluate(x).dividedBy(b.evaluate(x));
+    }
+
+    DerivableFunction getA() {
+        return a;
+    }
+    
+    DerivableFunction getB() {
+        return b;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        return "\\frac{"+a+"}{"+b+"}";
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("\\frac{");
+        a.writeLatex(dest, variable);
+        dest.append("}{");
+        b.writeLatex(dest, variable);
+        dest.append("}");
     }
     
     /**
@@ -0,0 +1,25 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+/**
+ * A buffer kept by a function for the outputs of one of its parts, while it
+ * evaluates another part over the same inputs. Each thread has its own buffer,
+ * which grows to the longest range it has been asked for and is then reused,
+ * so repeatedly evaluating a function over many inputs does not allocate.
+ *
+ * @since 1.2
+ */
+final class Scratch {
+
+    private final ThreadLocal<double[]> buffers = new ThreadLocal<>();
+
+    // this thread's buffer, with room for at least length values; its contents
+    // are left over from earlier use
+    double[] get(int length) {
+        double[] buffer = buffers.get();
+        if (buffer == null || buffer.length < length) {
+            buffer = new double[length];
+            buffers.set(buffer);
+        }
+        return buffer;
+    }
+}
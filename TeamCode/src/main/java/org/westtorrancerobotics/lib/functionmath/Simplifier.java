@@ -0,0 +1,421 @@
+package org.westtorrancerobotics.lib.functionmath;
+
+import java.util.Arrays;
+import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.ComplexFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableIntegrableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+import org.westtorrancerobotics.lib.functionmath.interfaces.IntegrableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
+
+/**
+ * Utility class used for rewriting trees of functions into simpler equivalent trees.
+ * Functions built by combining others, especially their derivatives, often contain
+ * parts that do nothing, such as a sum with zero, a product with one, or a composition
+ * with the identity function, and parts that could be combined, such as the sum
+ * of two polynomials. Rewriting these gives shallower trees that are faster to
+ * evaluate and whose derivatives are smaller.
+ * <p>
+ * Trees are rewritten from the bottom up. Constants are folded, sums, differences,
+ * products and compositions of polynomials are merged into a single polynomial,
+ * zero and identity terms are dropped, and piecewise functions are combined with
+ * polynomials and other piecewise functions with the same bounds piece by piece.
+ * Pieces are only multiplied by constants and composed with lines, since their
+ * products, multiplied out in powers of x, lose precision far from x = 0.
+ * Piecewise functions whose pieces are all polynomials are packed into a single
+ * {@link PiecewisePolynomial}.
+ * A part is only replaced by a function implementing all of the same interfaces
+ * of this library, so a simplified function can be used wherever the original
+ * could. Simplified functions give the same outputs as the original, up to rounding
+ * error, wherever the original is defined.
+ *
+ * @since 1.2
+ */
+public class Simplifier {
+
+    private Simplifier() {} // no constructor
+
+    /**
+     * Gives a simplified version of a function.
+     *
+     * @param f the function to simplify
+     * @return an equivalent function that is no more complex than {@code f}
+     * @see Simplifier
+     * @since 1.2
+     */
+    public static Function simplify(Function f) {
+        return rewrite(f);
+    }
+
+    /**
+     * Gives a simplified version of a function whose derivative can be evaluated.
+     *
+     * @param f the function to simplify
+     * @return an equivalent function that is no more complex than {@code f}
+     * @see Simplifier
+     * @since 1.2
+     */
+    public static DerivableFunction simplify(DerivableFunction f) {
+        return (DerivableFunction) rewrite(f);
+    }
+
+    /**
+     * Gives a simplified version of a function whose derivative and integral can
+     * be evaluated.
+     *
+     * @param f the function to simplify
+     * @return an equivalent function that is no more complex than {@code f}
+     * @see Simplifier
+     * @since 1.2
+     */
+    public static CalculusFunction simplify(CalculusFunction f) {
+        return (CalculusFunction) rewrite(f);
+    }
+
+    private static Function rewrite(Function f) {
+        Function simple = reduce(f);
+        return keepsInterfaces(f, simple) ? simple : f;
+    }
+
+    private static boolean keepsInterfaces(Function original, Function simple) {
+        return (!(original instanceof DerivableFunction) || simple instanceof DerivableFunction)
+                && (!(original instanceof IntegrableFunction) || simple instanceof IntegrableFunction)
+                && (!(original instanceof InversibleFunction) || simple instanceof InversibleFunction)
+                && (!(original instanceof DerivableIntegrableFunction) || simple instanceof DerivableIntegrableFunction)
+                && (!(original instanceof DerivableInversibleFunction) || simple instanceof DerivableInversibleFunction)
+                && (!(original instanceof CalculusFunction) || simple instanceof CalculusFunction)
+                && (!(original instanceof ComplexFunction) || simple instanceof ComplexFunction);
+    }
+
+    private static Function reduce(Function f) {
+        Class<?> type = f.getClass();
+        if (type == Polynomial.class) {
+            double[] coefficients = ((Polynomial) f).getCoefficients();
+            return coefficients.length == 1 ? new Constant(coefficients[0]) : f;
+        } else if (type == Sum.class) {
+            Sum sum = (Sum) f;
+            CalculusFunction a = (CalculusFunction) rewrite(sum.getA());
+            CalculusFunction b = (CalculusFunction) rewrite(sum.getB());
+            Function simple = add(a, b);
+            if (simple != null) {
+                return simple;
+            }
+            return a == sum.getA() && b == sum.getB() ? f : new Sum(a, b);
+        } else if (type == Sum.Derivable.class) {
+            Sum.Derivable sum = (Sum.Derivable) f;
+            DerivableFunction a = (DerivableFunction) rewrite(sum.getA());
+            DerivableFunction b = (DerivableFunction) rewrite(sum.getB());
+            Function simple = add(a, b);
+            if (simple != null) {
+                return simple;
+            }
+            return a == sum.getA() && b == sum.getB() ? f : new Sum.Derivable(a, b);
+        } else if (type == Difference.class) {
+            Difference dif = (Difference) f;
+            CalculusFunction a = (CalculusFunction) rewrite(dif.getA());
+            CalculusFunction b = (CalculusFunction) rewrite(dif.getB());
+            Function simple = subtract(a, b);
+            if (simple != null) {
+                return simple;
+            }
+            return a == dif.getA() && b == dif.getB() ? f : new Difference(a, b);
+        } else if (type == Difference.Derivable.class) {
+            Difference.Derivable dif = (Difference.Derivable) f;
+            DerivableFunction a = (DerivableFunction) rewrite(dif.getA());
+            DerivableFunction b = (DerivableFunction) rewrite(dif.getB());
+            Function simple = subtract(a, b);
+            if (simple != null) {
+                return simple;
+            }
+            return a == dif.getA() && b == dif.getB() ? f : new Difference.Derivable(a, b);
+        } else if (type == Product.class) {
+            Product pro = (Product) f;
+            DerivableFunction a = (DerivableFunction) rewrite(pro.getA());
+            DerivableFunction b = (DerivableFunction) rewrite(pro.getB());
+            Function simple = multiply(a, b);
+            if (simple != null) {
+                return simple;
+            }
+            return a == pro.getA() && b == pro.getB() ? f : new Product(a, b);
+        } else if (type == Quotient.class) {
+            Quotient quo = (Quotient) f;
+            DerivableFunction a = (DerivableFunction) rewrite(quo.getA());
+            DerivableFunction b = (DerivableFunction) rewrite(quo.getB());
+            if (isConstant(a) && isConstant(b)) {
+                return new Constant(a.get(0) / b.get(0));
+            }
+            if (isOne(b)) {
+                return a;
+            }
+            return a == quo.getA() && b == quo.getB() ? f : new Quotient(a, b);
+        } else if (type == Composition.class) {
+            Composition com = (Composition) f;
+            DerivableInversibleFunction in = (DerivableInversibleFunction) rewrite(com.getInner());
+            DerivableInversibleFunction out = (DerivableInversibleFunction) rewrite(com.getOuter());
+            Function simple = compose(in, out);
+            if (simple != null) {
+                return simple;
+            }
+            return in == com.getInner() && out == com.getOuter() ? f : new Composition(in, out);
+        } else if (type == Composition.Inversible.class) {
+            Composition.Inversible com = (Composition.Inversible) f;
+            InversibleFunction in = (InversibleFunction) rewrite(com.getInner());
+            InversibleFunction out = (InversibleFunction) rewrite(com.getOuter());
+            Function simple = compose(in, out);
+            if (simple != null) {
+                return simple;
+            }
+            return in == com.getInner() && out == com.getOuter() ? f : new Composition.Inversible(in, out);
+        } else if (type == Composition.Derivable.class) {
+            Composition.Derivable com = (Composition.Derivable) f;
+            DerivableFunction in = (DerivableFunction) rewrite(com.getInner());
+            DerivableFunction out = (DerivableFunction) rewrite(com.getOuter());
+            Function simple = compose(in, out);
+            if (simple != null) {
+                return simple;
+            }
+            return in == com.getInner() && out == com.getOuter() ? f : new Composition.Derivable(in, out);
+        } else if (type == NaturalLogarithm.class) {
+            NaturalLogarithm log = (NaturalLogarithm) f;
+            CalculusFunction input = (CalculusFunction) rewrite(log.getInput());
+            if (isConstant(input)) {
+                return new Constant(Math.log(input.get(0)));
+            }
+            return input == log.getInput() ? f : new NaturalLogarithm(input);
+        } else if (type == Piecewise.class) {
+            Piecewise pcw = (Piecewise) f;
+            CalculusFunction[] pieces = pcw.getPieces();
+            CalculusFunction[] newPieces = new CalculusFunction[pieces.length];
+            boolean changed = false;
+            for (int i = 0; i < pieces.length; i++) {
+                newPieces[i] = (CalculusFunction) rewrite(pieces[i]);
+                changed |= newPieces[i] != pieces[i];
+            }
+            CalculusFunction packed = assemble(newPieces, pcw);
+            return changed || packed instanceof PiecewisePolynomial ? packed : f;
+        }
+        return f;
+    }
+
+    private static Function add(Function a, Function b) {
+        if (isZero(a)) {
+            return b;
+        }
+        if (isZero(b)) {
+            return a;
+        }
+        Polynomial pa = asPolynomial(a);
+        Polynomial pb = asPolynomial(b);
+        if (pa != null && pb != null) {
+            return polynomial(pa.plus(pb));
+        }
+        return piecewise(a, b, Simplifier::addPieces);
+    }
+
+    private static Function subtract(Function a, Function b) {
+        if (isZero(b)) {
+            return a;
+        }
+        Polynomial pa = asPolynomial(a);
+        Polynomial pb = asPolynomial(b);
+        if (pa != null && pb != null) {
+            return polynomial(pa.plus(pb.scale(-1)));
+        }
+        return piecewise(a, b, Simplifier::subtractPieces);
+    }
+
+    private static Function multiply(Function a, Function b) {
+        if (isZero(a) || isZero(b)) {
+            return new Constant(0);
+        }
+        if (isOne(a)) {
+            return b;
+        }
+        if (isOne(b)) {
+            return a;
+        }
+        Polynomial pa = asPolynomial(a);
+        Polynomial pb = asPolynomial(b);
+        if (pa != null && pb != null) {
+            return polynomial(pa.times(pb));
+        }
+        return piecewise(a, b, Simplifier::multiplyPieces);
+    }
+
+    private static Function compose(Function in, Function out) {
+        if (isIdentity(in)) {
+            return out;
+        }
+        if (isIdentity(out)) {
+            return in;
+        }
+        if (isConstant(out)) {
+            return out;
+        }
+        if (isConstant(in)) {
+            try {
+                return new Constant(out.get(in.get(0)));
+            } catch (ArithmeticException e) {
+                return null;
+            }
+        }
+        Polynomial pin = asPolynomial(in);
+        Polynomial pout = asPolynomial(out);
+        if (pin != null && pout != null) {
+            return polynomial(pout.compose(pin));
+        }
+        // as for products, only a linear outer function is merged into the pieces
+        Piecewise pcw = asPiecewise(in);
+        if (pcw != null && pout != null && pout.degree() <= 1) {
+            CalculusFunction[] pieces = pcw.getPieces();
+            CalculusFunction[] newPieces = new CalculusFunction[pieces.length];
+            for (int i = 0; i < pieces.length; i++) {
+                Polynomial piece = asPolynomial(pieces[i]);
+                if (piece == null) {
+                    return null;
+                }
+                newPieces[i] = polynomial(pout.compose(piece));
+            }
+            return assemble(newPieces, pcw);
+        }
+        return null;
+    }
+
+    private interface PieceCombiner {
+        CalculusFunction combine(CalculusFunction a, CalculusFunction b);
+    }
+
+    private static CalculusFunction addPieces(CalculusFunction a, CalculusFunction b) {
+        Function simple = add(a, b);
+        return simple instanceof CalculusFunction ? (CalculusFunction) simple : new Sum(a, b);
+    }
+
+    private static CalculusFunction subtractPieces(CalculusFunction a, CalculusFunction b) {
+        Function simple = subtract(a, b);
+        return simple instanceof CalculusFunction ? (CalculusFunction) simple : new Difference(a, b);
+    }
+
+    // only a product with a constant is merged into the pieces; multiplying out two
+    // pieces in powers of x cancels away most of their digits far from x = 0, so
+    // such a product is left to the Product
+    private static CalculusFunction multiplyPieces(CalculusFunction a, CalculusFunction b) {
+        if (!isConstant(a) && !isConstant(b)) {
+            return null;
+        }
+        Function simple = multiply(a, b);
+        return simple instanceof CalculusFunction ? (CalculusFunction) simple : null;
+    }
+
+    // combines piece by piece when one side is piecewise and the other either
+    // has the same bounds or is a polynomial, which has no domain restrictions
+    private static Function piecewise(Function a, Function b, PieceCombiner combiner) {
+        Piecewise pa = asPiecewise(a);
+        Piecewise pb = asPiecewise(b);
+        if (pa != null && !isMergeable(pa)) {
+            pa = null;
+        }
+        if (pb != null && !isMergeable(pb)) {
+            pb = null;
+        }
+        Piecewise shape;
+        if (pa != null && pb != null) {
+            if (pa.getEnd() != pb.getEnd() || pa.getPolicy() != pb.getPolicy()
+                    || !Arrays.equals(pa.getStartingPoints(), pb.getStartingPoints())) {
+                return null;
+            }
+            shape = pa;
+        } else if (pa != null && asPolynomial(b) != null) {
+            shape = pa;
+        } else if (pb != null && asPolynomial(a) != null) {
+            shape = pb;
+        } else {
+            return null;
+        }
+        int length = shape.getPieces().length;
+        CalculusFunction[] newPieces = new CalculusFunction[length];
+        for (int i = 0; i < length; i++) {
+            CalculusFunction pieceA = pa != null ? pa.getPieces()[i] : (CalculusFunction) a;
+            CalculusFunction pieceB = pb != null ? pb.getPieces()[i] : (CalculusFunction) b;
+            newPieces[i] = combiner.combine(pieceA, pieceB);
+            if (newPieces[i] == null) {
+                return null;
+            }
+        }
+        return assemble(newPieces, shape);
+    }
+
+    // a clamped piecewise function clamps its own input, so merging another
+    // function into its pieces would clamp that function's input too
+    private static boolean isMergeable(Piecewise pcw) {
+        EvaluationPolicy policy = pcw.getPolicy();
+        return policy == EvaluationPolicy.THROW || policy == EvaluationPolicy.NAN
+                || policy == EvaluationPolicy.EXTRAPOLATE;
+    }
+
+    // the pieces of a piecewise function, whether or not they are packed
+    private static Piecewise asPiecewise(Function f) {
+        if (f.getClass() == Piecewise.class) {
+            return (Piecewise) f;
+        }
+        if (f.getClass() == PiecewisePolynomial.class) {
+            return ((PiecewisePolynomial) f).toPiecewise();
+        }
+        return null;
+    }
+
+    // a piecewise function with the bounds and policy of the shape, packed if
+    // every piece is a polynomial
+    private static CalculusFunction assemble(CalculusFunction[] pieces, Piecewise shape) {
+        Polynomial[] polys = new Polynomial[pieces.length];
+        for (int i = 0; i < pieces.length; i++) {
+            polys[i] = asPolynomial(pieces[i]);
+            if (polys[i] == null) {
+                return new Piecewise(pieces, shape.getStartingPoints(), shape.getEnd())
+                        .withPolicy(shape.getPolicy());
+            }
+        }
+        return new PiecewisePolynomial(polys, shape.getStartingPoints(), shape.getEnd())
+                .withPolicy(shape.getPolicy());
+    }
+
+    private static Polynomial asPolynomial(Function f) {
+        if (f.getClass() == Polynomial.class) {
+            return (Polynomial) f;
+        }
+        if (f.getClass() == Constant.class) {
+            return new Polynomial(((Constant) f).getValue());
+        }
+        return null;
+    }
+
+    private static CalculusFunction polynomial(Polynomial poly) {
+        if (poly.degree() == 0) {
+            return new Constant(poly.getCoefficients()[0]);
+        }
+        return poly;
+    }
+
+    private static boolean isConstant(Function f) {
+        Polynomial poly = asPolynomial(f);
+        return poly != null && poly.degree() == 0;
+    }
+
+    private static boolean isZero(Function f) {
+        return isConstant(f) && f.get(0) == 0;
+    }
+
+    private static boolean isOne(Function f) {
+        return isConstant(f) && f.get(0) == 1;
+    }
+
+    private static boolean isIdentity(Function f) {
+        if (f.getClass() == Function.identity().getClass()) {
+            return true;
+        }
+        Polynomial poly = asPolynomial(f);
+        return poly != null && poly.degree() == 1
+                && poly.getCoefficients()[0] == 1 && poly.getCoefficients()[1] == 0;
+    }
+}
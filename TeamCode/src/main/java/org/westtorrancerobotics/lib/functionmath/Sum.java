@@ -1,5 +1,6 @@
 package org.westtorrancerobotics.lib.functionmath;
 
+import java.io.IOException;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
@@ -12,6 +13,9 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 public class Sum implements CalculusFunction {
     
     private final CalculusFunction a, b;
+    private final Scratch scratch = new Scratch();
+    private CalculusFunction cachedDerivative;
+    private CalculusFunction cachedIntegral;
 
     /**
      * Creates a function that is the sum of the supplied functions.
@@ -30,11 +34,13 @@ public class Sum implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction derivative() {
-        CalculusFunction ad = a.derivative();
-        CalculusFunction bd = b.derivative();
-        Sum s = new Sum(ad, bd);
-        return s;
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            CalculusFunction ad = a.derivative();
+            CalculusFunction bd = b.derivative();
+            cachedDerivative = new Sum(ad, bd);
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -42,8 +48,11 @@ public class Sum implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction integral() {
-        return new Sum(a.integral(), b.integral());
+    public synchronized CalculusFunction integral() {
+        if (cachedIntegral == null) {
+            cachedIntegral = new Sum(a.integral(), b.integral());
+        }
+        return cachedIntegral;
     }
 
     /**
@@ -58,13 +67,73 @@ public class Sum implements CalculusFunction {
         return a.get(x) + b.get(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        double[] bs = scratch.get(to - from);
+        System.arraycopy(xs, from, bs, 0, to - from);
+        b.getAll(bs, bs, 0, to - from);
+        a.getAll(xs, out, from, to);
+        for (int i = from; i < to; i++) {
+            out[i] = out[i] + bs[i - from];
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double[] bs = new double[order + 1];
+        b.getWithDerivatives(x, order, bs);
+        a.getWithDerivatives(x, order, out);
+        for (int k = 0; k <= order; k++) {
+            out[k] += bs[k];
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return a.evaluate(x).plus(b.evaluate(x));
+    }
+
+    CalculusFunction getA() {
+        return a;
+    }
+    
+    CalculusFunction getB() {
+        return b;
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
     public String toString() {
-        return "\\left("+a+"+"+b+"\\right)";
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("\\left(");
+        a.writeLatex(dest, variable);
+        dest.append("+");
+        b.writeLatex(dest, variable);
+        dest.append("\\right)");
     }
     
     /**
@@ -104,6 +173,8 @@ public class Sum implements CalculusFunction {
     public static class Derivable implements DerivableFunction {
         
         private final DerivableFunction a, b;
+        private final Scratch scratch = new Scratch();
+        private DerivableFunction cachedDerivative;
 
         /**
          * Creates a function that is the sum of the supplied functions.
@@ -123,11 +194,13 @@ public class Sum implements CalculusFunction {
          * @since 1.0
          */
         @Override
-        public DerivableFunction derivative() {
-            DerivableFunction ad = a.derivative();
-            DerivableFunction bd = b.derivative();
-            Derivable s = new Derivable(ad, bd);
-            return s;
+        public synchronized DerivableFunction derivative() {
+            if (cachedDerivative == null) {
+                DerivableFunction ad = a.derivative();
+                DerivableFunction bd = b.derivative();
+                cachedDerivative = new Derivable(ad, bd);
+            }
+            return cachedDerivative;
         }
 
         /**
@@ -141,14 +214,74 @@ public class Sum implements CalculusFunction {
         public double get(double x) {
             return a.get(x) + b.get(x);
         }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getAll(double[] xs, double[] out, int from, int to) {
+            double[] bs = scratch.get(to - from);
+            System.arraycopy(xs, from, bs, 0, to - from);
+            b.getAll(bs, bs, 0, to - from);
+            a.getAll(xs, out, from, to);
+            for (int i = from; i < to; i++) {
+                out[i] = out[i] + bs[i - from];
+            }
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getWithDerivatives(double x, int order, double[] out) {
+            Jets.checkOrder(order);
+            double[] bs = new double[order + 1];
+            b.getWithDerivatives(x, order, bs);
+            a.getWithDerivatives(x, order, out);
+            for (int k = 0; k <= order; k++) {
+                out[k] += bs[k];
+            }
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public Interval evaluate(Interval x) {
+            return a.evaluate(x).plus(b.evaluate(x));
+        }
+        
+        DerivableFunction getA() {
+            return a;
+        }
         
+        DerivableFunction getB() {
+            return b;
+        }
+
         /**
          * 
          * @since 1.0
          */
         @Override
         public String toString() {
-            return "\\left("+a+"+"+b+"\\right)";
+            return LatexWriter.toString(this);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+            dest.append("\\left(");
+            a.writeLatex(dest, variable);
+            dest.append("+");
+            b.writeLatex(dest, variable);
+            dest.append("\\right)");
         }
     
         /**
@@ -163,7 +296,7 @@ public class Sum implements CalculusFunction {
             if (!(obj.getClass().equals(getClass()))) {
                 return false;
             }
-            Sum sum = (Sum) obj;
+            Derivable sum = (Derivable) obj;
             return sum.a.equals(a) && sum.b.equals(b);
         }
 
@@ -1,12 +1,18 @@
 package org.westtorrancerobotics.lib.functionmath.casters;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.regex.Matcher;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 import org.westtorrancerobotics.lib.functionmath.Constant;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.Jets;
+import org.westtorrancerobotics.lib.functionmath.LatexWriter;
 import org.westtorrancerobotics.lib.functionmath.PolynomialGenerator;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
-import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
 import org.westtorrancerobotics.lib.functionmath.interfaces.IntegrableFunction;
 
 /**
@@ -31,10 +37,55 @@ public class BruteIntegral implements DerivableFunction {
     private final double MAX_INPUT;
     private final double tick;
     private final DerivableFunction input;
+    private final Initialization initialization;
     private final CalculusFunction[] approx;
     private final double[] integralToApprox;
     private final double[] minusThis;
-    private boolean approxDone;
+    private final double[] areas;
+    private volatile int segmentsDone;
+
+    /**
+     * The ways a {@code BruteIntegral} can build its table of cubic approximations.
+     * 
+     * @since 1.2
+     */
+    public enum Initialization {
+        /**
+         * Fits every segment on the first call, on the calling thread.
+         * 
+         * @since 1.2
+         */
+        EAGER,
+        /**
+         * Fits segments only as far out from zero as is needed to answer each
+         * call, so inputs near zero never pay for the whole domain.
+         * 
+         * @since 1.2
+         */
+        LAZY,
+        /**
+         * Fits every segment on the first call, splitting the fits across the
+         * common {@code ForkJoinPool}. The input function is then evaluated from
+         * several threads at once, so this should only be chosen for an input
+         * known to be safe to evaluate concurrently.
+         * 
+         * @since 1.2
+         */
+        PARALLEL
+    }
+
+    /**
+     * Segments fitted at once by a single fork-join task, or by a single lazy
+     * extension of the table.
+     */
+    private static final int SEGMENTS_PER_TASK = 64;
+
+    /**
+     * The most cubic pieces a decoded integral may ask for. Each piece costs four
+     * array entries, so a count read from a malformed buffer is refused past this
+     * rather than allocated.
+     */
+    private static final int MAX_READ_SAMPLES = 1 << 20;
 
     /**
      * Creates the integral of a function. Only assignment and preparation is done
@@ -53,40 +104,120 @@ public class BruteIntegral implements DerivableFunction {
      * @since 1.0
      */
     public BruteIntegral(DerivableFunction input, int NUMBER_OF_SAMPLES, double MAX_INPUT) {
+        this(input, NUMBER_OF_SAMPLES, MAX_INPUT, Initialization.EAGER);
+    }
+
+    /**
+     * Creates the integral of a function, choosing how its approximation is built.
+     * Aside from how the work of initialization is scheduled, this is identical to
+     * {@link #BruteIntegral(DerivableFunction, int, double)}, and every mode
+     * produces the same values.
+     * 
+     * @param input the function of which the antiderivative will be estimated
+     * @param NUMBER_OF_SAMPLES the number of cubic pieces to use in approximation
+     * @param MAX_INPUT the largest x-value within any of the cubic approximations,
+     *                  by absolute value
+     * @param initialization when the cubic pieces are fitted
+     * @see Initialization
+     * @since 1.2
+     */
+    public BruteIntegral(DerivableFunction input, int NUMBER_OF_SAMPLES, double MAX_INPUT,
+            Initialization initialization) {
         this.input = input;
         this.NUMBER_OF_SAMPLES = NUMBER_OF_SAMPLES;
         this.MAX_INPUT = MAX_INPUT;
+        this.initialization = Objects.requireNonNull(initialization);
         tick = MAX_INPUT / NUMBER_OF_SAMPLES;
         approx = new CalculusFunction[NUMBER_OF_SAMPLES + 1];
         integralToApprox = new double[NUMBER_OF_SAMPLES + 1];
         minusThis = new double[NUMBER_OF_SAMPLES + 1];
-        approxDone = false;
-    }
-
-    private synchronized void initApprox() {
-        if (!approxDone) {
-            approxDone = true;
-            double sum = 0;
-            int i = 0;
-            for (double str = 0; i < NUMBER_OF_SAMPLES; str += tick) {
-                double mid1 = str+tick/3;
-                double mid2 = str+tick*2/3;
-                double end = str+tick;
-                CalculusFunction pieceApprox = PolynomialGenerator.generateCubic(
-                        str, input.get(str),
-                        mid1, input.get(mid1),
-                        mid2, input.get(mid2),
-                        end, input.get(end));
-                CalculusFunction pieceInt = pieceApprox.integral();
-                sum += pieceInt.get(end) - pieceInt.get(str);
-                integralToApprox[i + 1] = sum;
-                approx[i] = pieceInt;
-                minusThis[i] = pieceInt.get(str);
-                i++;
+        areas = new double[NUMBER_OF_SAMPLES];
+        approx[NUMBER_OF_SAMPLES] = new Constant(0);
+        segmentsDone = 0;
+    }
+
+    private synchronized void initApprox(int through) {
+        int done = segmentsDone;
+        if (done > through || done == NUMBER_OF_SAMPLES) {
+            return;
+        }
+        int target;
+        if (initialization == Initialization.PARALLEL) {
+            target = NUMBER_OF_SAMPLES;
+            ForkJoinPool.commonPool().invoke(new FitTask(input, tick, approx, minusThis, areas, done, target));
+        } else {
+            target = initialization == Initialization.EAGER ? NUMBER_OF_SAMPLES
+                    : Math.min(NUMBER_OF_SAMPLES, Math.max(through + 1, done + SEGMENTS_PER_TASK));
+            fitSegments(input, tick, approx, minusThis, areas, done, target);
+        }
+        for (int i = done; i < target; i++) {
+            integralToApprox[i + 1] = integralToApprox[i] + areas[i];
+        }
+        segmentsDone = target;
+    }
+
+    // fits segments from through to - 1, filling in their entries of the tables
+    private static void fitSegments(DerivableFunction input, double tick, CalculusFunction[] approx,
+            double[] minusThis, double[] areas, int from, int to) {
+        double[] xs = new double[3 * (to - from) + 1];
+        for (int i = from; i < to; i++) {
+            double str = i * tick;
+            int j = 3 * (i - from);
+            xs[j] = str;
+            xs[j + 1] = str+tick/3;
+            xs[j + 2] = str+tick*2/3;
+            xs[j + 3] = (i + 1) * tick;
+        }
+        double[] ys = new double[xs.length];
+        input.getAll(xs, ys, 0, xs.length);
+        for (int i = from; i < to; i++) {
+            int j = 3 * (i - from);
+            double str = xs[j];
+            double end = xs[j + 3];
+            CalculusFunction pieceApprox = PolynomialGenerator.generateCubic(
+                    str, ys[j],
+                    xs[j + 1], ys[j + 1],
+                    xs[j + 2], ys[j + 2],
+                    end, ys[j + 3]);
+            CalculusFunction pieceInt = pieceApprox.integral();
+            approx[i] = pieceInt;
+            minusThis[i] = pieceInt.get(str);
+            areas[i] = pieceInt.get(end) - minusThis[i];
+        }
+    }
+
+    private static final class FitTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final DerivableFunction input;
+        private final double tick;
+        private final CalculusFunction[] approx;
+        private final double[] minusThis;
+        private final double[] areas;
+        private final int from;
+        private final int to;
+
+        private FitTask(DerivableFunction input, double tick, CalculusFunction[] approx,
+                double[] minusThis, double[] areas, int from, int to) {
+            this.input = input;
+            this.tick = tick;
+            this.approx = approx;
+            this.minusThis = minusThis;
+            this.areas = areas;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= SEGMENTS_PER_TASK) {
+                fitSegments(input, tick, approx, minusThis, areas, from, to);
+            } else {
+                int mid = (from + to) >>> 1;
+                invokeAll(new FitTask(input, tick, approx, minusThis, areas, from, mid),
+                        new FitTask(input, tick, approx, minusThis, areas, mid, to));
             }
-            integralToApprox[0] = 0;
-            approx[NUMBER_OF_SAMPLES] = new Constant(0);
-            minusThis[NUMBER_OF_SAMPLES] = 0;
         }
     }
     
@@ -95,7 +226,8 @@ public class BruteIntegral implements DerivableFunction {
      * value at x = 0 will be 0. For values outside the specified domain of the function,
      * it is uncertain what the output will be. The first time this function is run,
      * any needed initialization will be run, and consequently, the function will
-     * be much faster subsequently.
+     * be much faster subsequently. In {@link Initialization#LAZY LAZY} mode, a call
+     * further from zero than any before it may also run some initialization.
      * 
      * @param x the input of the integral
      * @return the output of the integral at the specified input
@@ -108,7 +240,6 @@ public class BruteIntegral implements DerivableFunction {
         if (input instanceof IntegrableFunction) {
             return ((IntegrableFunction) input).integral().get(x);
         }
-        initApprox();
         int i = (int) (x / tick);
         if (i > NUMBER_OF_SAMPLES) {
             i = NUMBER_OF_SAMPLES;
@@ -116,8 +247,29 @@ public class BruteIntegral implements DerivableFunction {
         if (i < 0) {
             i = 0;
         }
+        int done = segmentsDone;
+        if (i >= done && done != NUMBER_OF_SAMPLES) {
+            initApprox(i);
+        }
         return integralToApprox[i] + approx[i].get(x) - minusThis[i];
     }
+
+    /**
+     * Gives the value of the integral and, as its derivatives, the value and
+     * derivatives of the original function.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double value = get(x);
+        if (order > 0) {
+            input.getWithDerivatives(x, order - 1, out);
+            System.arraycopy(out, 0, out, 1, order);
+        }
+        out[0] = value;
+    }
     
     /**
      * 
@@ -134,13 +286,75 @@ public class BruteIntegral implements DerivableFunction {
     
     private synchronized long getObjId() {
         if (objId == -1) {
-            synchronized (UOI_LOCK) {
-                usedObjIds++;
-                objId = usedObjIds;
-            }
+            objId = newObjId();
         }
         return objId;
     }
+    
+    static long newObjId() {
+        synchronized (UOI_LOCK) {
+            usedObjIds++;
+            return usedObjIds;
+        }
+    }
+
+    // the table is completed before being written, so reading it never fits a segment
+    void write(FunctionCodec.Encoder out) {
+        out.putFunction(input);
+        out.putInt(NUMBER_OF_SAMPLES);
+        out.putDouble(MAX_INPUT);
+        out.putEnum(initialization);
+        boolean tabled = !(input instanceof IntegrableFunction) && NUMBER_OF_SAMPLES > 0;
+        out.putBoolean(tabled);
+        if (tabled) {
+            initApprox(NUMBER_OF_SAMPLES - 1);
+            for (int i = 0; i < NUMBER_OF_SAMPLES; i++) {
+                out.putFunction(approx[i]);
+            }
+            out.putDoubles(minusThis);
+            out.putDoubles(areas);
+        }
+    }
+
+    static BruteIntegral read(FunctionCodec.Decoder in) {
+        DerivableFunction input = in.getFunction(DerivableFunction.class);
+        int samples = checkSamples(in.getInt());
+        double max = in.getDouble();
+        Initialization initialization = in.getEnum(Initialization.class);
+        if (!in.getBoolean()) {
+            return new BruteIntegral(input, samples, max, initialization);
+        }
+        // the table is read before the integral is made, so that a malformed count
+        // runs out of buffer rather than memory
+        List<CalculusFunction> pieces = new ArrayList<>();
+        for (int i = 0; i < samples; i++) {
+            pieces.add(in.getFunction(CalculusFunction.class));
+        }
+        double[] minusThis = in.getDoubles();
+        double[] areas = in.getDoubles();
+        if (minusThis.length != samples + 1 || areas.length != samples) {
+            throw new IllegalArgumentException("Table does not match " + samples + " samples.");
+        }
+        BruteIntegral integral = new BruteIntegral(input, samples, max, initialization);
+        for (int i = 0; i < samples; i++) {
+            integral.approx[i] = pieces.get(i);
+        }
+        System.arraycopy(minusThis, 0, integral.minusThis, 0, minusThis.length);
+        System.arraycopy(areas, 0, integral.areas, 0, areas.length);
+        for (int i = 0; i < samples; i++) {
+            integral.integralToApprox[i + 1] = integral.integralToApprox[i] + areas[i];
+        }
+        integral.segmentsDone = samples;
+        return integral;
+    }
+
+    // a sample count read from a buffer, before any arrays are made for it
+    static int checkSamples(int samples) {
+        if (samples < 1 || samples > MAX_READ_SAMPLES) {
+            throw new IllegalArgumentException("Sample count " + samples + " is out of range.");
+        }
+        return samples;
+    }
 
     /**
      * 
@@ -148,12 +362,23 @@ public class BruteIntegral implements DerivableFunction {
      */
     @Override
     public String toString() {
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
         if (input instanceof IntegrableFunction) {
-            return ((IntegrableFunction) input).integral().toString();
+            ((IntegrableFunction) input).integral().writeLatex(dest, variable);
+            return;
         }
         String myX = "x_{"+getObjId()+"}";
-        String modifInputStr = input.toString().replaceAll(Function.xVariableRegex(), Matcher.quoteReplacement(myX));
-        return "\\int_0^{x}" + modifInputStr + "d" + myX;
+        dest.append("\\int_0^{").append(variable).append("}");
+        input.writeLatex(dest, myX);
+        dest.append("d").append(myX);
     }
     
     /**
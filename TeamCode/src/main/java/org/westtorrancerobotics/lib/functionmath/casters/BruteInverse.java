@@ -1,10 +1,10 @@
 package org.westtorrancerobotics.lib.functionmath.casters;
 
 import java.util.Objects;
-import org.westtorrancerobotics.lib.spline.geom.Point;
+import org.westtorrancerobotics.lib.functionmath.EvaluationPolicy;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
-import org.westtorrancerobotics.lib.functionmath.Polynomial;
-import org.westtorrancerobotics.lib.functionmath.PolynomialGenerator;
 
 /**
  * Estimates the inverse of a strictly increasing or decreasing function. If a function's
@@ -13,6 +13,13 @@ import org.westtorrancerobotics.lib.functionmath.PolynomialGenerator;
  * input for which the output of the supplied function is very near to the input of
  * this function, and returns the found input. It is most fast and effective with
  * near linear functions.
+ * <p>
+ * The search steps like Newton's method, using the exact derivative when the original
+ * function is a {@code DerivableFunction} and the slope of the last two guesses otherwise,
+ * but falls back to a false position step whenever that would leave the interval known
+ * to contain the answer. Each search starts from the answer to the previous call, so
+ * a series of nearby inputs, such as the increasing distances asked of a path by a
+ * follower, usually needs only one or two evaluations of the original per call.
  * 
  * @since 1.0
  */
@@ -22,9 +29,14 @@ public class BruteInverse implements Function {
     private final double MIN_INPUT;
     private final double MAX_INPUT;
     private final Function original;
-    private boolean firstRun;
-    private Polynomial firstLine;
-    private Polynomial firstInvLine;
+    private final EvaluationPolicy policy;
+    private DerivableFunction derivative;
+    private double minOutput;
+    private double maxOutput;
+    private volatile boolean prepared;
+    private volatile double lastInput;
+    private volatile double lastOutput;
+    private volatile double lastSlope;
     
     /**
      * Creates the inverse of a function. The estimated result returned may differ
@@ -46,6 +58,29 @@ public class BruteInverse implements Function {
      * @since 1.0
      */
     public BruteInverse(Function original, double ACCURACY, double MIN_INPUT, double MAX_INPUT) {
+        this(original, ACCURACY, MIN_INPUT, MAX_INPUT, EvaluationPolicy.THROW);
+    }
+
+    /**
+     * Creates the inverse of a function that answers outputs of the original beyond
+     * its domain restrictions by the specified policy. Overloads {@link
+     * #BruteInverse(Function, double, double, double)}. With {@link EvaluationPolicy#CLAMP},
+     * such an output gives the nearest domain restriction, and with {@link
+     * EvaluationPolicy#EXTRAPOLATE}, it gives the continuation of the line tangent
+     * to the inverse at the nearest domain restriction, or of the line through both
+     * if the original is not a {@code DerivableFunction}.
+     * 
+     * @param original the function of which this is the inverse
+     * @param ACCURACY the tolerance of error in the returned outputs
+     * @param MIN_INPUT the lower domain restriction on the input function
+     * @param MAX_INPUT the higher domain restriction on the input function
+     * @param policy how to answer outputs of the original beyond its domain restrictions
+     * @throws IllegalArgumentException if {@code ACCURACY} is not positive or either
+     *                                  domain restriction is indefinite
+     * @since 1.2
+     */
+    public BruteInverse(Function original, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+            EvaluationPolicy policy) {
         if (ACCURACY <= 0) {
             throw new IllegalArgumentException("Accuracy must be positive:" + ACCURACY);
         }
@@ -57,7 +92,22 @@ public class BruteInverse implements Function {
         this.MIN_INPUT = MIN_INPUT;
         this.MAX_INPUT = MAX_INPUT;
         this.original = original;
-        this.firstRun = true;
+        this.policy = Objects.requireNonNull(policy);
+        this.prepared = false;
+        this.lastInput = Double.NaN;
+        this.lastOutput = Double.NaN;
+        this.lastSlope = Double.NaN;
+    }
+
+    private synchronized void prepare() {
+        if (!prepared) {
+            minOutput = original.get(MIN_INPUT);
+            maxOutput = original.get(MAX_INPUT);
+            if (original instanceof DerivableFunction) {
+                derivative = ((DerivableFunction) original).derivative();
+            }
+            prepared = true;
+        }
     }
 
     /**
@@ -67,58 +117,109 @@ public class BruteInverse implements Function {
      * @return the input of the original function to generate {@code y}
      * @throws IndexOutOfBoundsException if the outputs of the original function at
      *                                   the domain restrictions do not contain the
-     *                                   supplied y value between them, inclusive.
+     *                                   supplied y value between them, inclusive,
+     *                                   and the policy of this inverse is to throw
      * @since 1.0
      */
     @Override
     public double get(double y) {
-//        if (original instanceof InversibleFunction) {
-//            System.out.println(original);
-//            return ((InversibleFunction) original).inverse().get(y);
-//        }
-        Point guess1 = new Point(MIN_INPUT, original.get(MIN_INPUT));
-        double guess1dst = Math.abs(guess1.y - y);
-        if (guess1dst < ACCURACY) {
-            return guess1.x;
+        if (!prepared) {
+            prepare();
         }
-        Point guess2 = new Point(MAX_INPUT, original.get(MAX_INPUT));
-        double guess2dst = Math.abs(guess2.y - y);
-        if (guess2dst < ACCURACY) {
-            return guess2.x;
+        if (Math.abs(minOutput - y) < ACCURACY) {
+            return MIN_INPUT;
         }
-        if (!isBetween(guess1.y, y, guess2.y)) {
-            throw new IndexOutOfBoundsException(guess1.y + ", " + y + ", " + guess2.y);
+        if (Math.abs(maxOutput - y) < ACCURACY) {
+            return MAX_INPUT;
         }
-        if (firstRun) {
-            firstLine = PolynomialGenerator.generateLine(guess1, guess2);
-            firstInvLine = firstLine.inverseLinear();
-            firstRun = false;
+        if (!isBetween(minOutput, y, maxOutput)) {
+            return outside(y);
         }
-        double guess3x = firstInvLine.get(y);
-        Point guess3 = new Point(guess3x, original.get(guess3x));
-        double guess3dst = Math.abs(guess3.y - y);
-        if (guess3dst < ACCURACY) {
-            return guess3.x;
-        }
-        if (isBetween(guess1.y, y, guess3.y)) {
-            guess2 = guess3;
+        // the bracket [lo, hi] always contains the answer; flo and fhi are the
+        // signed errors at its ends, which have opposite signs
+        double lo, hi, flo, fhi;
+        if (MIN_INPUT < MAX_INPUT) {
+            lo = MIN_INPUT;
+            flo = minOutput - y;
+            hi = MAX_INPUT;
+            fhi = maxOutput - y;
         } else {
-            guess1 = guess3;
+            lo = MAX_INPUT;
+            flo = maxOutput - y;
+            hi = MIN_INPUT;
+            fhi = minOutput - y;
+        }
+        // start one step on from the previous answer, or failing that, from
+        // the line through the ends of the domain
+        double slope = lastSlope;
+        double x = lastInput + (y - lastOutput) / slope;
+        if (!(lo < x && x < hi)) {
+            slope = (fhi - flo) / (hi - lo);
+            x = lo - flo / slope;
         }
-        while(true) {
-            Polynomial line = PolynomialGenerator.generateLine(guess1, guess2);
-            Polynomial invLine = line.inverseLinear();
-            double guess4x = invLine.get(y);
-            Point guess4 = new Point(guess4x, original.get(guess4x));
-            double guess4dst = Math.abs(guess4.y - y);
-            if (guess4dst < ACCURACY) {
-                return guess4.x;
+        double prevX = Double.NaN;
+        double prevFx = Double.NaN;
+        int lastSide = 0;
+        while (true) {
+            if (!(lo < x && x < hi)) {
+                // the step left the bracket, so take a false position step instead
+                x = (lo * fhi - hi * flo) / (fhi - flo);
+                if (!(lo < x && x < hi)) {
+                    x = lo + (hi - lo) / 2;
+                    if (!(lo < x && x < hi)) {
+                        // the bracket is as narrow as a double allows
+                        return x;
+                    }
+                }
             }
-            if (isBetween(guess1.y, y, guess4.y)) {
-                guess2 = guess4;
+            double fx = original.get(x) - y;
+            if (Math.abs(fx) < ACCURACY) {
+                lastInput = x;
+                lastOutput = fx + y;
+                lastSlope = slope;
+                return x;
+            }
+            double newSlope = derivative != null ? derivative.get(x) : (fx - prevFx) / (x - prevX);
+            if (newSlope != 0 && Double.isFinite(newSlope)) {
+                slope = newSlope;
+            }
+            prevX = x;
+            prevFx = fx;
+            // replacing the same end twice in a row halves the error kept at
+            // the other end, so false position steps cannot stall (Illinois)
+            if (fx < 0 == flo < 0) {
+                lo = x;
+                flo = fx;
+                if (lastSide == -1) {
+                    fhi /= 2;
+                }
+                lastSide = -1;
             } else {
-                guess1 = guess4;
+                hi = x;
+                fhi = fx;
+                if (lastSide == 1) {
+                    flo /= 2;
+                }
+                lastSide = 1;
             }
+            x -= fx / slope;
+        }
+    }
+    
+    private double outside(double y) {
+        boolean nearMin = Math.abs(y - minOutput) < Math.abs(y - maxOutput);
+        double end = nearMin ? MIN_INPUT : MAX_INPUT;
+        switch (policy) {
+            case CLAMP:
+                return end;
+            case NAN:
+                return Double.NaN;
+            case EXTRAPOLATE:
+                double slope = derivative != null ? derivative.get(end)
+                        : (maxOutput - minOutput) / (MAX_INPUT - MIN_INPUT);
+                return end + (y - (nearMin ? minOutput : maxOutput)) / slope;
+            default:
+                throw new IndexOutOfBoundsException(minOutput + ", " + y + ", " + maxOutput);
         }
     }
     
@@ -131,6 +232,22 @@ public class BruteInverse implements Function {
         return false;
     }
 
+    void write(FunctionCodec.Encoder out) {
+        out.putFunction(original);
+        out.putDouble(ACCURACY);
+        out.putDouble(MIN_INPUT);
+        out.putDouble(MAX_INPUT);
+        out.putEnum(policy);
+    }
+
+    static BruteInverse read(FunctionCodec.Decoder in) {
+        Function original = in.getFunction();
+        double accuracy = in.getDouble();
+        double min = in.getDouble();
+        double max = in.getDouble();
+        return new BruteInverse(original, accuracy, min, max, in.getEnum(EvaluationPolicy.class));
+    }
+
     /**
      * Gives a string representation of the function through the original. The String
      * will be of the form {@code "Inverse(<function>)"}, where {@code <function>}
@@ -160,7 +277,7 @@ public class BruteInverse implements Function {
         }
         BruteInverse bri = (BruteInverse) obj;
         return bri.original.equals(original) && bri.ACCURACY == ACCURACY &&
-                bri.MIN_INPUT == bri.MIN_INPUT && bri.MAX_INPUT == MAX_INPUT;
+                bri.MIN_INPUT == MIN_INPUT && bri.MAX_INPUT == MAX_INPUT && bri.policy == policy;
     }
 
     /**
@@ -174,6 +291,7 @@ public class BruteInverse implements Function {
         hash = 89 * hash + (int) (Double.doubleToLongBits(this.MIN_INPUT) ^ (Double.doubleToLongBits(this.MIN_INPUT) >>> 32));
         hash = 89 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
         hash = 89 * hash + Objects.hashCode(this.original);
+        hash = 89 * hash + Objects.hashCode(this.policy);
         return hash;
     }
 }
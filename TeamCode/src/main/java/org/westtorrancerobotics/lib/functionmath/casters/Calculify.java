@@ -1,6 +1,9 @@
 package org.westtorrancerobotics.lib.functionmath.casters;
 
+import java.io.IOException;
 import java.util.Objects;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.Interval;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableIntegrableFunction;
@@ -9,8 +12,9 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.IntegrableFunction;
 
 /**
  * Makes a function that is an instance of {@code DerivableFunction} into an instance
- * of {@code CalculusFunction}. Uses the class {@link BruteIntegral} to gain its
- * additional functionality.
+ * of {@code CalculusFunction}. Uses the class {@link BruteIntegral} or, if a
+ * tolerance is given instead of a number of samples, {@link GaussKronrodIntegral}
+ * to gain its additional functionality.
  * 
  * @since 1.0
  */
@@ -18,8 +22,11 @@ public class Calculify implements CalculusFunction {
     
     private final DerivableFunction input;
     private final int INTERGAL_NUM_SAMPLES;
+    private final double TOLERANCE;
     private final double MAX_INPUT;
     private final DerivableFunction integral;
+    private CalculusFunction cachedDerivative;
+    private CalculusFunction cachedIntegral;
 
     /**
      * Boxes the function {@code input}, leaving it with the same output and input
@@ -38,38 +45,74 @@ public class Calculify implements CalculusFunction {
     public Calculify(DerivableFunction input, int INTERGAL_NUM_SAMPLES, double MAX_INPUT) {
         this.input = input;
         this.INTERGAL_NUM_SAMPLES = INTERGAL_NUM_SAMPLES;
+        this.TOLERANCE = Double.NaN;
         this.MAX_INPUT = MAX_INPUT;
         integral = new BruteIntegral(input, INTERGAL_NUM_SAMPLES, MAX_INPUT);
     }
 
+    /**
+     * Boxes the function {@code input}, leaving it with the same output and input
+     * characteristics. The function gains the ability to be used as a
+     * {@code CalculusFunction}, through use of adaptive estimation done in the
+     * class {@link GaussKronrodIntegral}.
+     * 
+     * @param input the function to box
+     * @param TOLERANCE the largest error allowed when and if this function is integrated
+     * @param MAX_INPUT the maximum input to be used when and if this function is
+     *                  integrated
+     * @see GaussKronrodIntegral#GaussKronrodIntegral(DerivableFunction, double, double) 
+     * @since 1.2
+     */
+    public Calculify(DerivableFunction input, double TOLERANCE, double MAX_INPUT) {
+        this.input = input;
+        this.INTERGAL_NUM_SAMPLES = 0;
+        this.TOLERANCE = TOLERANCE;
+        this.MAX_INPUT = MAX_INPUT;
+        integral = new GaussKronrodIntegral(input, TOLERANCE, MAX_INPUT);
+    }
+
+    // boxes another function with the same integration settings as this one
+    private Calculify withSettings(DerivableFunction f) {
+        if (Double.isNaN(TOLERANCE)) {
+            return new Calculify(f, INTERGAL_NUM_SAMPLES, MAX_INPUT);
+        }
+        return new Calculify(f, TOLERANCE, MAX_INPUT);
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
-    public CalculusFunction derivative() {
-        DerivableFunction deriv = input.derivative();
-        return new Calculify(
-                new DerivableIntegrableFunction<DerivableFunction>() {
-                    @Override
-                    public double get(double x) {
-                        return deriv.get(x);
-                    }
-                    @Override
-                    public DerivableFunction integral() {
-                        return input;
-                    }
-                    @Override
-                    public DerivableIntegrableFunction<?> derivative() {
-                        return new Calculify(deriv.derivative(), INTERGAL_NUM_SAMPLES, MAX_INPUT);
-                    }
-                    @Override
-                    public String toString() {
-                        return deriv.toString();
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            DerivableFunction deriv = input.derivative();
+            cachedDerivative = withSettings(
+                    new DerivableIntegrableFunction<DerivableFunction>() {
+                        private DerivableIntegrableFunction<?> cachedDerivative;
+                        @Override
+                        public double get(double x) {
+                            return deriv.get(x);
+                        }
+                        @Override
+                        public DerivableFunction integral() {
+                            return input;
+                        }
+                        @Override
+                        public synchronized DerivableIntegrableFunction<?> derivative() {
+                            if (cachedDerivative == null) {
+                                cachedDerivative = withSettings(deriv.derivative());
+                            }
+                            return cachedDerivative;
+                        }
+                        @Override
+                        public String toString() {
+                            return deriv.toString();
+                        }
                     }
-                },
-                INTERGAL_NUM_SAMPLES, MAX_INPUT
-        );
+            );
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -77,16 +120,23 @@ public class Calculify implements CalculusFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction integral() {
+    public synchronized CalculusFunction integral() {
+        if (cachedIntegral == null) {
+            cachedIntegral = makeIntegral();
+        }
+        return cachedIntegral;
+    }
+
+    private CalculusFunction makeIntegral() {
         if (input instanceof IntegrableFunction) {
             Function integ = ((IntegrableFunction) input).integral();
             if (integ instanceof CalculusFunction) {
                 return (CalculusFunction) integ;
             } else if (integ instanceof DerivableFunction) {
-                return new Calculify((DerivableFunction) integ, INTERGAL_NUM_SAMPLES, MAX_INPUT);
+                return withSettings((DerivableFunction) integ);
             }
         }
-        return new Calculify(integral, INTERGAL_NUM_SAMPLES, MAX_INPUT);
+        return withSettings(integral);
     }
 
     /**
@@ -101,6 +151,43 @@ public class Calculify implements CalculusFunction {
         return input.get(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        input.getWithDerivatives(x, order, out);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return input.evaluate(x);
+    }
+
+    // the integral built by this function is not written, and is built again when read
+    void write(FunctionCodec.Encoder out) {
+        out.putFunction(input);
+        out.putDouble(TOLERANCE);
+        out.putInt(INTERGAL_NUM_SAMPLES);
+        out.putDouble(MAX_INPUT);
+    }
+
+    static Calculify read(FunctionCodec.Decoder in) {
+        DerivableFunction input = in.getFunction(DerivableFunction.class);
+        double tolerance = in.getDouble();
+        int samples = in.getInt();
+        double max = in.getDouble();
+        if (Double.isNaN(tolerance)) {
+            return new Calculify(input, BruteIntegral.checkSamples(samples), max);
+        }
+        return new Calculify(input, tolerance, max);
+    }
+
     /**
      * 
      * @since 1.0
@@ -109,6 +196,15 @@ public class Calculify implements CalculusFunction {
     public String toString() {
         return input.toString();
     }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        input.writeLatex(dest, variable);
+    }
     
     /**
      * 
@@ -123,7 +219,8 @@ public class Calculify implements CalculusFunction {
             return false;
         }
         Calculify cfy = (Calculify) obj;
-        return cfy.input.equals(input) && cfy.INTERGAL_NUM_SAMPLES == INTERGAL_NUM_SAMPLES && cfy.MAX_INPUT == MAX_INPUT;
+        return cfy.input.equals(input) && cfy.INTERGAL_NUM_SAMPLES == INTERGAL_NUM_SAMPLES
+                && Double.compare(cfy.TOLERANCE, TOLERANCE) == 0 && cfy.MAX_INPUT == MAX_INPUT;
     }
 
     /**
@@ -135,6 +232,7 @@ public class Calculify implements CalculusFunction {
         int hash = 3;
         hash = 59 * hash + Objects.hashCode(this.input);
         hash = 59 * hash + this.INTERGAL_NUM_SAMPLES;
+        hash = 59 * hash + (int) (Double.doubleToLongBits(this.TOLERANCE) ^ (Double.doubleToLongBits(this.TOLERANCE) >>> 32));
         hash = 59 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
         return hash;
     }
@@ -0,0 +1,122 @@
+package org.westtorrancerobotics.lib.functionmath.casters;
+
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
+
+/**
+ * Utility class through which {@link FunctionCodec} writes and reads the functions
+ * of this package. The tables these functions build are written with them, so
+ * that a function read again answers at once without sampling, integrating or
+ * searching anything. Integrals are first completed, so their whole tables are
+ * written, while an inverse is written with its table only if it has already
+ * been built.
+ * <p>
+ * The inverse given out by an {@link Inversiblify} or {@link Inversiblify.NonDerivable}
+ * is written as the function it is the inverse of, and is read as the inverse
+ * of that function, so that the two stay a pair.
+ *
+ * @see FunctionCodec
+ * @since 1.2
+ */
+public class CasterCodec {
+
+    private CasterCodec() {} // no constructor
+
+    private static final int CALCULIFY = 64;
+    private static final int BRUTE_INTEGRAL = 65;
+    private static final int GAUSS_KRONROD_INTEGRAL = 66;
+    private static final int CHEBIFY = 67;
+    private static final int SAMPLED_FUNCTION = 68;
+    private static final int INVERSE_TABLE = 69;
+    private static final int BRUTE_INVERSE = 70;
+    private static final int INVERSIBLIFY = 71;
+    private static final int NON_DERIVABLE = 72;
+    private static final int INVERSE_OF = 73;
+
+    /**
+     * Writes a function of this package, preceded by a tag identifying its type.
+     *
+     * @param f the function to write
+     * @param out where to write the function
+     * @return true if {@code f} is of a type of this package and has been written,
+     *         or false if nothing was written
+     * @throws IllegalArgumentException if a part of {@code f} cannot be written
+     * @since 1.2
+     */
+    public static boolean write(Function f, FunctionCodec.Encoder out) {
+        Class<?> type = f.getClass();
+        Class<?> owner = type.getEnclosingClass();
+        if (type == Calculify.class) {
+            out.putByte(CALCULIFY);
+            ((Calculify) f).write(out);
+        } else if (type == BruteIntegral.class) {
+            out.putByte(BRUTE_INTEGRAL);
+            ((BruteIntegral) f).write(out);
+        } else if (type == GaussKronrodIntegral.class) {
+            out.putByte(GAUSS_KRONROD_INTEGRAL);
+            ((GaussKronrodIntegral) f).write(out);
+        } else if (type == Chebify.class) {
+            out.putByte(CHEBIFY);
+            ((Chebify) f).write(out);
+        } else if (type == SampledFunction.class) {
+            out.putByte(SAMPLED_FUNCTION);
+            ((SampledFunction) f).write(out);
+        } else if (type == InverseTable.class) {
+            out.putByte(INVERSE_TABLE);
+            ((InverseTable) f).write(out);
+        } else if (type == BruteInverse.class) {
+            out.putByte(BRUTE_INVERSE);
+            ((BruteInverse) f).write(out);
+        } else if (type == Inversiblify.class) {
+            out.putByte(INVERSIBLIFY);
+            ((Inversiblify) f).write(out);
+        } else if (type == Inversiblify.NonDerivable.class) {
+            out.putByte(NON_DERIVABLE);
+            ((Inversiblify.NonDerivable) f).write(out);
+        } else if ((owner == Inversiblify.class || owner == Inversiblify.NonDerivable.class)
+                && f instanceof InversibleFunction) {
+            out.putByte(INVERSE_OF);
+            out.putFunction(((InversibleFunction) f).inverse());
+        } else {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Reads a function of this package, whose tag has already been read.
+     *
+     * @param tag the tag identifying the type of the function
+     * @param in where to read the function from
+     * @return the function read
+     * @throws IllegalArgumentException if the tag is not that of any function
+     * @since 1.2
+     */
+    public static Function read(int tag, FunctionCodec.Decoder in) {
+        switch (tag) {
+            case CALCULIFY:
+                return Calculify.read(in);
+            case BRUTE_INTEGRAL:
+                return BruteIntegral.read(in);
+            case GAUSS_KRONROD_INTEGRAL:
+                return GaussKronrodIntegral.read(in);
+            case CHEBIFY:
+                return Chebify.read(in);
+            case SAMPLED_FUNCTION:
+                return SampledFunction.read(in);
+            case INVERSE_TABLE:
+                return InverseTable.read(in);
+            case BRUTE_INVERSE:
+                return BruteInverse.read(in);
+            case INVERSIBLIFY:
+                return Inversiblify.read(in);
+            case NON_DERIVABLE:
+                return Inversiblify.NonDerivable.read(in);
+            case INVERSE_OF:
+                return in.getFunction(InversibleFunction.class).inverse();
+            default:
+                throw new IllegalArgumentException("Unknown function type: " + tag);
+        }
+    }
+}
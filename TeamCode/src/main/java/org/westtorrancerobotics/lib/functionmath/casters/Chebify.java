@@ -0,0 +1,349 @@
+package org.westtorrancerobotics.lib.functionmath.casters;
+
+import java.util.Arrays;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Polynomial;
+import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+import org.westtorrancerobotics.lib.util.StringUtils;
+
+/**
+ * Approximates any function over an interval by a series of Chebyshev polynomials,
+ * making it an instance of {@code CalculusFunction}. The function is sampled at
+ * Chebyshev points, doubling their number until the coefficients of the series have
+ * fallen below the requested tolerance, and the series is then cut off at the
+ * shortest length that stays within it. Evaluation uses the Clenshaw recurrence,
+ * and the derivative and integral of the series are themselves exact Chebyshev
+ * series, so they cost no further samples of the original function.
+ * <p>
+ * This is a fast stand-in for a smooth but expensive function, such as the speed
+ * along a {@code ParametricFunction}. Functions with kinks or jumps converge slowly,
+ * and are better split, for example by a {@code Piecewise}. Outside the interval,
+ * the series is still a polynomial and can be evaluated, but it is not guaranteed
+ * to even remotely approximate the original function.
+ * 
+ * @since 1.2
+ */
+public class Chebify implements CalculusFunction {
+
+    private static final int MIN_DEGREE = 16;
+    private static final int MAX_DEGREE = 4096;
+
+    private final double MIN_INPUT;
+    private final double MAX_INPUT;
+    private final double[] coefficients;
+    private CalculusFunction cachedDerivative;
+    private CalculusFunction cachedIntegral;
+
+    /**
+     * Approximates the function {@code input} over the domain [0, {@code MAX_INPUT}].
+     * Overloads the constructor {@link #Chebify(Function, double, double, double)}
+     * with a minimum input of zero.
+     * 
+     * @param input the function to approximate
+     * @param TOLERANCE the largest error allowed in outputs within the domain
+     * @param MAX_INPUT the end of the domain that is not zero
+     * @since 1.2
+     */
+    public Chebify(Function input, double TOLERANCE, double MAX_INPUT) {
+        this(input, TOLERANCE, 0, MAX_INPUT);
+    }
+
+    /**
+     * Approximates the function {@code input} over the domain [{@code MIN_INPUT},
+     * {@code MAX_INPUT}], to within {@code TOLERANCE} as estimated from the size of
+     * the coefficients left out of the series. All sampling of {@code input} is
+     * done in the constructor. If the tolerance has still not been met by a
+     * series of degree 4096, that series is kept as it is.
+     * 
+     * @param input the function to approximate
+     * @param TOLERANCE the largest error allowed in outputs within the domain
+     * @param MIN_INPUT the lower end of the domain
+     * @param MAX_INPUT the higher end of the domain
+     * @throws IllegalArgumentException if {@code TOLERANCE} is not positive, the
+     *                                  domain is empty or indefinite, or the function
+     *                                  has an undefined output within it
+     * @since 1.2
+     */
+    public Chebify(Function input, double TOLERANCE, double MIN_INPUT, double MAX_INPUT) {
+        if (TOLERANCE <= 0) {
+            throw new IllegalArgumentException("Tolerance must be positive:" + TOLERANCE);
+        }
+        if (!Double.isFinite(MIN_INPUT) || !Double.isFinite(MAX_INPUT) || MIN_INPUT == MAX_INPUT) {
+            throw new IllegalArgumentException("Domain restrictions must be finite and distinct: ["
+                    + MIN_INPUT + ", " + MAX_INPUT + "]");
+        }
+        this.MIN_INPUT = MIN_INPUT;
+        this.MAX_INPUT = MAX_INPUT;
+        this.coefficients = fit(input, TOLERANCE);
+    }
+
+    private Chebify(double MIN_INPUT, double MAX_INPUT, double[] coefficients) {
+        this.MIN_INPUT = MIN_INPUT;
+        this.MAX_INPUT = MAX_INPUT;
+        this.coefficients = coefficients;
+    }
+
+    private double[] fit(Function input, double TOLERANCE) {
+        double mid = (MAX_INPUT + MIN_INPUT) / 2;
+        double half = (MAX_INPUT - MIN_INPUT) / 2;
+        int n = MIN_DEGREE;
+        // samples at the Chebyshev extrema cos(pi * j / n), j = 0..n; doubling n keeps
+        // every old point, so only the new odd-numbered points need sampling
+        double[] values = new double[n + 1];
+        double[] xs = new double[n + 1];
+        for (int j = 0; j <= n; j++) {
+            xs[j] = mid + half * Math.cos(Math.PI * j / n);
+        }
+        input.getAll(xs, values, 0, n + 1);
+        while (true) {
+            for (double value : values) {
+                if (!Double.isFinite(value)) {
+                    throw new IllegalArgumentException("Function is not finite on ["
+                            + MIN_INPUT + ", " + MAX_INPUT + "]");
+                }
+            }
+            double[] c = transform(values, n);
+            double tail = 0;
+            for (int k = n - n / 4; k <= n; k++) {
+                tail += Math.abs(c[k]);
+            }
+            if (tail <= TOLERANCE / 4 || n >= MAX_DEGREE) {
+                return chop(c, TOLERANCE / 2);
+            }
+            int m = 2 * n;
+            double[] newXs = new double[n];
+            for (int j = 0; j < n; j++) {
+                newXs[j] = mid + half * Math.cos(Math.PI * (2 * j + 1) / m);
+            }
+            double[] newValues = new double[n];
+            input.getAll(newXs, newValues, 0, n);
+            double[] merged = new double[m + 1];
+            for (int j = 0; j <= n; j++) {
+                merged[2 * j] = values[j];
+            }
+            for (int j = 0; j < n; j++) {
+                merged[2 * j + 1] = newValues[j];
+            }
+            values = merged;
+            n = m;
+        }
+    }
+
+    /**
+     * Gives the coefficients of the degree {@code n} Chebyshev series through
+     * {@code values}, sampled at the extrema of the Chebyshev polynomial of degree
+     * {@code n}.
+     */
+    private static double[] transform(double[] values, int n) {
+        double[] cos = new double[2 * n];
+        for (int i = 0; i < 2 * n; i++) {
+            cos[i] = Math.cos(Math.PI * i / n);
+        }
+        double[] c = new double[n + 1];
+        for (int k = 0; k <= n; k++) {
+            double sum = (values[0] + (k % 2 == 0 ? values[n] : -values[n])) / 2;
+            int index = 0;
+            for (int j = 1; j < n; j++) {
+                index += k;
+                if (index >= 2 * n) {
+                    index -= 2 * n;
+                }
+                sum += values[j] * cos[index];
+            }
+            c[k] = sum * 2 / n;
+        }
+        c[0] /= 2;
+        c[n] /= 2;
+        return c;
+    }
+
+    private static double[] chop(double[] c, double allowance) {
+        int length = c.length;
+        double dropped = 0;
+        while (length > 1 && dropped + Math.abs(c[length - 1]) <= allowance) {
+            dropped += Math.abs(c[length - 1]);
+            length--;
+        }
+        return Arrays.copyOf(c, length);
+    }
+
+    /**
+     * Returns the value of the Chebyshev series at the specified input.
+     * 
+     * @param x the input of the function
+     * @return the approximate output of the original function
+     * @since 1.2
+     */
+    @Override
+    public double get(double x) {
+        return clenshaw(coefficients, (2 * x - MIN_INPUT - MAX_INPUT) / (MAX_INPUT - MIN_INPUT));
+    }
+
+    private static double clenshaw(double[] c, double u) {
+        double twoU = 2 * u;
+        double b1 = 0;
+        double b2 = 0;
+        for (int k = c.length - 1; k > 0; k--) {
+            double b0 = c[k] + twoU * b1 - b2;
+            b2 = b1;
+            b1 = b0;
+        }
+        return c[0] + u * b1 - b2;
+    }
+
+    /**
+     * Bounds the series over a range of inputs within its domain by the sizes of its
+     * coefficients, since every Chebyshev polynomial is between -1 and 1 there. Outside
+     * the domain the series gives no useful bound.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        if (x.getMin() < MIN_INPUT || x.getMax() > MAX_INPUT) {
+            return Interval.ENTIRE;
+        }
+        double spread = 0;
+        for (int k = 1; k < coefficients.length; k++) {
+            spread += Math.abs(coefficients[k]);
+        }
+        double slack = 4 * coefficients.length * Math.ulp(1.0) * (spread + Math.abs(coefficients[0]));
+        return Interval.enclosing(coefficients[0] - spread - slack, coefficients[0] + spread + slack);
+    }
+
+    /**
+     * Gives the degree of the series approximating the original function.
+     * 
+     * @return the degree of the Chebyshev series
+     * @since 1.2
+     */
+    public int getDegree() {
+        return coefficients.length - 1;
+    }
+
+    /**
+     * Returns the exact derivative of the Chebyshev series, which is itself a
+     * Chebyshev series over the same domain, one degree lower.
+     * 
+     * @return the derivative of this series
+     * @since 1.2
+     */
+    @Override
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            int n = coefficients.length - 1;
+            double[] d = new double[Math.max(n, 1)];
+            double scale = 2 / (MAX_INPUT - MIN_INPUT);
+            double next = 0;
+            double nextNext = 0;
+            for (int k = n; k >= 1; k--) {
+                double dk = nextNext + 2 * k * coefficients[k];
+                d[k - 1] = dk;
+                nextNext = next;
+                next = dk;
+            }
+            d[0] /= 2;
+            for (int k = 0; k < d.length; k++) {
+                d[k] *= scale;
+            }
+            cachedDerivative = new Chebify(MIN_INPUT, MAX_INPUT, d);
+        }
+        return cachedDerivative;
+    }
+
+    /**
+     * Returns the exact integral of the Chebyshev series, which is itself a
+     * Chebyshev series over the same domain, one degree higher. The constant of
+     * integration is chosen so the integral is zero at x = 0.
+     * 
+     * @return the antiderivative of this series
+     * @since 1.2
+     */
+    @Override
+    public synchronized CalculusFunction integral() {
+        if (cachedIntegral == null) {
+            int n = coefficients.length - 1;
+            double[] c = Arrays.copyOf(coefficients, n + 3);
+            double[] in = new double[n + 2];
+            double scale = (MAX_INPUT - MIN_INPUT) / 2;
+            in[1] = (c[0] - c[2] / 2) * scale;
+            for (int k = 2; k <= n + 1; k++) {
+                in[k] = (c[k - 1] - c[k + 1]) / (2 * k) * scale;
+            }
+            in[0] = -clenshaw(in, (-MIN_INPUT - MAX_INPUT) / (MAX_INPUT - MIN_INPUT));
+            cachedIntegral = new Chebify(MIN_INPUT, MAX_INPUT, in);
+        }
+        return cachedIntegral;
+    }
+
+    void write(FunctionCodec.Encoder out) {
+        out.putDouble(MIN_INPUT);
+        out.putDouble(MAX_INPUT);
+        out.putDoubles(coefficients);
+    }
+
+    static Chebify read(FunctionCodec.Decoder in) {
+        double min = in.getDouble();
+        double max = in.getDouble();
+        double[] coefficients = in.getDoubles();
+        if (coefficients.length == 0) {
+            throw new IllegalArgumentException("Chebyshev series has no coefficients.");
+        }
+        return new Chebify(min, max, coefficients);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public String toString() {
+        String u = new Polynomial(2 / (MAX_INPUT - MIN_INPUT),
+                -(MAX_INPUT + MIN_INPUT) / (MAX_INPUT - MIN_INPUT)).toString();
+        StringBuilder str = new StringBuilder("\\left(");
+        str.append(StringUtils.formatDouble(coefficients[0]));
+        for (int k = 1; k < coefficients.length; k++) {
+            if (coefficients[k] != 0) {
+                str.append(" + ").append(StringUtils.formatDouble(coefficients[k]))
+                        .append("\\cos\\left(").append(k).append("\\arccos").append(u)
+                        .append("\\right)");
+            }
+        }
+        return str.append("\\right)").toString();
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return this == null;
+        }
+        if (!(obj.getClass().equals(getClass()))) {
+            return false;
+        }
+        Chebify chb = (Chebify) obj;
+        return chb.MIN_INPUT == MIN_INPUT && chb.MAX_INPUT == MAX_INPUT
+                && Arrays.equals(chb.coefficients, coefficients);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public int hashCode() {
+        int hash = 7;
+        hash = 61 * hash + (int) (Double.doubleToLongBits(this.MIN_INPUT) ^ (Double.doubleToLongBits(this.MIN_INPUT) >>> 32));
+        hash = 61 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
+        hash = 61 * hash + Arrays.hashCode(this.coefficients);
+        return hash;
+    }
+}
@@ -0,0 +1,426 @@
+package org.westtorrancerobotics.lib.functionmath.casters;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.Jets;
+import org.westtorrancerobotics.lib.functionmath.LatexWriter;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.IntegrableFunction;
+
+/**
+ * Estimates the integral of a function whose exact integral cannot be exactly evaluated,
+ * to within a requested tolerance. Like {@link BruteIntegral}, this function is
+ * an antiderivative with a value of zero at x = 0, but rather than fitting a cubic
+ * on every one of a fixed number of equal intervals, it uses the adaptive Gauss-Kronrod
+ * 7/15 rule: an interval is split in half whenever the 7-point Gauss and 15-point
+ * Kronrod estimates of its area disagree by more than its share of the tolerance.
+ * Smooth stretches of the input are covered by a few long intervals, and the input
+ * is only evaluated densely where it changes quickly.
+ * <p>
+ * Its initialization is lazy. On the first call, the area of each interval is added
+ * into a cumulative table, and the fifteen samples of each interval are kept as
+ * a polynomial whose integral gives the area from the start of the interval to
+ * any point within it. Subsequent calls are a table lookup plus the evaluation
+ * of that polynomial, and do not evaluate the input function.
+ * <p>
+ * {@code GaussKronrodIntegral} is a subclass of {@code DerivableFunction} because
+ * its derivative is just the original function supplied.
+ *
+ * @since 1.2
+ */
+public class GaussKronrodIntegral implements DerivableFunction {
+
+    private static final double[] KRONROD_NODES = {
+        0.991455371120812639206854697526329,
+        0.949107912342758524526189684047851,
+        0.864864423359769072789712788640926,
+        0.741531185599394439863864773280788,
+        0.586087235467691130294144845693013,
+        0.405845151377397166906606412076961,
+        0.207784955007898467600689403773245,
+        0
+    };
+    private static final double[] KRONROD_WEIGHTS = {
+        0.022935322010529224963732008058970,
+        0.063092092629978553290700663189204,
+        0.104790010322250183839876322541518,
+        0.140653259715525918745189590510238,
+        0.169004726639267902826583426598550,
+        0.190350578064785409913256402421014,
+        0.204432940075298892414161999234649,
+        0.209482141084727828012999174891714
+    };
+    // weights of the Gauss rule, whose nodes are the odd-indexed Kronrod nodes
+    private static final double[] GAUSS_WEIGHTS = {
+        0.129484966168869693270611432679082,
+        0.279705391489276667901467771423780,
+        0.381830050505118944950369775488975,
+        0.417959183673469387755102040816327
+    };
+    private static final int POINTS = 15;
+    private static final int MAX_DEPTH = 40;
+    private static final int MAX_INTERVALS = 1 << 14;
+    /**
+     * Maps the samples of an interval, at the nodes in increasing order on [-1, 1],
+     * to the coefficients (increasing degree) of the integral of their interpolating
+     * polynomial, taken from -1.
+     */
+    private static final double[][] SAMPLES_TO_INTEGRAL = samplesToIntegral();
+
+    private final DerivableFunction input;
+    private final double TOLERANCE;
+    private final double MAX_INPUT;
+    private double[] starts;
+    private double[] halfWidths;
+    private double[] integralToStart;
+    private double[][] localIntegrals;
+    private boolean tableDone;
+
+    /**
+     * Creates the integral of a function. Only assignment is done in the constructor,
+     * and the adaptive subdivision and table construction are performed on the first
+     * call of this function. The domain of the function is [0, {@code MAX_INPUT}],
+     * or [{@code MAX_INPUT}, 0] if {@code MAX_INPUT} is negative. The error of
+     * the output at any input in the domain is estimated to be no more than
+     * {@code TOLERANCE}. A value for input supplied outside the domain will not
+     * throw an exception, but is not guaranteed to even remotely approximate the
+     * integral of the function.
+     *
+     * @param input the function of which the antiderivative will be estimated
+     * @param TOLERANCE the largest error allowed in the area of the whole domain
+     * @param MAX_INPUT the largest x-value within the domain, by absolute value
+     * @see GaussKronrodIntegral
+     * @since 1.2
+     */
+    public GaussKronrodIntegral(DerivableFunction input, double TOLERANCE, double MAX_INPUT) {
+        this.input = input;
+        this.TOLERANCE = TOLERANCE;
+        this.MAX_INPUT = MAX_INPUT;
+        tableDone = false;
+    }
+
+    private synchronized void initTable() {
+        if (tableDone) {
+            return;
+        }
+        Intervals found = new Intervals();
+        double low = Math.min(0, MAX_INPUT);
+        double high = Math.max(0, MAX_INPUT);
+        if (high > low) {
+            subdivide(low, high, 0, found);
+        } else {
+            found.add(0, 0, new double[POINTS + 1]);
+        }
+        starts = Arrays.copyOf(found.starts, found.size);
+        halfWidths = Arrays.copyOf(found.halfWidths, found.size);
+        localIntegrals = Arrays.copyOf(found.localIntegrals, found.size);
+        integralToStart = new double[found.size];
+        double sum = 0;
+        for (int i = 0; i < found.size; i++) {
+            integralToStart[i] = sum;
+            sum += found.areas[i];
+        }
+        if (MAX_INPUT < 0) {
+            // the table was summed from MAX_INPUT, and must be zero at x = 0
+            for (int i = 0; i < found.size; i++) {
+                integralToStart[i] -= sum;
+            }
+        }
+        tableDone = true;
+    }
+
+    private void subdivide(double low, double high, int depth, Intervals found) {
+        double half = (high - low) / 2;
+        double center = low + half;
+        double[] xs = new double[POINTS];
+        for (int i = 0; i < 7; i++) {
+            xs[i] = center - half * KRONROD_NODES[i];
+            xs[POINTS - 1 - i] = center + half * KRONROD_NODES[i];
+        }
+        xs[7] = center;
+        double[] ys = new double[POINTS];
+        input.getAll(xs, ys, 0, POINTS);
+        double kronrod = KRONROD_WEIGHTS[7] * ys[7];
+        double gauss = GAUSS_WEIGHTS[3] * ys[7];
+        for (int i = 0; i < 7; i++) {
+            double pair = ys[i] + ys[POINTS - 1 - i];
+            kronrod += KRONROD_WEIGHTS[i] * pair;
+            if (i % 2 == 1) {
+                gauss += GAUSS_WEIGHTS[i / 2] * pair;
+            }
+        }
+        kronrod *= half;
+        gauss *= half;
+        double allowed = TOLERANCE * (high - low) / Math.abs(MAX_INPUT);
+        boolean accurate = Math.abs(kronrod - gauss) <= allowed || !Double.isFinite(kronrod);
+        if (accurate || depth >= MAX_DEPTH || found.size + 2 > MAX_INTERVALS || center == low || center == high) {
+            double[] local = new double[POINTS + 1];
+            for (int k = 0; k <= POINTS; k++) {
+                double c = 0;
+                for (int j = 0; j < POINTS; j++) {
+                    c += SAMPLES_TO_INTEGRAL[k][j] * ys[j];
+                }
+                local[k] = c;
+            }
+            found.add(low, half, local);
+        } else {
+            subdivide(low, center, depth + 1, found);
+            subdivide(center, high, depth + 1, found);
+        }
+    }
+
+    /**
+     * Returns the approximate value of the antiderivative of the function. The
+     * value at x = 0 will be 0. For values outside the specified domain of the function,
+     * it is uncertain what the output will be. The first time this function is run,
+     * any needed initialization will be run, and consequently, the function will
+     * be much faster subsequently.
+     *
+     * @param x the input of the integral
+     * @return the output of the integral at the specified input
+     * @see GaussKronrodIntegral
+     * @see #GaussKronrodIntegral(DerivableFunction, double, double)
+     * @since 1.2
+     */
+    @Override
+    public double get(double x) {
+        if (input instanceof IntegrableFunction) {
+            return ((IntegrableFunction) input).integral().get(x);
+        }
+        initTable();
+        int i = Arrays.binarySearch(starts, x);
+        if (i < 0) {
+            i = Math.max(-i - 2, 0);
+        }
+        double t = (x - starts[i]) / halfWidths[i] - 1;
+        if (!Double.isFinite(t)) {
+            t = -1;
+        }
+        double[] local = localIntegrals[i];
+        double n = 0;
+        for (int k = POINTS; k >= 0; k--) {
+            n = n * t + local[k];
+        }
+        return integralToStart[i] + halfWidths[i] * n;
+    }
+
+    /**
+     * Gives the value of the integral and, as its derivatives, the value and
+     * derivatives of the original function.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        double value = get(x);
+        if (order > 0) {
+            input.getWithDerivatives(x, order - 1, out);
+            System.arraycopy(out, 0, out, 1, order);
+        }
+        out[0] = value;
+    }
+
+    /**
+     *
+     * @since 1.2
+     */
+    @Override
+    public DerivableFunction derivative() {
+        return input;
+    }
+
+    private long objId = -1;
+
+    private synchronized long getObjId() {
+        if (objId == -1) {
+            objId = BruteIntegral.newObjId();
+        }
+        return objId;
+    }
+
+    // the table is completed before being written, so reading it never subdivides
+    void write(FunctionCodec.Encoder out) {
+        out.putFunction(input);
+        out.putDouble(TOLERANCE);
+        out.putDouble(MAX_INPUT);
+        boolean tabled = !(input instanceof IntegrableFunction);
+        out.putBoolean(tabled);
+        if (tabled) {
+            initTable();
+            out.putDoubles(starts);
+            out.putDoubles(halfWidths);
+            out.putDoubles(integralToStart);
+            for (double[] local : localIntegrals) {
+                out.putDoubles(local);
+            }
+        }
+    }
+
+    static GaussKronrodIntegral read(FunctionCodec.Decoder in) {
+        DerivableFunction input = in.getFunction(DerivableFunction.class);
+        double tolerance = in.getDouble();
+        GaussKronrodIntegral integral = new GaussKronrodIntegral(input, tolerance, in.getDouble());
+        if (in.getBoolean()) {
+            double[] starts = in.getDoubles();
+            double[] halfWidths = in.getDoubles();
+            double[] integralToStart = in.getDoubles();
+            if (starts.length == 0 || halfWidths.length != starts.length
+                    || integralToStart.length != starts.length) {
+                throw new IllegalArgumentException("Table of intervals is malformed.");
+            }
+            double[][] localIntegrals = new double[starts.length][];
+            for (int i = 0; i < starts.length; i++) {
+                localIntegrals[i] = in.getDoubles();
+                if (localIntegrals[i].length != POINTS + 1) {
+                    throw new IllegalArgumentException("Table of intervals is malformed.");
+                }
+            }
+            synchronized (integral) {
+                integral.starts = starts;
+                integral.halfWidths = halfWidths;
+                integral.integralToStart = integralToStart;
+                integral.localIntegrals = localIntegrals;
+                integral.tableDone = true;
+            }
+        }
+        return integral;
+    }
+
+    /**
+     *
+     * @since 1.2
+     */
+    @Override
+    public String toString() {
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        if (input instanceof IntegrableFunction) {
+            ((IntegrableFunction) input).integral().writeLatex(dest, variable);
+            return;
+        }
+        String myX = "x_{"+getObjId()+"}";
+        dest.append("\\int_0^{").append(variable).append("}");
+        input.writeLatex(dest, myX);
+        dest.append("d").append(myX);
+    }
+
+    /**
+     *
+     * @since 1.2
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return this == null;
+        }
+        if (!(obj.getClass().equals(getClass()))) {
+            return false;
+        }
+        GaussKronrodIntegral gki = (GaussKronrodIntegral) obj;
+        return gki.input.equals(input) && gki.TOLERANCE == TOLERANCE && gki.MAX_INPUT == MAX_INPUT;
+    }
+
+    /**
+     *
+     * @since 1.2
+     */
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 41 * hash + (int) (Double.doubleToLongBits(this.TOLERANCE) ^ (Double.doubleToLongBits(this.TOLERANCE) >>> 32));
+        hash = 41 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
+        hash = 41 * hash + Objects.hashCode(this.input);
+        return hash;
+    }
+
+    private static class Intervals {
+
+        private double[] starts = new double[16];
+        private double[] halfWidths = new double[16];
+        private double[] areas = new double[16];
+        private double[][] localIntegrals = new double[16][];
+        private int size = 0;
+
+        private void add(double start, double halfWidth, double[] localIntegral) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                halfWidths = Arrays.copyOf(halfWidths, size * 2);
+                areas = Arrays.copyOf(areas, size * 2);
+                localIntegrals = Arrays.copyOf(localIntegrals, size * 2);
+            }
+            starts[size] = start;
+            halfWidths[size] = halfWidth;
+            areas[size] = halfWidth * evaluate(localIntegral, 1);
+            localIntegrals[size] = localIntegral;
+            size++;
+        }
+
+        private static double evaluate(double[] coefficients, double t) {
+            double n = 0;
+            for (int k = coefficients.length - 1; k >= 0; k--) {
+                n = n * t + coefficients[k];
+            }
+            return n;
+        }
+    }
+
+    private static double[][] samplesToIntegral() {
+        double[] nodes = new double[POINTS];
+        for (int i = 0; i < 7; i++) {
+            nodes[i] = -KRONROD_NODES[i];
+            nodes[POINTS - 1 - i] = KRONROD_NODES[i];
+        }
+        nodes[7] = 0;
+        // Vandermonde matrix, row i holding the powers of node i, augmented with
+        // the identity so that elimination leaves its inverse
+        double[][] aug = new double[POINTS][2 * POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            double pow = 1;
+            for (int k = 0; k < POINTS; k++) {
+                aug[i][k] = pow;
+                pow *= nodes[i];
+            }
+            aug[i][POINTS + i] = 1;
+        }
+        for (int col = 0; col < POINTS; col++) {
+            int pivot = col;
+            for (int row = col + 1; row < POINTS; row++) {
+                if (Math.abs(aug[row][col]) > Math.abs(aug[pivot][col])) {
+                    pivot = row;
+                }
+            }
+            double[] swap = aug[col];
+            aug[col] = aug[pivot];
+            aug[pivot] = swap;
+            for (int row = 0; row < POINTS; row++) {
+                if (row != col) {
+                    double factor = aug[row][col] / aug[col][col];
+                    for (int k = col; k < 2 * POINTS; k++) {
+                        aug[row][k] -= factor * aug[col][k];
+                    }
+                }
+            }
+        }
+        // coefficient k of the interpolant is row k of the inverse; its integral
+        // from -1 shifts each coefficient up one degree and fixes the constant
+        double[][] result = new double[POINTS + 1][POINTS];
+        for (int k = 0; k < POINTS; k++) {
+            for (int j = 0; j < POINTS; j++) {
+                double coefficient = aug[k][POINTS + j] / aug[k][k];
+                result[k + 1][j] = coefficient / (k + 1);
+                result[0][j] -= coefficient / (k + 1) * ((k + 1) % 2 == 0 ? 1 : -1);
+            }
+        }
+        return result;
+    }
+}
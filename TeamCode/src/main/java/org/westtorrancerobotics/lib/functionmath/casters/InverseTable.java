@@ -0,0 +1,492 @@
+package org.westtorrancerobotics.lib.functionmath.casters;
+
+import java.util.Arrays;
+import java.util.Objects;
+import org.westtorrancerobotics.lib.functionmath.EvaluationPolicy;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+
+/**
+ * Estimates the inverse of a strictly increasing or decreasing function with a
+ * precomputed table. Where {@link BruteInverse} searches for each answer, an
+ * {@code InverseTable} samples the original function once, when it is created,
+ * and interpolates between the samples with a monotone cubic (using the slopes of
+ * Fritsch and Carlson, so the interpolant can never overshoot and is increasing or
+ * decreasing wherever the original is). Samples are added wherever the interpolant
+ * misses the original by more than the requested accuracy, so a call afterwards
+ * is only a binary search and a cubic, with no calls to the original function.
+ * <p>
+ * This is best suited to inverses that will be evaluated many times over a bounded
+ * domain, such as the parameter at a distance along a path.
+ * 
+ * @since 1.2
+ */
+public class InverseTable implements Function {
+
+    private static final int INITIAL_INTERVALS = 16;
+    private static final int MAX_SAMPLES = 1 << 16;
+
+    private final double ACCURACY;
+    private final double MIN_INPUT;
+    private final double MAX_INPUT;
+    private final Function original;
+    private final EvaluationPolicy policy;
+    private final double[] ys;
+    private final double[] xs;
+    private final double[] slopes;
+    private final double maxError;
+    private int lastInterval;
+
+    /**
+     * Creates the inverse of a function, sampling the function immediately. The
+     * estimated result returned may differ from the actual inverse by
+     * +/-{@code ACCURACY}; this is checked, with a factor of two to spare, at the
+     * middle of every interval between samples. The parameters {@code MIN_INPUT} and {@code MAX_INPUT} specify the
+     * domain over which the function will be sampled, and the function must be
+     * strictly increasing or strictly decreasing over all of it. Refinement stops
+     * early, with a coarser result, if more than 65536 samples would be needed, so
+     * the error actually reached should be checked with {@link #getMaxError()}
+     * where the accuracy must be guaranteed.
+     * 
+     * @param original the function of which this is the inverse
+     * @param ACCURACY the tolerance of error in the returned outputs
+     * @param MIN_INPUT the lower domain restriction on the input function
+     * @param MAX_INPUT the higher domain restriction on the input function
+     * @throws IllegalArgumentException if {@code ACCURACY} is not positive, either
+     *                                  domain restriction is indefinite, or the
+     *                                  function is not strictly monotone where sampled
+     * @since 1.2
+     */
+    public InverseTable(Function original, double ACCURACY, double MIN_INPUT, double MAX_INPUT) {
+        this(original, ACCURACY, MIN_INPUT, MAX_INPUT, EvaluationPolicy.THROW);
+    }
+
+    /**
+     * Creates the inverse of a function, sampling the function immediately, that
+     * answers outputs of the original beyond the table by the specified policy.
+     * Overloads {@link #InverseTable(Function, double, double, double)}. With
+     * {@link EvaluationPolicy#CLAMP}, such an output gives the nearest domain
+     * restriction, and with {@link EvaluationPolicy#EXTRAPOLATE}, it gives the
+     * continuation of the line tangent to the table at the nearest end.
+     * 
+     * @param original the function of which this is the inverse
+     * @param ACCURACY the tolerance of error in the returned outputs
+     * @param MIN_INPUT the lower domain restriction on the input function
+     * @param MAX_INPUT the higher domain restriction on the input function
+     * @param policy how to answer outputs of the original beyond the table
+     * @throws IllegalArgumentException if {@code ACCURACY} is not positive, either
+     *                                  domain restriction is indefinite, or the
+     *                                  function is not strictly monotone where sampled
+     * @since 1.2
+     */
+    public InverseTable(Function original, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+            EvaluationPolicy policy) {
+        if (ACCURACY <= 0) {
+            throw new IllegalArgumentException("Accuracy must be positive:" + ACCURACY);
+        }
+        if (!Double.isFinite(MIN_INPUT) || !Double.isFinite(MAX_INPUT) || MIN_INPUT == MAX_INPUT) {
+            throw new IllegalArgumentException("Domain restrictions must be finite and distinct: ["
+                    + MIN_INPUT + ", " + MAX_INPUT + "]");
+        }
+        this.ACCURACY = ACCURACY;
+        this.MIN_INPUT = MIN_INPUT;
+        this.MAX_INPUT = MAX_INPUT;
+        this.original = original;
+        this.policy = Objects.requireNonNull(policy);
+
+        int n = INITIAL_INTERVALS;
+        double[] sx = new double[n + 1];
+        double[] sy = new double[n + 1];
+        for (int i = 0; i <= n; i++) {
+            sx[i] = i == n ? MAX_INPUT : MIN_INPUT + (MAX_INPUT - MIN_INPUT) * i / n;
+        }
+        original.getAll(sx, sy, 0, n + 1);
+        double[] mx = new double[n];
+        double[] my = new double[n];
+        fillMidpoints(sx, mx, my, 0, n);
+        double[] sm = new double[n + 1];
+        if (!(sy[0] != sy[n])) {
+            throw new IllegalArgumentException("Function is not strictly monotone on ["
+                    + MIN_INPUT + ", " + MAX_INPUT + "]");
+        }
+        while (true) {
+            checkMonotone(sx, sy, mx, my, n);
+            fritschCarlson(sx, sy, sm, n);
+            int failing = 0;
+            boolean[] split = new boolean[n];
+            for (int i = 0; i < n; i++) {
+                double guess = hermite(sy, sx, sm, i, my[i]);
+                // an interval stops splitting once its ends or its outputs are as
+                // close as doubles can be, since halving it cannot tell them apart
+                if (!(Math.abs(guess - mx[i]) <= ACCURACY / 2) && sy[i] != sy[i + 1]
+                        && mx[i] != sx[i] && mx[i] != sx[i + 1]) {
+                    split[i] = true;
+                    failing++;
+                }
+            }
+            if (failing == 0 || n + failing > MAX_SAMPLES - 1) {
+                break;
+            }
+            // each failing interval is split at its midpoint, which has already been
+            // evaluated, so only the midpoints of the new halves need the original
+            int m = n + failing;
+            double[] nx = new double[m + 1];
+            double[] ny = new double[m + 1];
+            double[] nmx = new double[m];
+            double[] nmy = new double[m];
+            int j = 0;
+            for (int i = 0; i < n; i++) {
+                nx[j] = sx[i];
+                ny[j] = sy[i];
+                if (split[i]) {
+                    j++;
+                    nx[j] = mx[i];
+                    ny[j] = my[i];
+                    nmx[j - 1] = Double.NaN;
+                    nmx[j] = Double.NaN;
+                } else {
+                    nmx[j] = mx[i];
+                    nmy[j] = my[i];
+                }
+                j++;
+            }
+            nx[m] = sx[n];
+            ny[m] = sy[n];
+            for (int i = 0; i < m; i++) {
+                if (Double.isNaN(nmx[i])) {
+                    int end = i;
+                    while (end < m && Double.isNaN(nmx[end])) {
+                        end++;
+                    }
+                    fillMidpoints(nx, nmx, nmy, i, end);
+                    i = end;
+                }
+            }
+            sx = nx;
+            sy = ny;
+            mx = nmx;
+            my = nmy;
+            sm = new double[m + 1];
+            n = m;
+        }
+        int kept = collapseFlat(sx, sy, n);
+        if (kept < n) {
+            sx = Arrays.copyOf(sx, kept + 1);
+            sy = Arrays.copyOf(sy, kept + 1);
+            sm = new double[kept + 1];
+            fritschCarlson(sx, sy, sm, kept);
+        }
+        if (sy[0] > sy[kept]) {
+            reverse(sx);
+            reverse(sy);
+            reverse(sm);
+        }
+        xs = sx;
+        ys = sy;
+        slopes = sm;
+        lastInterval = 0;
+        maxError = measureError();
+    }
+
+    // an inverse whose table was written by writeTable, so the original is never sampled
+    InverseTable(Function original, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+            EvaluationPolicy policy, FunctionCodec.Decoder table) {
+        this.ACCURACY = ACCURACY;
+        this.MIN_INPUT = MIN_INPUT;
+        this.MAX_INPUT = MAX_INPUT;
+        this.original = original;
+        this.policy = Objects.requireNonNull(policy);
+        xs = table.getDoubles();
+        ys = table.getDoubles();
+        slopes = table.getDoubles();
+        maxError = table.getDouble();
+        if (xs.length < 2 || ys.length != xs.length || slopes.length != xs.length) {
+            throw new IllegalArgumentException("Table of samples is malformed.");
+        }
+        lastInterval = 0;
+    }
+
+    // the largest error of the table at the middle of every interval, measured
+    // against the original once the table is final
+    private double measureError() {
+        int n = xs.length - 1;
+        double[] mids = new double[n];
+        double[] exact = new double[n];
+        for (int i = 0; i < n; i++) {
+            mids[i] = xs[i] + (xs[i + 1] - xs[i]) / 2;
+        }
+        original.getAll(mids, exact, 0, n);
+        double error = 0;
+        for (int i = 0; i < n; i++) {
+            double diff = Math.abs(hermite(ys, xs, slopes, i, exact[i]) - mids[i]);
+            if (diff > error) {
+                error = diff;
+            }
+        }
+        return error;
+    }
+
+    private void fillMidpoints(double[] sx, double[] mx, double[] my, int from, int to) {
+        for (int i = from; i < to; i++) {
+            mx[i] = sx[i] + (sx[i + 1] - sx[i]) / 2;
+        }
+        original.getAll(mx, my, from, to);
+    }
+
+    // neighbouring outputs may be equal where the function is flatter than doubles
+    // can resolve, so only outputs out of order are rejected
+    private static void checkMonotone(double[] sx, double[] sy, double[] mx, double[] my, int n) {
+        boolean increasing = sy[n] > sy[0];
+        for (int i = 0; i < n; i++) {
+            if (!(increasing ? sy[i] <= my[i] && my[i] <= sy[i + 1]
+                    : sy[i] >= my[i] && my[i] >= sy[i + 1])) {
+                throw new IllegalArgumentException("Function is not strictly monotone on ["
+                        + sx[i] + ", " + sx[i + 1] + "]");
+            }
+        }
+    }
+
+    // drops all but the first sample of each run with equal outputs, which the
+    // table could not search, returning the index of the last sample kept
+    private static int collapseFlat(double[] sx, double[] sy, int n) {
+        int j = 0;
+        for (int i = 1; i <= n; i++) {
+            if (sy[i] != sy[j]) {
+                j++;
+                sx[j] = sx[i];
+                sy[j] = sy[i];
+            }
+        }
+        return j;
+    }
+
+    /**
+     * Fills {@code m} with slopes dx/dy at each sample that keep the Hermite cubic
+     * through the samples monotone, after Fritsch and Carlson. Intervals with equal
+     * outputs at both ends are skipped, so a sample beside one takes the secant of
+     * its other side, as the ends of the table do.
+     */
+    private static void fritschCarlson(double[] sx, double[] sy, double[] m, int n) {
+        double prevSecant = secant(sx, sy, 0);
+        m[0] = Double.isNaN(prevSecant) ? 0 : prevSecant;
+        for (int i = 1; i < n; i++) {
+            double secant = secant(sx, sy, i);
+            if (Double.isNaN(prevSecant)) {
+                m[i] = Double.isNaN(secant) ? 0 : secant;
+            } else {
+                m[i] = Double.isNaN(secant) ? prevSecant : (prevSecant + secant) / 2;
+            }
+            prevSecant = secant;
+        }
+        m[n] = Double.isNaN(prevSecant) ? 0 : prevSecant;
+        for (int i = 0; i < n; i++) {
+            double secant = secant(sx, sy, i);
+            if (Double.isNaN(secant)) {
+                continue;
+            }
+            double a = m[i] / secant;
+            double b = m[i + 1] / secant;
+            double r = a * a + b * b;
+            if (r > 9) {
+                double tau = 3 / Math.sqrt(r);
+                m[i] = tau * a * secant;
+                m[i + 1] = tau * b * secant;
+            }
+        }
+    }
+
+    // dx/dy over an interval, or NaN if its outputs are equal
+    private static double secant(double[] sx, double[] sy, int i) {
+        return sy[i] == sy[i + 1] ? Double.NaN : (sx[i + 1] - sx[i]) / (sy[i + 1] - sy[i]);
+    }
+
+    private static double hermite(double[] ys, double[] xs, double[] m, int i, double y) {
+        double h = ys[i + 1] - ys[i];
+        double t = (y - ys[i]) / h;
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * xs[i] + (t3 - 2 * t2 + t) * h * m[i]
+                + (-2 * t3 + 3 * t2) * xs[i + 1] + (t3 - t2) * h * m[i + 1];
+    }
+
+    private static void reverse(double[] arr) {
+        for (int i = 0, j = arr.length - 1; i < j; i++, j--) {
+            double temp = arr[i];
+            arr[i] = arr[j];
+            arr[j] = temp;
+        }
+    }
+
+    /**
+     * Returns the value of the inverse of the function at the specified y value.
+     * 
+     * @param y the output of the original function
+     * @return the input of the original function to generate {@code y}
+     * @throws IndexOutOfBoundsException if the outputs of the original function at
+     *                                   the domain restrictions do not contain the
+     *                                   supplied y value between them, inclusive,
+     *                                   and the policy of this inverse is to throw
+     * @since 1.2
+     */
+    @Override
+    public double get(double y) {
+        int n = ys.length - 1;
+        if (y < ys[0]) {
+            return nearEnd(0, y);
+        }
+        if (y > ys[n]) {
+            return nearEnd(n, y);
+        }
+        return hermite(ys, xs, slopes, interval(y), y);
+    }
+
+    /**
+     * Answers for an input past the end of the table. One just past it, as rounding
+     * in the original can put the ends of its range, is clamped to the end sample
+     * when that is within the accuracy of the table; any other is answered by the
+     * policy of this inverse.
+     */
+    private double nearEnd(int i, double y) {
+        double step = slopes[i] * (y - ys[i]);
+        if (Math.abs(step) <= ACCURACY) {
+            return xs[i];
+        }
+        switch (policy) {
+            case CLAMP:
+                return xs[i];
+            case NAN:
+                return Double.NaN;
+            case EXTRAPOLATE:
+                return xs[i] + step;
+            default:
+                throw new IndexOutOfBoundsException(ys[0] + ", " + y + ", " + ys[ys.length - 1]);
+        }
+    }
+
+    private int interval(double y) {
+        int n = ys.length - 1;
+        int hint = lastInterval;
+        if (ys[hint] <= y && y <= ys[hint + 1]) {
+            return hint;
+        }
+        if (hint + 2 <= n && ys[hint + 1] <= y && y <= ys[hint + 2]) {
+            lastInterval = hint + 1;
+            return hint + 1;
+        }
+        int i = Arrays.binarySearch(ys, y);
+        if (i < 0) {
+            i = -i - 2;
+        }
+        if (i >= n) {
+            i = n - 1;
+        }
+        lastInterval = i;
+        return i;
+    }
+
+    /**
+     * Gives the number of samples of the original function kept in the table.
+     * 
+     * @return the number of samples in the table
+     * @since 1.2
+     */
+    public int getSampleCount() {
+        return ys.length;
+    }
+
+    /**
+     * Gives the largest difference between the table and the inverse at the
+     * midpoints between samples, which estimates the largest error of this function
+     * between the outputs of the original at its domain restrictions. This is no
+     * more than half of {@code ACCURACY} unless refinement stopped at the limit
+     * on samples, or where the original is too flat for its outputs to separate.
+     * 
+     * @return the largest error measured
+     * @since 1.2
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    /**
+     * Gives the way this inverse answers outputs of the original beyond the table.
+     * 
+     * @return the policy of this inverse
+     * @since 1.2
+     */
+    public EvaluationPolicy getPolicy() {
+        return policy;
+    }
+
+    void write(FunctionCodec.Encoder out) {
+        out.putFunction(original);
+        out.putDouble(ACCURACY);
+        out.putDouble(MIN_INPUT);
+        out.putDouble(MAX_INPUT);
+        out.putEnum(policy);
+        writeTable(out);
+    }
+
+    void writeTable(FunctionCodec.Encoder out) {
+        out.putDoubles(xs);
+        out.putDoubles(ys);
+        out.putDoubles(slopes);
+        out.putDouble(maxError);
+    }
+
+    static InverseTable read(FunctionCodec.Decoder in) {
+        Function original = in.getFunction();
+        double accuracy = in.getDouble();
+        double min = in.getDouble();
+        double max = in.getDouble();
+        EvaluationPolicy policy = in.getEnum(EvaluationPolicy.class);
+        return new InverseTable(original, accuracy, min, max, policy, in);
+    }
+
+    /**
+     * Gives a string representation of the function through the original. The String
+     * will be of the form {@code "Inverse(<function>)"}, where {@code <function>}
+     * is replaced by the string representation of the original function.
+     * <p>
+     * THIS IMPLEMENTATION OF {@link Function#toString()} DOES NOT RETURN LaTeX CODE!
+     * 
+     * @return a string representation of the function
+     * @since 1.2
+     */
+    @Override
+    public String toString() {
+        return "Inverse(" + original.toString() + ")";
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return this == null;
+        }
+        if (!(obj.getClass().equals(getClass()))) {
+            return false;
+        }
+        InverseTable inv = (InverseTable) obj;
+        return inv.original.equals(original) && inv.ACCURACY == ACCURACY &&
+                inv.MIN_INPUT == MIN_INPUT && inv.MAX_INPUT == MAX_INPUT && inv.policy == policy;
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public int hashCode() {
+        int hash = 5;
+        hash = 59 * hash + (int) (Double.doubleToLongBits(this.ACCURACY) ^ (Double.doubleToLongBits(this.ACCURACY) >>> 32));
+        hash = 59 * hash + (int) (Double.doubleToLongBits(this.MIN_INPUT) ^ (Double.doubleToLongBits(this.MIN_INPUT) >>> 32));
+        hash = 59 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
+        hash = 59 * hash + Objects.hashCode(this.original);
+        hash = 59 * hash + Objects.hashCode(this.policy);
+        return hash;
+    }
+}
@@ -1,8 +1,13 @@
 package org.westtorrancerobotics.lib.functionmath.casters;
 
+import java.io.IOException;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.Composition;
 import org.westtorrancerobotics.lib.functionmath.Constant;
+import org.westtorrancerobotics.lib.functionmath.EvaluationPolicy;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.Quotient;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
@@ -12,7 +17,7 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
 /**
  * Makes a function that is an instance of {@code DerivableFunction} into an instance
  * of {@code DerivableInversibleFunction}. Uses the class {@link BruteInverse} to gain its
- * additional functionality.
+ * additional functionality, or {@link InverseTable} if that method is requested.
  * 
  * @since 1.0
  */
@@ -22,6 +27,30 @@ public class Inversiblify implements DerivableInversibleFunction {
     private final double ACCURACY;
     private final double MIN_INPUT;
     private final double MAX_INPUT;
+    private final Method method;
+    private final EvaluationPolicy policy;
+    private DerivableInversibleFunction cachedInverse;
+
+    /**
+     * The ways the inverse of a boxed function can be estimated.
+     * 
+     * @since 1.2
+     */
+    public enum Method {
+        /**
+         * Searches for every output of the inverse with a {@link BruteInverse}.
+         * 
+         * @since 1.2
+         */
+        SEARCH,
+        /**
+         * Samples the function once and interpolates with an {@link InverseTable}.
+         * The function must be strictly monotone over the whole domain given.
+         * 
+         * @since 1.2
+         */
+        TABLE
+    }
 
     /**
      * Boxes the function {@code input}, leaving it with the same output and input
@@ -60,10 +89,59 @@ public class Inversiblify implements DerivableInversibleFunction {
      * @since 1.0
      */
     public Inversiblify(DerivableFunction input, double ACCURACY, double MIN_INPUT, double MAX_INPUT) {
+        this(input, ACCURACY, MIN_INPUT, MAX_INPUT, Method.SEARCH);
+    }
+
+    /**
+     * Boxes the function {@code input}, leaving it with the same output and input
+     * characteristics. The function gains the ability to be used as an
+     * {@code InversibleFunction}, through estimation by the specified method.
+     * 
+     * @param input the function to box
+     * @param ACCURACY the tolerance of error in the returned outputs to be used
+     *                 when and if this function is inversed
+     * @param MIN_INPUT the minimum input to be used when and if this function is
+     *                  inversed
+     * @param MAX_INPUT the maximum input to be used when and if this function is
+     *                  inversed
+     * @param method how the inverse is estimated
+     * @see BruteInverse#BruteInverse(Function, double, double, double)
+     * @see InverseTable#InverseTable(Function, double, double, double)
+     * @since 1.2
+     */
+    public Inversiblify(DerivableFunction input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+            Method method) {
+        this(input, ACCURACY, MIN_INPUT, MAX_INPUT, method, EvaluationPolicy.THROW);
+    }
+
+    /**
+     * Boxes the function {@code input}, leaving it with the same output and input
+     * characteristics. The function gains the ability to be used as an
+     * {@code InversibleFunction}, through estimation by the specified method, with
+     * an inverse that answers outputs beyond the domain restrictions by the specified
+     * policy instead of throwing an exception.
+     * 
+     * @param input the function to box
+     * @param ACCURACY the tolerance of error in the returned outputs to be used
+     *                 when and if this function is inversed
+     * @param MIN_INPUT the minimum input to be used when and if this function is
+     *                  inversed
+     * @param MAX_INPUT the maximum input to be used when and if this function is
+     *                  inversed
+     * @param method how the inverse is estimated
+     * @param policy how the inverse answers outputs beyond the domain restrictions
+     * @see BruteInverse#BruteInverse(Function, double, double, double, EvaluationPolicy)
+     * @see InverseTable#InverseTable(Function, double, double, double, EvaluationPolicy)
+     * @since 1.2
+     */
+    public Inversiblify(DerivableFunction input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+            Method method, EvaluationPolicy policy) {
         this.input = input;
         this.ACCURACY = ACCURACY;
         this.MIN_INPUT = MIN_INPUT;
         this.MAX_INPUT = MAX_INPUT;
+        this.method = Objects.requireNonNull(method);
+        this.policy = Objects.requireNonNull(policy);
     }
 
     /**
@@ -78,13 +156,38 @@ public class Inversiblify implements DerivableInversibleFunction {
         return input.get(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        input.getWithDerivatives(x, order, out);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return input.evaluate(x);
+    }
+
     /**
      * 
      * @since 1.0
      */
     @Override
-    public DerivableInversibleFunction inverse() {
-        return new MyInverse(input, ACCURACY, MIN_INPUT, MAX_INPUT);
+    public synchronized DerivableInversibleFunction inverse() {
+        if (cachedInverse == null) {
+            if (method == Method.TABLE) {
+                cachedInverse = new MyTableInverse(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
+            } else {
+                cachedInverse = new MyInverse(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
+            }
+        }
+        return cachedInverse;
     }
 
     /**
@@ -96,6 +199,33 @@ public class Inversiblify implements DerivableInversibleFunction {
         return input.derivative();
     }
 
+    // an inverse table already built is written with this function, but none is built to be written
+    synchronized void write(FunctionCodec.Encoder out) {
+        out.putFunction(input);
+        out.putDouble(ACCURACY);
+        out.putDouble(MIN_INPUT);
+        out.putDouble(MAX_INPUT);
+        out.putEnum(method);
+        out.putEnum(policy);
+        out.putBoolean(cachedInverse instanceof MyTableInverse);
+        if (cachedInverse instanceof MyTableInverse) {
+            ((MyTableInverse) cachedInverse).writeTable(out);
+        }
+    }
+
+    static Inversiblify read(FunctionCodec.Decoder in) {
+        DerivableFunction input = in.getFunction(DerivableFunction.class);
+        double accuracy = in.getDouble();
+        double min = in.getDouble();
+        double max = in.getDouble();
+        Method method = in.getEnum(Method.class);
+        Inversiblify inv = new Inversiblify(input, accuracy, min, max, method, in.getEnum(EvaluationPolicy.class));
+        if (in.getBoolean()) {
+            inv.cachedInverse = inv.new MyTableInverse(input, accuracy, min, max, inv.policy, in);
+        }
+        return inv;
+    }
+
     /**
      * 
      * @see BruteInverse#toString()
@@ -105,6 +235,15 @@ public class Inversiblify implements DerivableInversibleFunction {
     public String toString() {
         return input.toString();
     }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        input.writeLatex(dest, variable);
+    }
     
     /**
      * 
@@ -119,7 +258,8 @@ public class Inversiblify implements DerivableInversibleFunction {
             return false;
         }
         Inversiblify inv = (Inversiblify) obj;
-        return inv.input.equals(input) && inv.ACCURACY == ACCURACY && inv.MIN_INPUT == MIN_INPUT && inv.MAX_INPUT == MAX_INPUT;
+        return inv.input.equals(input) && inv.ACCURACY == ACCURACY && inv.MIN_INPUT == MIN_INPUT
+                && inv.MAX_INPUT == MAX_INPUT && inv.method == method && inv.policy == policy;
     }
 
     /**
@@ -133,24 +273,86 @@ public class Inversiblify implements DerivableInversibleFunction {
         hash = 89 * hash + (int) (Double.doubleToLongBits(this.ACCURACY) ^ (Double.doubleToLongBits(this.ACCURACY) >>> 32));
         hash = 89 * hash + (int) (Double.doubleToLongBits(this.MIN_INPUT) ^ (Double.doubleToLongBits(this.MIN_INPUT) >>> 32));
         hash = 89 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
+        hash = 89 * hash + Objects.hashCode(this.method);
+        hash = 89 * hash + Objects.hashCode(this.policy);
         return hash;
     }
     
+    /**
+     * Fills {@code out} with the jet of the inverse at the output {@code x} of the
+     * inverse, from the jet of the original function at {@code x}.
+     */
+    private void inverseJet(double x, int order, double[] out) {
+        input.getWithDerivatives(x, order, out);
+        double g1 = order >= 1 ? 1 / out[1] : 0;
+        double f2 = order >= 2 ? out[2] : 0;
+        double f3 = order >= 3 ? out[3] : 0;
+        double g2 = -f2 * g1 * g1 * g1;
+        double g3 = (3 * f2 * f2 * g1 - f3) * g1 * g1 * g1 * g1;
+        Jets.fill(out, order, x, g1, g2, g3);
+    }
+
     private class MyInverse extends BruteInverse implements DerivableInversibleFunction {
         
-        private MyInverse(DerivableFunction input, double ACCURACY, double MIN_INPUT, double MAX_INPUT) {
-            super(input, ACCURACY, MIN_INPUT, MAX_INPUT);
+        private DerivableFunction cachedDerivative;
+        
+        private MyInverse(DerivableFunction input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                EvaluationPolicy policy) {
+            super(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
         }
 
         @Override
         public DerivableInversibleFunction inverse() {
             return Inversiblify.this;
         }
+
+        @Override
+        public void getWithDerivatives(double y, int order, double[] out) {
+            inverseJet(get(y), order, out);
+        }
         
         @Override
-        public DerivableFunction derivative() {
-            return new Quotient(new Constant(1),
-                    new Composition.Derivable(this, Inversiblify.this.derivative()));
+        public synchronized DerivableFunction derivative() {
+            if (cachedDerivative == null) {
+                cachedDerivative = new Quotient(new Constant(1),
+                        new Composition.Derivable(this, Inversiblify.this.derivative()));
+            }
+            return cachedDerivative;
+        }
+        
+    }
+
+    private class MyTableInverse extends InverseTable implements DerivableInversibleFunction {
+        
+        private DerivableFunction cachedDerivative;
+        
+        private MyTableInverse(DerivableFunction input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                EvaluationPolicy policy) {
+            super(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
+        }
+
+        private MyTableInverse(DerivableFunction input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                EvaluationPolicy policy, FunctionCodec.Decoder table) {
+            super(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy, table);
+        }
+
+        @Override
+        public DerivableInversibleFunction inverse() {
+            return Inversiblify.this;
+        }
+
+        @Override
+        public void getWithDerivatives(double y, int order, double[] out) {
+            inverseJet(get(y), order, out);
+        }
+        
+        @Override
+        public synchronized DerivableFunction derivative() {
+            if (cachedDerivative == null) {
+                cachedDerivative = new Quotient(new Constant(1),
+                        new Composition.Derivable(this, Inversiblify.this.derivative()));
+            }
+            return cachedDerivative;
         }
         
     }
@@ -168,6 +370,9 @@ public class Inversiblify implements DerivableInversibleFunction {
         private final double ACCURACY;
         private final double MIN_INPUT;
         private final double MAX_INPUT;
+        private final Method method;
+        private final EvaluationPolicy policy;
+        private InversibleFunction cachedInverse;
 
         /**
          * Boxes the function {@code input}, leaving it with the same output and input
@@ -186,10 +391,7 @@ public class Inversiblify implements DerivableInversibleFunction {
          * @since 1.0
          */
         public NonDerivable(Function input, double ACCURACY, double MAX_INPUT) {
-            this.input = input;
-            this.ACCURACY = ACCURACY;
-            this.MIN_INPUT = 0;
-            this.MAX_INPUT = MAX_INPUT;
+            this(input, ACCURACY, 0, MAX_INPUT);
         }
 
         /**
@@ -209,10 +411,59 @@ public class Inversiblify implements DerivableInversibleFunction {
          * @since 1.0
          */
         public NonDerivable(Function input, double ACCURACY, double MIN_INPUT, double MAX_INPUT) {
+            this(input, ACCURACY, MIN_INPUT, MAX_INPUT, Method.SEARCH);
+        }
+
+        /**
+         * Boxes the function {@code input}, leaving it with the same output and input
+         * characteristics. The function gains the ability to be used as an
+         * {@code InversibleFunction}, through estimation by the specified method.
+         * 
+         * @param input the function to box
+         * @param ACCURACY the tolerance of error in the returned outputs to be used
+         *                 when and if this function is inversed
+         * @param MIN_INPUT the minimum input to be used when and if this function is
+         *                  inversed
+         * @param MAX_INPUT the maximum input to be used when and if this function is
+         *                  inversed
+         * @param method how the inverse is estimated
+         * @see BruteInverse#BruteInverse(Function, double, double, double)
+         * @see InverseTable#InverseTable(Function, double, double, double)
+         * @since 1.2
+         */
+        public NonDerivable(Function input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                Method method) {
+            this(input, ACCURACY, MIN_INPUT, MAX_INPUT, method, EvaluationPolicy.THROW);
+        }
+
+        /**
+         * Boxes the function {@code input}, leaving it with the same output and input
+         * characteristics. The function gains the ability to be used as an
+         * {@code InversibleFunction}, through estimation by the specified method, with
+         * an inverse that answers outputs beyond the domain restrictions by the specified
+         * policy instead of throwing an exception.
+         * 
+         * @param input the function to box
+         * @param ACCURACY the tolerance of error in the returned outputs to be used
+         *                 when and if this function is inversed
+         * @param MIN_INPUT the minimum input to be used when and if this function is
+         *                  inversed
+         * @param MAX_INPUT the maximum input to be used when and if this function is
+         *                  inversed
+         * @param method how the inverse is estimated
+         * @param policy how the inverse answers outputs beyond the domain restrictions
+         * @see BruteInverse#BruteInverse(Function, double, double, double, EvaluationPolicy)
+         * @see InverseTable#InverseTable(Function, double, double, double, EvaluationPolicy)
+         * @since 1.2
+         */
+        public NonDerivable(Function input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                Method method, EvaluationPolicy policy) {
             this.input = input;
             this.ACCURACY = ACCURACY;
             this.MIN_INPUT = MIN_INPUT;
             this.MAX_INPUT = MAX_INPUT;
+            this.method = Objects.requireNonNull(method);
+            this.policy = Objects.requireNonNull(policy);
         }
 
         /**
@@ -220,8 +471,15 @@ public class Inversiblify implements DerivableInversibleFunction {
          * @since 1.0
          */
         @Override
-        public InversibleFunction inverse() {
-            return new MyInverse(input, ACCURACY, MIN_INPUT, MAX_INPUT);
+        public synchronized InversibleFunction inverse() {
+            if (cachedInverse == null) {
+                if (method == Method.TABLE) {
+                    cachedInverse = new MyTableInverse(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
+                } else {
+                    cachedInverse = new MyInverse(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
+                }
+            }
+            return cachedInverse;
         }
 
         /**
@@ -236,6 +494,51 @@ public class Inversiblify implements DerivableInversibleFunction {
             return input.get(x);
         }
 
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void getWithDerivatives(double x, int order, double[] out) {
+            input.getWithDerivatives(x, order, out);
+        }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public Interval evaluate(Interval x) {
+            return input.evaluate(x);
+        }
+
+        // an inverse table already built is written with this function, but none is built to be written
+        synchronized void write(FunctionCodec.Encoder out) {
+            out.putFunction(input);
+            out.putDouble(ACCURACY);
+            out.putDouble(MIN_INPUT);
+            out.putDouble(MAX_INPUT);
+            out.putEnum(method);
+            out.putEnum(policy);
+            out.putBoolean(cachedInverse instanceof MyTableInverse);
+            if (cachedInverse instanceof MyTableInverse) {
+                ((MyTableInverse) cachedInverse).writeTable(out);
+            }
+        }
+
+        static NonDerivable read(FunctionCodec.Decoder in) {
+            Function input = in.getFunction();
+            double accuracy = in.getDouble();
+            double min = in.getDouble();
+            double max = in.getDouble();
+            Method method = in.getEnum(Method.class);
+            NonDerivable inv = new NonDerivable(input, accuracy, min, max, method, in.getEnum(EvaluationPolicy.class));
+            if (in.getBoolean()) {
+                inv.cachedInverse = inv.new MyTableInverse(input, accuracy, min, max, inv.policy, in);
+            }
+            return inv;
+        }
+
         /**
          * 
          * @see BruteInverse#toString()
@@ -245,6 +548,15 @@ public class Inversiblify implements DerivableInversibleFunction {
         public String toString() {
             return input.toString();
         }
+
+        /**
+         * 
+         * @since 1.2
+         */
+        @Override
+        public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+            input.writeLatex(dest, variable);
+        }
     
         /**
          * 
@@ -259,7 +571,8 @@ public class Inversiblify implements DerivableInversibleFunction {
                 return false;
             }
             NonDerivable ndv = (NonDerivable) obj;
-            return ndv.input.equals(input) && ndv.ACCURACY == ACCURACY && ndv.MAX_INPUT == MIN_INPUT && ndv.MAX_INPUT == MAX_INPUT;
+            return ndv.input.equals(input) && ndv.ACCURACY == ACCURACY && ndv.MIN_INPUT == MIN_INPUT
+                    && ndv.MAX_INPUT == MAX_INPUT && ndv.method == method && ndv.policy == policy;
         }
 
         /**
@@ -273,13 +586,34 @@ public class Inversiblify implements DerivableInversibleFunction {
             hash = 43 * hash + (int) (Double.doubleToLongBits(this.ACCURACY) ^ (Double.doubleToLongBits(this.ACCURACY) >>> 32));
             hash = 43 * hash + (int) (Double.doubleToLongBits(this.MIN_INPUT) ^ (Double.doubleToLongBits(this.MIN_INPUT) >>> 32));
             hash = 43 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
+            hash = 43 * hash + Objects.hashCode(this.method);
+            hash = 43 * hash + Objects.hashCode(this.policy);
             return hash;
         }
         
         private class MyInverse extends BruteInverse implements InversibleFunction {
         
-            public MyInverse(Function input, double ACCURACY, double MIN_INPUT, double MAX_INPUT) {
-                super(input, ACCURACY, MIN_INPUT, MAX_INPUT);
+            public MyInverse(Function input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                    EvaluationPolicy policy) {
+                super(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
+            }
+
+            @Override
+            public InversibleFunction inverse() {
+                return NonDerivable.this;
+            }
+        }
+        
+        private class MyTableInverse extends InverseTable implements InversibleFunction {
+        
+            private MyTableInverse(Function input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                    EvaluationPolicy policy) {
+                super(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy);
+            }
+
+            private MyTableInverse(Function input, double ACCURACY, double MIN_INPUT, double MAX_INPUT,
+                    EvaluationPolicy policy, FunctionCodec.Decoder table) {
+                super(input, ACCURACY, MIN_INPUT, MAX_INPUT, policy, table);
             }
 
             @Override
@@ -0,0 +1,570 @@
+package org.westtorrancerobotics.lib.functionmath.casters;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Objects;
+import org.westtorrancerobotics.lib.functionmath.EvaluationPolicy;
+import org.westtorrancerobotics.lib.functionmath.FunctionCodec;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.LatexWriter;
+import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
+import org.westtorrancerobotics.lib.functionmath.interfaces.Function;
+
+/**
+ * Tabulates any function over an interval, making it an instance of
+ * {@code DerivableFunction}. The function is sampled once, when this is created,
+ * on a grid of evenly spaced or Chebyshev points, and every later output is found
+ * by interpolating between the two samples around the input. Finding those samples
+ * takes a constant amount of work on either grid, so a call costs the same no matter
+ * how expensive the original function was, or how many samples were taken.
+ * <p>
+ * Cubic interpolation uses the slope of the original at each sample, which is its
+ * exact derivative when the original is a {@code DerivableFunction} defined there,
+ * and otherwise is estimated from the neighboring samples. The derivative of this
+ * function is another {@code SampledFunction} on the same grid, whose samples are
+ * those slopes. The largest error of the interpolation, as measured at the midpoint
+ * between every pair of samples, is kept and can be checked with {@link #getMaxError()}.
+ * <p>
+ * This is a fast stand-in for a continuous but expensive function evaluated many
+ * times within a bounded domain, such as the offsets of the sides of a robot from
+ * the path of its center.
+ * 
+ * @see Chebify
+ * @since 1.2
+ */
+public class SampledFunction implements DerivableFunction {
+
+    /**
+     * The ways the inputs at which the original function is sampled can be spaced.
+     * 
+     * @since 1.2
+     */
+    public enum Grid {
+        /**
+         * Spaces the samples evenly across the domain.
+         * 
+         * @since 1.2
+         */
+        UNIFORM,
+        /**
+         * Places the samples at the Chebyshev points of the domain, closer together
+         * near its ends, where interpolation is least accurate.
+         * 
+         * @since 1.2
+         */
+        CHEBYSHEV
+    }
+
+    /**
+     * The ways outputs between two samples can be interpolated.
+     * 
+     * @since 1.2
+     */
+    public enum Interpolation {
+        /**
+         * Joins the samples with straight lines.
+         * 
+         * @since 1.2
+         */
+        LINEAR,
+        /**
+         * Joins the samples with cubic Hermite polynomials matching the slope of
+         * the original at every sample.
+         * 
+         * @since 1.2
+         */
+        CUBIC
+    }
+
+    private final double MIN_INPUT;
+    private final double MAX_INPUT;
+    private final Grid grid;
+    private final Interpolation interpolation;
+    private final EvaluationPolicy policy;
+    private final Function input;
+    private final double[] xs;
+    private final double[] values;
+    private final double[] slopes;
+    private final double maxError;
+    private final double scale;
+    private SampledFunction cachedDerivative;
+
+    /**
+     * Tabulates the function {@code input} over the domain [{@code MIN_INPUT},
+     * {@code MAX_INPUT}] with cubic interpolation between evenly spaced samples.
+     * Overloads the constructor {@link #SampledFunction(Function, double, double,
+     * int, Grid, Interpolation)}.
+     * 
+     * @param input the function to tabulate
+     * @param MIN_INPUT the lower end of the domain
+     * @param MAX_INPUT the higher end of the domain
+     * @param INTERVALS the number of intervals between samples
+     * @throws IllegalArgumentException if {@code INTERVALS} is not positive, the
+     *                                  domain is empty or indefinite, or the function
+     *                                  has an undefined output at a sample
+     * @since 1.2
+     */
+    public SampledFunction(Function input, double MIN_INPUT, double MAX_INPUT, int INTERVALS) {
+        this(input, MIN_INPUT, MAX_INPUT, INTERVALS, Grid.UNIFORM, Interpolation.CUBIC);
+    }
+
+    /**
+     * Tabulates the function {@code input} over the domain [{@code MIN_INPUT},
+     * {@code MAX_INPUT}] with {@code INTERVALS + 1} samples spaced by {@code grid}.
+     * All sampling of {@code input} is done in the constructor, including at the
+     * midpoint of every interval to measure the error of interpolation. An input
+     * outside the domain throws an {@code ArithmeticException}, unless another
+     * policy is chosen with {@link #withPolicy(EvaluationPolicy)}.
+     * 
+     * @param input the function to tabulate
+     * @param MIN_INPUT the lower end of the domain
+     * @param MAX_INPUT the higher end of the domain
+     * @param INTERVALS the number of intervals between samples
+     * @param grid how the samples are spaced
+     * @param interpolation how outputs between samples are found
+     * @throws IllegalArgumentException if {@code INTERVALS} is not positive, the
+     *                                  domain is empty or indefinite, or the function
+     *                                  has an undefined output at a sample
+     * @since 1.2
+     */
+    public SampledFunction(Function input, double MIN_INPUT, double MAX_INPUT, int INTERVALS,
+            Grid grid, Interpolation interpolation) {
+        if (INTERVALS < 1) {
+            throw new IllegalArgumentException("Number of intervals must be positive: " + INTERVALS);
+        }
+        if (!Double.isFinite(MIN_INPUT) || !Double.isFinite(MAX_INPUT) || !(MIN_INPUT < MAX_INPUT)) {
+            throw new IllegalArgumentException("Domain restrictions must be finite and increasing: ["
+                    + MIN_INPUT + ", " + MAX_INPUT + "]");
+        }
+        this.MIN_INPUT = MIN_INPUT;
+        this.MAX_INPUT = MAX_INPUT;
+        this.grid = Objects.requireNonNull(grid);
+        this.interpolation = Objects.requireNonNull(interpolation);
+        this.policy = EvaluationPolicy.THROW;
+        this.input = Objects.requireNonNull(input);
+        this.xs = grid(MIN_INPUT, MAX_INPUT, INTERVALS, grid);
+        this.values = new double[INTERVALS + 1];
+        input.getAll(xs, values, 0, INTERVALS + 1);
+        for (int i = 0; i <= INTERVALS; i++) {
+            if (!Double.isFinite(values[i])) {
+                throw new IllegalArgumentException("Function is not finite at " + xs[i]);
+            }
+        }
+        this.slopes = slopes(input, xs, values);
+        this.scale = scale(MIN_INPUT, MAX_INPUT, INTERVALS, grid);
+        this.maxError = measureError();
+    }
+
+    // the derivative of a sampled function, whose samples are its slopes
+    private SampledFunction(SampledFunction original) {
+        this.MIN_INPUT = original.MIN_INPUT;
+        this.MAX_INPUT = original.MAX_INPUT;
+        this.grid = original.grid;
+        this.interpolation = original.interpolation;
+        this.policy = original.policy;
+        this.input = original.input instanceof DerivableFunction
+                ? ((DerivableFunction) original.input).derivative() : null;
+        this.xs = original.xs;
+        this.values = original.slopes;
+        this.slopes = slopes(input, xs, values);
+        this.scale = original.scale;
+        this.maxError = input == null ? Double.NaN : measureError();
+    }
+
+    private SampledFunction(SampledFunction original, EvaluationPolicy policy) {
+        this.MIN_INPUT = original.MIN_INPUT;
+        this.MAX_INPUT = original.MAX_INPUT;
+        this.grid = original.grid;
+        this.interpolation = original.interpolation;
+        this.policy = Objects.requireNonNull(policy);
+        this.input = original.input;
+        this.xs = original.xs;
+        this.values = original.values;
+        this.slopes = original.slopes;
+        this.scale = original.scale;
+        this.maxError = original.maxError;
+    }
+
+    // a sampled function whose table was written by write, so the input is never sampled
+    private SampledFunction(Function input, double MIN_INPUT, double MAX_INPUT, Grid grid,
+            Interpolation interpolation, EvaluationPolicy policy, double[] xs, double[] values,
+            double[] slopes, double maxError) {
+        if (xs.length < 2 || values.length != xs.length || slopes.length != xs.length) {
+            throw new IllegalArgumentException("Table of samples is malformed.");
+        }
+        this.MIN_INPUT = MIN_INPUT;
+        this.MAX_INPUT = MAX_INPUT;
+        this.grid = grid;
+        this.interpolation = interpolation;
+        this.policy = policy;
+        this.input = input;
+        this.xs = xs;
+        this.values = values;
+        this.slopes = slopes;
+        this.scale = scale(MIN_INPUT, MAX_INPUT, xs.length - 1, grid);
+        this.maxError = maxError;
+    }
+
+    private static double[] grid(double min, double max, int n, Grid grid) {
+        double[] xs = new double[n + 1];
+        double mid = (max + min) / 2;
+        double half = (max - min) / 2;
+        for (int i = 0; i <= n; i++) {
+            if (i == 0) {
+                xs[i] = min;
+            } else if (i == n) {
+                xs[i] = max;
+            } else if (grid == Grid.CHEBYSHEV) {
+                xs[i] = mid - half * Math.cos(Math.PI * i / n);
+            } else {
+                xs[i] = min + (max - min) * i / n;
+            }
+        }
+        return xs;
+    }
+
+    // multiplies the distance into the domain to give the index of the interval,
+    // for even spacing, or multiplies the angle of the Chebyshev point, otherwise
+    private static double scale(double min, double max, int n, Grid grid) {
+        return grid == Grid.CHEBYSHEV ? n / Math.PI : n / (max - min);
+    }
+
+    /**
+     * Gives the slope at every sample: the derivative of the original where it
+     * has a finite one, and otherwise the slope of the parabola through the sample
+     * and its neighbors.
+     */
+    private static double[] slopes(Function input, double[] xs, double[] values) {
+        int n = xs.length - 1;
+        double[] m = new double[n + 1];
+        if (n == 1) {
+            m[0] = (values[1] - values[0]) / (xs[1] - xs[0]);
+            m[1] = m[0];
+        } else {
+            for (int i = 0; i <= n; i++) {
+                // the parabola through three samples, with the sample i at the
+                // left end, in the middle, or at the right end
+                int j = Math.max(1, Math.min(i, n - 1));
+                double h0 = xs[j] - xs[j - 1];
+                double h1 = xs[j + 1] - xs[j];
+                double d0 = (values[j] - values[j - 1]) / h0;
+                double d1 = (values[j + 1] - values[j]) / h1;
+                if (i < j) {
+                    m[i] = ((2 * h0 + h1) * d0 - h0 * d1) / (h0 + h1);
+                } else if (i > j) {
+                    m[i] = ((2 * h1 + h0) * d1 - h1 * d0) / (h0 + h1);
+                } else {
+                    m[i] = (h1 * d0 + h0 * d1) / (h0 + h1);
+                }
+            }
+        }
+        if (input instanceof DerivableFunction) {
+            double[] jet = new double[2];
+            for (int i = 0; i <= n; i++) {
+                input.getWithDerivatives(xs[i], 1, jet);
+                if (Double.isFinite(jet[1])) {
+                    m[i] = jet[1];
+                }
+            }
+        }
+        return m;
+    }
+
+    private double measureError() {
+        int n = xs.length - 1;
+        double[] mids = new double[n];
+        double[] exact = new double[n];
+        for (int i = 0; i < n; i++) {
+            mids[i] = xs[i] + (xs[i + 1] - xs[i]) / 2;
+        }
+        input.getAll(mids, exact, 0, n);
+        double error = 0;
+        for (int i = 0; i < n; i++) {
+            double diff = Math.abs(interpolate(i, mids[i]) - exact[i]);
+            if (diff > error) {
+                error = diff;
+            }
+        }
+        return error;
+    }
+
+    /**
+     * Gives a copy of this function that answers inputs out of its domain by the
+     * specified policy. With {@link EvaluationPolicy#EXTRAPOLATE}, the interpolation
+     * between the first or last pair of samples is continued. The derivative of the
+     * copy keeps its policy.
+     * 
+     * @param policy how to answer inputs out of the domain
+     * @return a sampled function with the same samples and the new policy
+     * @since 1.2
+     */
+    public SampledFunction withPolicy(EvaluationPolicy policy) {
+        if (policy == this.policy) {
+            return this;
+        }
+        return new SampledFunction(this, policy);
+    }
+
+    /**
+     * Gives the way this function answers inputs out of its domain.
+     * 
+     * @return the policy of this function
+     * @since 1.2
+     */
+    public EvaluationPolicy getPolicy() {
+        return policy;
+    }
+
+    /**
+     * Gives the largest difference between the interpolation and the original
+     * function at the midpoints between samples, which estimates the largest error
+     * of this function within its domain. For the derivative of a function that is
+     * not a {@code DerivableFunction}, there is nothing to measure against, and
+     * this is {@code NaN}.
+     * 
+     * @return the largest error measured, or {@code NaN} if none could be
+     * @since 1.2
+     */
+    public double getMaxError() {
+        return maxError;
+    }
+
+    /**
+     * Gives the number of samples of the original function kept in the table.
+     * 
+     * @return the number of samples in the table
+     * @since 1.2
+     */
+    public int getSampleCount() {
+        return xs.length;
+    }
+
+    /**
+     * Returns the interpolated output at the specified input.
+     * 
+     * @param x the input of the function
+     * @return the approximate output of the original function
+     * @throws ArithmeticException if the input is out of the domain and the policy
+     *                             of this function is to throw
+     * @since 1.2
+     */
+    @Override
+    public double get(double x) {
+        if (x < MIN_INPUT || x > MAX_INPUT) {
+            switch (policy) {
+                case CLAMP:
+                    return x < MIN_INPUT ? values[0] : values[values.length - 1];
+                case NAN:
+                    return Double.NaN;
+                case EXTRAPOLATE:
+                    return interpolate(x < MIN_INPUT ? 0 : xs.length - 2, x);
+                default:
+                    throw new ArithmeticException(x < MIN_INPUT
+                            ? "Domain Error: Input too low." : "Domain Error: Input too high.");
+            }
+        }
+        return interpolate(interval(x), x);
+    }
+
+    private int interval(double x) {
+        int n = xs.length - 1;
+        int i;
+        if (grid == Grid.CHEBYSHEV) {
+            double u = (2 * x - MIN_INPUT - MAX_INPUT) / (MAX_INPUT - MIN_INPUT);
+            i = (int) (roughArccos(-Math.max(-1, Math.min(1, u))) * scale);
+        } else {
+            i = (int) ((x - MIN_INPUT) * scale);
+        }
+        // rounding, or the rough arccosine, may put the input in a nearby interval
+        if (i > n - 1) {
+            i = n - 1;
+        }
+        while (i > 0 && x < xs[i]) {
+            i--;
+        }
+        while (i < n - 1 && x >= xs[i + 1]) {
+            i++;
+        }
+        return i;
+    }
+
+    // the arccosine to within 7e-5, many times faster than Math.acos
+    // (Abramowitz and Stegun, 4.4.45)
+    private static double roughArccos(double u) {
+        double a = Math.abs(u);
+        double r = Math.sqrt(1 - a) * (1.5707288 + a * (-0.2121144 + a * (0.0742610 + a * -0.0187293)));
+        return u < 0 ? Math.PI - r : r;
+    }
+
+    private double interpolate(int i, double x) {
+        double h = xs[i + 1] - xs[i];
+        double t = (x - xs[i]) / h;
+        if (interpolation == Interpolation.LINEAR) {
+            return values[i] + t * (values[i + 1] - values[i]);
+        }
+        double t2 = t * t;
+        double t3 = t2 * t;
+        return (2 * t3 - 3 * t2 + 1) * values[i] + (t3 - 2 * t2 + t) * h * slopes[i]
+                + (-2 * t3 + 3 * t2) * values[i + 1] + (t3 - t2) * h * slopes[i + 1];
+    }
+
+    /**
+     * Bounds the outputs over a range of inputs by the samples, and for cubic
+     * interpolation, the control points of the Bezier form of every cubic, whose
+     * hull contains the cubic. Inputs out of the domain are ignored, unless the
+     * policy of this function gives them an output.
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        if (policy == EvaluationPolicy.EXTRAPOLATE && (x.getMin() < MIN_INPUT || x.getMax() > MAX_INPUT)) {
+            return Interval.ENTIRE;
+        }
+        double lo = Double.POSITIVE_INFINITY;
+        double hi = Double.NEGATIVE_INFINITY;
+        if (policy == EvaluationPolicy.CLAMP) {
+            if (x.getMin() < MIN_INPUT) {
+                lo = Math.min(lo, values[0]);
+                hi = Math.max(hi, values[0]);
+            }
+            if (x.getMax() > MAX_INPUT) {
+                lo = Math.min(lo, values[values.length - 1]);
+                hi = Math.max(hi, values[values.length - 1]);
+            }
+        }
+        if (x.getMax() >= MIN_INPUT && x.getMin() <= MAX_INPUT) {
+            int first = interval(Math.max(x.getMin(), MIN_INPUT));
+            int last = interval(Math.min(x.getMax(), MAX_INPUT));
+            for (int i = first; i <= last; i++) {
+                double h = xs[i + 1] - xs[i];
+                double a = values[i];
+                double d = values[i + 1];
+                double b = interpolation == Interpolation.CUBIC ? a + h * slopes[i] / 3 : a;
+                double c = interpolation == Interpolation.CUBIC ? d - h * slopes[i + 1] / 3 : d;
+                lo = Math.min(lo, Math.min(Math.min(a, b), Math.min(c, d)));
+                hi = Math.max(hi, Math.max(Math.max(a, b), Math.max(c, d)));
+            }
+        }
+        if (lo > hi) {
+            return Interval.EMPTY;
+        }
+        double slack = 8 * Math.ulp(Math.max(Math.abs(lo), Math.abs(hi)));
+        return Interval.enclosing(lo - slack, hi + slack);
+    }
+
+    /**
+     * Returns the derivative of the original function, tabulated on the same grid.
+     * Its samples are the slopes used by this function, and its own slopes are the
+     * second derivatives of the original where it has them.
+     * 
+     * @return the derivative of this function
+     * @since 1.2
+     */
+    @Override
+    public synchronized SampledFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new SampledFunction(this);
+        }
+        return cachedDerivative;
+    }
+
+    void write(FunctionCodec.Encoder out) {
+        out.putBoolean(input != null);
+        if (input != null) {
+            out.putFunction(input);
+        }
+        out.putDouble(MIN_INPUT);
+        out.putDouble(MAX_INPUT);
+        out.putEnum(grid);
+        out.putEnum(interpolation);
+        out.putEnum(policy);
+        out.putDoubles(xs);
+        out.putDoubles(values);
+        out.putDoubles(slopes);
+        out.putDouble(maxError);
+    }
+
+    static SampledFunction read(FunctionCodec.Decoder in) {
+        Function input = in.getBoolean() ? in.getFunction() : null;
+        double min = in.getDouble();
+        double max = in.getDouble();
+        Grid grid = in.getEnum(Grid.class);
+        Interpolation interpolation = in.getEnum(Interpolation.class);
+        EvaluationPolicy policy = in.getEnum(EvaluationPolicy.class);
+        double[] xs = in.getDoubles();
+        double[] values = in.getDoubles();
+        double[] slopes = in.getDoubles();
+        return new SampledFunction(input, min, max, grid, interpolation, policy, xs, values, slopes,
+                in.getDouble());
+    }
+
+    /**
+     * Gives a string representation of the function through the original. The String
+     * will be of the form {@code "Sampled(<function>)"}, where {@code <function>}
+     * is replaced by the string representation of the original function, if it is
+     * still known.
+     * <p>
+     * THIS IMPLEMENTATION OF {@link Function#toString()} DOES NOT RETURN LaTeX CODE!
+     * 
+     * @return a string representation of the function
+     * @since 1.2
+     */
+    @Override
+    public String toString() {
+        return LatexWriter.toString(this);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        dest.append("Sampled(");
+        if (input == null) {
+            dest.append("?");
+        } else {
+            input.writeLatex(dest, variable);
+        }
+        dest.append(")");
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (obj == null) {
+            return this == null;
+        }
+        if (!(obj.getClass().equals(getClass()))) {
+            return false;
+        }
+        SampledFunction smp = (SampledFunction) obj;
+        return smp.MIN_INPUT == MIN_INPUT && smp.MAX_INPUT == MAX_INPUT && smp.grid == grid
+                && smp.interpolation == interpolation && smp.policy == policy
+                && Arrays.equals(smp.values, values) && Arrays.equals(smp.slopes, slopes);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public int hashCode() {
+        int hash = 3;
+        hash = 67 * hash + (int) (Double.doubleToLongBits(this.MIN_INPUT) ^ (Double.doubleToLongBits(this.MIN_INPUT) >>> 32));
+        hash = 67 * hash + (int) (Double.doubleToLongBits(this.MAX_INPUT) ^ (Double.doubleToLongBits(this.MAX_INPUT) >>> 32));
+        hash = 67 * hash + Objects.hashCode(this.grid);
+        hash = 67 * hash + Objects.hashCode(this.interpolation);
+        hash = 67 * hash + Objects.hashCode(this.policy);
+        hash = 67 * hash + Arrays.hashCode(this.values);
+        hash = 67 * hash + Arrays.hashCode(this.slopes);
+        return hash;
+    }
+}
@@ -8,7 +8,9 @@ package org.westtorrancerobotics.lib.functionmath.interfaces;
 public interface DerivableFunction extends Function {
     /**
      * Gives a {@code DerivableFunction} that tells the slope of this function for
-     * an x value equal to the input of the created function.
+     * an x value equal to the input of the created function. The functions of
+     * this library build their derivative once, on the first call, and give the
+     * same instance on every later call.
      * 
      * @return the derivative of this function
      * @since 1.0
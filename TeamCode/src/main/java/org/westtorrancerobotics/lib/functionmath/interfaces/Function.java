@@ -1,5 +1,9 @@
 package org.westtorrancerobotics.lib.functionmath.interfaces;
 
+import java.io.IOException;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
+import org.westtorrancerobotics.lib.functionmath.LatexWriter;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
 
 /**
@@ -37,6 +41,31 @@ public interface Function extends java.util.function.DoubleUnaryOperator {
     @Override
     public String toString();
 
+    /**
+     * Writes the LaTeX representation of this function to the end of an {@code Appendable},
+     * with the given text in place of the input variable {@code x}. The text written
+     * is the same as {@link #toString()} with each input variable, as matched by
+     * {@link #xVariableRegex()}, replaced by {@code variable}.
+     * <p>
+     * Functions made of other functions should override this to write each of
+     * their parts with the same variable, or, for the outer function of a composition,
+     * with the text of the inner function as the variable, rather than building
+     * and searching the strings of their parts. The variable should only ever be
+     * appended whole or passed on to a part, never copied into other text, since
+     * a composition gives a mark for its inner function as the variable. The default
+     * implementation writes the string of this function, replacing each input
+     * variable in it.
+     * 
+     * @param dest where to write the representation
+     * @param variable the text to write in place of the input variable {@code x}
+     * @throws IOException if {@code dest} cannot be written to
+     * @see LatexWriter
+     * @since 1.2
+     */
+    public default void writeLatex(Appendable dest, CharSequence variable) throws IOException {
+        LatexWriter.substitute(toString(), variable, dest);
+    }
+
     /**
      * Tells whether or not the function is the same as the specified object. Equality
      * requires that both objects are the same class, and that their outputs will
@@ -59,7 +88,88 @@ public interface Function extends java.util.function.DoubleUnaryOperator {
     public default double applyAsDouble(double operand) {
         return get(operand);
     }
-    
+
+    /**
+     * Gives the outputs of this function at many inputs at once. For every index
+     * {@code i} from {@code from}, inclusive, to {@code to}, exclusive, {@code out[i]}
+     * is set to the output of this function at {@code xs[i]}, exactly as would
+     * be given by {@link #get(double)}. The arrays {@code xs} and {@code out} may
+     * be the same array, in which case the inputs are replaced by their outputs.
+     * <p>
+     * Implementations may override this to work on the whole range in a single
+     * loop, avoiding a chain of calls through their parts for each input. The default
+     * implementation just calls {@code get} for each input.
+     * 
+     * @param xs the inputs on which to execute this function
+     * @param out the array in which to store the outputs
+     * @param from the first index to evaluate, inclusive
+     * @param to the last index to evaluate, exclusive
+     * @see #get(double x)
+     * @since 1.2
+     */
+    public default void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = get(xs[i]);
+        }
+    }
+
+    /**
+     * Gives the output of this function and its first {@code order} derivatives at
+     * a single input. For every {@code k} from 0 to {@code order}, inclusive,
+     * {@code out[k]} is set to the {@code k}th derivative of this function at
+     * {@code x}, with {@code out[0]} being the output given by {@link #get(double)}.
+     * Up to third derivatives may be requested.
+     * <p>
+     * Implementations may override this to carry the derivatives through their
+     * parts by the chain, product and quotient rules, in a single pass, instead of
+     * building and evaluating a separate derivative function for each order. The
+     * default implementation evaluates {@link DerivableFunction#derivative()} as many
+     * times as needed, so it is only able to give derivatives of a {@code DerivableFunction}.
+     * 
+     * @param x the input at which to evaluate this function and its derivatives
+     * @param order the highest derivative to evaluate, from 0 to 3
+     * @param out the array in which to store the output and derivatives, with a
+     *            length of at least {@code order + 1}
+     * @throws IllegalArgumentException if {@code order} is not between 0 and 3
+     * @throws UnsupportedOperationException if a derivative is requested of a
+     *                                       function that is not derivable
+     * @see #get(double x)
+     * @see DerivableFunction#derivative()
+     * @since 1.2
+     */
+    public default void getWithDerivatives(double x, int order, double[] out) {
+        Jets.checkOrder(order);
+        out[0] = get(x);
+        Function f = this;
+        for (int k = 1; k <= order; k++) {
+            if (!(f instanceof DerivableFunction)) {
+                throw new UnsupportedOperationException("Cannot differentiate a function that is not derivable.");
+            }
+            f = ((DerivableFunction) f).derivative();
+            out[k] = f.get(x);
+        }
+    }
+
+    /**
+     * Bounds the outputs of this function over a whole range of inputs. The interval
+     * returned contains the output of this function at every input in {@code x} at
+     * which it is defined, even allowing for rounding; it is empty only if the
+     * function is defined at none of them. No input is ever outside the domain in a
+     * way that throws an exception.
+     * <p>
+     * Implementations should override this with bounds as tight as they can cheaply
+     * give. The default implementation knows nothing of the function, and gives
+     * {@link Interval#ENTIRE} for any input range that is not empty.
+     * 
+     * @param x the range of inputs
+     * @return an interval containing every output of this function over {@code x}
+     * @see Interval
+     * @since 1.2
+     */
+    public default Interval evaluate(Interval x) {
+        return x.isEmpty() ? Interval.EMPTY : Interval.ENTIRE;
+    }
+
     /**
      * Returns a {@link ComplexFunction} that returns the input. Expressed in typical
      * mathematical syntax, this could be {@code y = x} or {@code f(n) = n}.
@@ -82,6 +192,14 @@ public interface Function extends java.util.function.DoubleUnaryOperator {
                 return x;
             }
             @Override
+            public void getWithDerivatives(double x, int order, double[] out) {
+                Jets.fill(out, order, x, 1, 0, 0);
+            }
+            @Override
+            public Interval evaluate(Interval x) {
+                return x;
+            }
+            @Override
             public InversibleFunction inverse() {
                 return this;
             }
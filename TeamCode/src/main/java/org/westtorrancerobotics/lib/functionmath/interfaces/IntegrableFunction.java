@@ -11,7 +11,8 @@ public interface IntegrableFunction<T extends Function> extends Function {
      * Gives a function of the specified type that tells the area under this function
      * between the vertical lines at x-values of 0 and the input of the created function.
      * Area below the x-axis is counted negative. The type is specified as a type
-     * parameter of this class.
+     * parameter of this class. As with derivatives, the functions of this library
+     * build their integral once and give the same instance on every later call.
      * 
      * @return the antiderivative of this function, with {@code C = 0}
      * @since 1.0
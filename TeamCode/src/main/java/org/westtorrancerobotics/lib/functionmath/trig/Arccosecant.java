@@ -3,6 +3,8 @@ package org.westtorrancerobotics.lib.functionmath.trig;
 import org.westtorrancerobotics.lib.functionmath.Composition;
 import org.westtorrancerobotics.lib.functionmath.Constant;
 import org.westtorrancerobotics.lib.functionmath.Difference;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
 import org.westtorrancerobotics.lib.functionmath.Product;
 import org.westtorrancerobotics.lib.functionmath.Quotient;
@@ -16,6 +18,8 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleF
  */
 public class Arccosecant implements DerivableInversibleFunction {
 
+    private DerivableFunction cachedDerivative;
+
     /**
      * Creates an inverse of the reciprocal of the cosine function (in radians).
      * 
@@ -29,15 +33,18 @@ public class Arccosecant implements DerivableInversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Quotient(new Constant(-1),
-                new Product(new Polynomial(1,0,0),
-                        new Composition.Derivable(new Difference.Derivable(
-                                new Constant(1),
-                                new Quotient(new Constant(1), new Polynomial(1,0,0))
-                        ), new Polynomial(1))
-                )
-        );
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Quotient(new Constant(-1),
+                    new Product(new Polynomial(1,0,0),
+                            new Composition.Derivable(new Difference.Derivable(
+                                    new Constant(1),
+                                    new Quotient(new Constant(1), new Polynomial(1,0,0))
+                            ), new Polynomial(1))
+                    )
+            );
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -51,6 +58,39 @@ public class Arccosecant implements DerivableInversibleFunction {
         return Math.asin(1 / x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.asin(1 / xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double r = x * x - 1;
+        double d1 = -1 / (Math.abs(x) * Math.sqrt(r));
+        double d2 = -d1 * (2 * x * x - 1) / (x * r);
+        double d3 = d2 * (4 * x / (2 * x * x - 1) - 2 / x - 3 * x / r);
+        Jets.fill(out, order, Math.asin(1 / x), d1, d2, d3);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return new Arcsine().evaluate(new Interval(1).dividedBy(x));
+    }
+
     /**
      * Returns the {@link Cosecant} function.
      * 
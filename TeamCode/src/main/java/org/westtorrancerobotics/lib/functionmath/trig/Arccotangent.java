@@ -1,6 +1,8 @@
 package org.westtorrancerobotics.lib.functionmath.trig;
 
 import org.westtorrancerobotics.lib.functionmath.Constant;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
 import org.westtorrancerobotics.lib.functionmath.Quotient;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
@@ -13,6 +15,8 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleF
  */
 public class Arccotangent implements DerivableInversibleFunction {
 
+    private DerivableFunction cachedDerivative;
+
     /**
      * Creates an inverse of the reciprocal of the tangent function (in radians).
      * 
@@ -57,8 +61,11 @@ public class Arccotangent implements DerivableInversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Quotient(new Constant(-1),new Polynomial(1,0,1));
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Quotient(new Constant(-1),new Polynomial(1,0,1));
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -72,6 +79,36 @@ public class Arccotangent implements DerivableInversibleFunction {
         return Math.atan(1 / x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.atan(1 / xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double p = 1 + x * x;
+        Jets.fill(out, order, Math.atan(1 / x), -1 / p, 2 * x / (p * p), (2 - 6 * x * x) / (p * p * p));
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return new Arctangent().evaluate(new Interval(1).dividedBy(x));
+    }
+
     /**
      * Returns the {@link Cotangent} function.
      * 
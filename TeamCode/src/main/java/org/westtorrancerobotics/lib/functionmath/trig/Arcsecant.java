@@ -2,6 +2,8 @@ package org.westtorrancerobotics.lib.functionmath.trig;
 
 import org.westtorrancerobotics.lib.functionmath.Composition;
 import org.westtorrancerobotics.lib.functionmath.Constant;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.Difference;
 import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
@@ -17,6 +19,8 @@ import org.westtorrancerobotics.lib.functionmath.SquareRoot;
  */
 public class Arcsecant implements DerivableFunction, InversibleFunction {
 
+    private DerivableFunction cachedDerivative;
+
     /**
      * Creates an inverse of the reciprocal of the cosine function (in radians).
      * 
@@ -30,16 +34,19 @@ public class Arcsecant implements DerivableFunction, InversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Quotient(new Constant(1),
-                new Product(new Composition.Derivable(
-                        new Difference.Derivable(new Constant(1), new Quotient(
-                                new Constant(1), new Polynomial(1, 0, 0)
-                        )),
-                        new SquareRoot()
-                ),
-                new Polynomial(1, 0, 0))
-        );
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Quotient(new Constant(1),
+                    new Product(new Composition.Derivable(
+                            new Difference.Derivable(new Constant(1), new Quotient(
+                                    new Constant(1), new Polynomial(1, 0, 0)
+                            )),
+                            new SquareRoot()
+                    ),
+                    new Polynomial(1, 0, 0))
+            );
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -53,6 +60,39 @@ public class Arcsecant implements DerivableFunction, InversibleFunction {
         return Math.acos(1 / x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.acos(1 / xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double r = x * x - 1;
+        double d1 = 1 / (Math.abs(x) * Math.sqrt(r));
+        double d2 = -d1 * (2 * x * x - 1) / (x * r);
+        double d3 = d2 * (4 * x / (2 * x * x - 1) - 2 / x - 3 * x / r);
+        Jets.fill(out, order, Math.acos(1 / x), d1, d2, d3);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return new Arccosine().evaluate(new Interval(1).dividedBy(x));
+    }
+
     /**
      * Returns the {@link Secant} function.
      * 
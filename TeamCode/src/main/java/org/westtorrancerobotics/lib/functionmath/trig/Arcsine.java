@@ -1,5 +1,7 @@
 package org.westtorrancerobotics.lib.functionmath.trig;
 
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
 
 /**
@@ -39,6 +41,41 @@ public class Arcsine implements InversibleFunction {
         return Math.asin(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = Math.asin(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double q = 1 - x * x;
+        double d1 = 1 / Math.sqrt(q);
+        Jets.fill(out, order, Math.asin(x), d1, x * d1 / q, (1 + 2 * x * x) * d1 / (q * q));
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        Interval domain = x.intersect(new Interval(-1, 1));
+        if (domain.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        return Interval.enclosing(Math.asin(domain.getMin()), Math.asin(domain.getMax()));
+    }
+
     /**
      * 
      * @since 1.0
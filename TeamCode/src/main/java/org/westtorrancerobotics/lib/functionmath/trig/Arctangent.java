@@ -1,10 +1,14 @@
 package org.westtorrancerobotics.lib.functionmath.trig;
 
+import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.Constant;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
 import org.westtorrancerobotics.lib.functionmath.Quotient;
+import org.westtorrancerobotics.lib.util.FastTrig;
 
 /**
  * The inverse of the tangent function.
@@ -13,12 +17,37 @@ import org.westtorrancerobotics.lib.functionmath.Quotient;
  */
 public class Arctangent implements DerivableInversibleFunction {
 
+    private final FastTrig.Precision precision;
+    private DerivableFunction cachedDerivative;
+
     /**
      * Creates an inverse of the tangent function (in radians).
      * 
      * @since 1.0
      */
     public Arctangent() {
+        this(FastTrig.Precision.EXACT);
+    }
+
+    /**
+     * Creates an inverse of the tangent function (in radians), whose outputs are found with the
+     * specified precision.
+     * 
+     * @param precision whether to find outputs with {@code Math} or {@link FastTrig}
+     * @since 1.2
+     */
+    public Arctangent(FastTrig.Precision precision) {
+        this.precision = Objects.requireNonNull(precision);
+    }
+
+    /**
+     * Gives the way this function finds its outputs.
+     * 
+     * @return the precision of this function
+     * @since 1.2
+     */
+    public FastTrig.Precision getPrecision() {
+        return precision;
     }
 
     /**
@@ -29,7 +58,47 @@ public class Arctangent implements DerivableInversibleFunction {
      */
     @Override
     public double get(double x) {
-        return Math.atan(x);
+        return precision == FastTrig.Precision.FAST ? FastTrig.atan(x) : Math.atan(x);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        if (precision == FastTrig.Precision.FAST) {
+            for (int i = from; i < to; i++) {
+                out[i] = FastTrig.atan(xs[i]);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i] = Math.atan(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double p = 1 + x * x;
+        Jets.fill(out, order, get(x), 1 / p, -2 * x / (p * p), (6 * x * x - 2) / (p * p * p));
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        double error = precision == FastTrig.Precision.FAST ? FastTrig.MAX_ERROR : 0;
+        return Interval.enclosing(get(x.getMin()) - error, get(x.getMax()) + error);
     }
 
     /**
@@ -37,8 +106,11 @@ public class Arctangent implements DerivableInversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Quotient(new Constant(1), new Polynomial(1, 0, 1));
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Quotient(new Constant(1), new Polynomial(1, 0, 1));
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -49,7 +121,7 @@ public class Arctangent implements DerivableInversibleFunction {
      */
     @Override
     public Tangent inverse() {
-        return new Tangent();
+        return new Tangent(precision);
     }
 
     /**
@@ -70,7 +142,10 @@ public class Arctangent implements DerivableInversibleFunction {
         if (obj == null) {
             return this == null;
         }
-        return obj.getClass().equals(getClass());
+        if (!obj.getClass().equals(getClass())) {
+            return false;
+        }
+        return ((Arctangent) obj).precision == precision;
     }
 
     /**
@@ -80,6 +155,7 @@ public class Arctangent implements DerivableInversibleFunction {
     @Override
     public int hashCode() {
         int hash = Arctangent.class.hashCode() + 1;
+        hash = 31 * hash + Objects.hashCode(precision);
         return hash;
     }
     
@@ -2,6 +2,8 @@ package org.westtorrancerobotics.lib.functionmath.trig;
 
 import org.westtorrancerobotics.lib.functionmath.Constant;
 import org.westtorrancerobotics.lib.functionmath.Difference;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.Product;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
@@ -15,6 +17,8 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleF
  */
 public class Cosecant implements DerivableInversibleFunction {
     
+    private DerivableFunction cachedDerivative;
+    
     /**
      * Creates a reciprocal of the sine function (in radians).
      * 
@@ -28,8 +32,11 @@ public class Cosecant implements DerivableInversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Difference.Derivable(new Constant(0), new Product(new Cotangent(), new Cosecant()));
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Difference.Derivable(new Constant(0), new Product(new Cotangent(), new Cosecant()));
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -45,6 +52,37 @@ public class Cosecant implements DerivableInversibleFunction {
         return 1 / Math.sin(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = 1 / Math.sin(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double c = 1 / Math.sin(x);
+        double k = 1 / Math.tan(x);
+        Jets.fill(out, order, c, -c * k, c * (1 + 2 * k * k), -c * k * (5 + 6 * k * k));
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return new Interval(1).dividedBy(new Sine().evaluate(x));
+    }
+
     /**
      * The inverse of the reciprocal of the sine function.
      * 
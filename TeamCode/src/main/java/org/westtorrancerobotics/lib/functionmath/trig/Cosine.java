@@ -1,9 +1,13 @@
 package org.westtorrancerobotics.lib.functionmath.trig;
 
+import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.Constant;
 import org.westtorrancerobotics.lib.functionmath.Difference;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.ComplexFunction;
+import org.westtorrancerobotics.lib.util.FastTrig;
 
 /**
  * The cosine function. Given an acute angle of a right triangle, in radians, cosine
@@ -14,12 +18,38 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.ComplexFunction;
  */
 public class Cosine implements ComplexFunction {
 
+    private final FastTrig.Precision precision;
+    private CalculusFunction cachedDerivative;
+    private Sine cachedIntegral;
+
     /**
      * Creates a cosine function (in radians).
      * 
      * @since 1.0
      */
     public Cosine() {
+        this(FastTrig.Precision.EXACT);
+    }
+
+    /**
+     * Creates a cosine function (in radians), whose outputs are found with the
+     * specified precision.
+     * 
+     * @param precision whether to find outputs with {@code Math} or {@link FastTrig}
+     * @since 1.2
+     */
+    public Cosine(FastTrig.Precision precision) {
+        this.precision = Objects.requireNonNull(precision);
+    }
+
+    /**
+     * Gives the way this function finds its outputs.
+     * 
+     * @return the precision of this function
+     * @since 1.2
+     */
+    public FastTrig.Precision getPrecision() {
+        return precision;
     }
 
     /**
@@ -32,7 +62,53 @@ public class Cosine implements ComplexFunction {
      */
     @Override
     public double get(double x) {
-        return Math.cos(x);
+        return precision == FastTrig.Precision.FAST ? FastTrig.cos(x) : Math.cos(x);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        if (precision == FastTrig.Precision.FAST) {
+            for (int i = from; i < to; i++) {
+                out[i] = FastTrig.cos(xs[i]);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i] = Math.cos(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        boolean fast = precision == FastTrig.Precision.FAST;
+        double s = fast ? FastTrig.sin(x) : Math.sin(x);
+        double c = fast ? FastTrig.cos(x) : Math.cos(x);
+        Jets.fill(out, order, c, -s, -c, s);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        double a = get(x.getMin());
+        double b = get(x.getMax());
+        double error = precision == FastTrig.Precision.FAST ? FastTrig.MAX_ERROR : 0;
+        double low = x.containsPeriodically(Math.PI, 2 * Math.PI) ? -1 : Math.min(a, b) - error;
+        double high = x.containsPeriodically(0, 2 * Math.PI) ? 1 : Math.max(a, b) + error;
+        return Interval.enclosing(low, high).intersect(new Interval(-1, 1));
     }
 
     /**
@@ -42,8 +118,11 @@ public class Cosine implements ComplexFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction derivative() {
-        return new Difference(new Constant(0), new Sine());
+    public synchronized CalculusFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Difference(new Constant(0), new Sine(precision));
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -53,8 +132,11 @@ public class Cosine implements ComplexFunction {
      * @since 1.0
      */
     @Override
-    public Sine integral() {
-        return new Sine();
+    public synchronized Sine integral() {
+        if (cachedIntegral == null) {
+            cachedIntegral = new Sine(precision);
+        }
+        return cachedIntegral;
     }
 
     /**
@@ -86,7 +168,10 @@ public class Cosine implements ComplexFunction {
         if (obj == null) {
             return this == null;
         }
-        return obj.getClass().equals(getClass());
+        if (!obj.getClass().equals(getClass())) {
+            return false;
+        }
+        return ((Cosine) obj).precision == precision;
     }
 
     /**
@@ -96,6 +181,7 @@ public class Cosine implements ComplexFunction {
     @Override
     public int hashCode() {
         int hash = Cosine.class.hashCode() + 1;
+        hash = 31 * hash + Objects.hashCode(precision);
         return hash;
     }
     
@@ -3,6 +3,8 @@ package org.westtorrancerobotics.lib.functionmath.trig;
 import org.westtorrancerobotics.lib.functionmath.Composition;
 import org.westtorrancerobotics.lib.functionmath.Constant;
 import org.westtorrancerobotics.lib.functionmath.Difference;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
@@ -16,6 +18,8 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleF
  */
 public class Cotangent implements DerivableInversibleFunction {
     
+    private DerivableFunction cachedDerivative;
+    
     /**
      * Creates a reciprocal of the tangent function (in radians).
      * 
@@ -29,10 +33,13 @@ public class Cotangent implements DerivableInversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Difference.Derivable(new Constant(0),
-                new Composition.Derivable(new Cosecant(), new Polynomial(1, 0, 0))
-        );
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Difference.Derivable(new Constant(0),
+                    new Composition.Derivable(new Cosecant(), new Polynomial(1, 0, 0))
+            );
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -50,6 +57,43 @@ public class Cotangent implements DerivableInversibleFunction {
         return 1 / Math.tan(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = 1 / Math.tan(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double k = 1 / Math.tan(x);
+        double csc2 = 1 + k * k;
+        Jets.fill(out, order, k, -csc2, 2 * k * csc2, -2 * csc2 * (1 + 3 * k * k));
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        if (x.containsPeriodically(0, Math.PI)) {
+            return Interval.ENTIRE;
+        }
+        return Interval.enclosing(1 / Math.tan(x.getMin()), 1 / Math.tan(x.getMax()));
+    }
+
     /**
      * The inverse of the reciprocal of the tangent function.
      * 
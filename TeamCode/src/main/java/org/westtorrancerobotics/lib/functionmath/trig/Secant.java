@@ -1,5 +1,7 @@
 package org.westtorrancerobotics.lib.functionmath.trig;
 
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
 import org.westtorrancerobotics.lib.functionmath.Product;
@@ -13,6 +15,8 @@ import org.westtorrancerobotics.lib.functionmath.Product;
  */
 public class Secant implements DerivableFunction, InversibleFunction {
 
+    private DerivableFunction cachedDerivative;
+
     /**
      * Creates a reciprocal of the cosine function (in radians).
      * 
@@ -26,8 +30,11 @@ public class Secant implements DerivableFunction, InversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Product(new Secant(), new Tangent());
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Product(new Secant(), new Tangent());
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -43,6 +50,37 @@ public class Secant implements DerivableFunction, InversibleFunction {
         return 1 / Math.cos(x);
     }
 
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        for (int i = from; i < to; i++) {
+            out[i] = 1 / Math.cos(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double s = 1 / Math.cos(x);
+        double t = Math.tan(x);
+        Jets.fill(out, order, s, s * t, s * (1 + 2 * t * t), s * t * (5 + 6 * t * t));
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        return new Interval(1).dividedBy(new Cosine().evaluate(x));
+    }
+
     /**
      * The inverse of the reciprocal of the cosine function.
      * 
@@ -1,9 +1,13 @@
 package org.westtorrancerobotics.lib.functionmath.trig;
 
+import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.Constant;
 import org.westtorrancerobotics.lib.functionmath.Difference;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.ComplexFunction;
+import org.westtorrancerobotics.lib.util.FastTrig;
 
 /**
  * The sine function. Given an acute angle of a right triangle, in radians, sine
@@ -14,12 +18,38 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.ComplexFunction;
  */
 public class Sine implements ComplexFunction {
 
+    private final FastTrig.Precision precision;
+    private Cosine cachedDerivative;
+    private CalculusFunction cachedIntegral;
+
     /**
      * Creates a sine function (in radians).
      * 
      * @since 1.0
      */
     public Sine() {
+        this(FastTrig.Precision.EXACT);
+    }
+
+    /**
+     * Creates a sine function (in radians), whose outputs are found with the
+     * specified precision.
+     * 
+     * @param precision whether to find outputs with {@code Math} or {@link FastTrig}
+     * @since 1.2
+     */
+    public Sine(FastTrig.Precision precision) {
+        this.precision = Objects.requireNonNull(precision);
+    }
+
+    /**
+     * Gives the way this function finds its outputs.
+     * 
+     * @return the precision of this function
+     * @since 1.2
+     */
+    public FastTrig.Precision getPrecision() {
+        return precision;
     }
 
     /**
@@ -32,7 +62,53 @@ public class Sine implements ComplexFunction {
      */
     @Override
     public double get(double x) {
-        return Math.sin(x);
+        return precision == FastTrig.Precision.FAST ? FastTrig.sin(x) : Math.sin(x);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        if (precision == FastTrig.Precision.FAST) {
+            for (int i = from; i < to; i++) {
+                out[i] = FastTrig.sin(xs[i]);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i] = Math.sin(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        boolean fast = precision == FastTrig.Precision.FAST;
+        double s = fast ? FastTrig.sin(x) : Math.sin(x);
+        double c = fast ? FastTrig.cos(x) : Math.cos(x);
+        Jets.fill(out, order, s, c, -s, -c);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        double a = get(x.getMin());
+        double b = get(x.getMax());
+        double error = precision == FastTrig.Precision.FAST ? FastTrig.MAX_ERROR : 0;
+        double low = x.containsPeriodically(-Math.PI / 2, 2 * Math.PI) ? -1 : Math.min(a, b) - error;
+        double high = x.containsPeriodically(Math.PI / 2, 2 * Math.PI) ? 1 : Math.max(a, b) + error;
+        return Interval.enclosing(low, high).intersect(new Interval(-1, 1));
     }
 
     /**
@@ -42,8 +118,11 @@ public class Sine implements ComplexFunction {
      * @since 1.0
      */
     @Override
-    public Cosine derivative() {
-        return new Cosine();
+    public synchronized Cosine derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Cosine(precision);
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -53,8 +132,11 @@ public class Sine implements ComplexFunction {
      * @since 1.0
      */
     @Override
-    public CalculusFunction integral() {
-        return new Difference(new Constant(0), new Cosine());
+    public synchronized CalculusFunction integral() {
+        if (cachedIntegral == null) {
+            cachedIntegral = new Difference(new Constant(0), new Cosine(precision));
+        }
+        return cachedIntegral;
     }
 
     /**
@@ -86,7 +168,10 @@ public class Sine implements ComplexFunction {
         if (obj == null) {
             return this == null;
         }
-        return obj.getClass().equals(getClass());
+        if (!obj.getClass().equals(getClass())) {
+            return false;
+        }
+        return ((Sine) obj).precision == precision;
     }
 
     /**
@@ -96,6 +181,7 @@ public class Sine implements ComplexFunction {
     @Override
     public int hashCode() {
         int hash = Sine.class.hashCode() + 1;
+        hash = 31 * hash + Objects.hashCode(precision);
         return hash;
     }
     
@@ -1,9 +1,13 @@
 package org.westtorrancerobotics.lib.functionmath.trig;
 
+import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.Composition;
+import org.westtorrancerobotics.lib.functionmath.Interval;
+import org.westtorrancerobotics.lib.functionmath.Jets;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
 import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleFunction;
+import org.westtorrancerobotics.lib.util.FastTrig;
 
 /**
  * The tangent function. Given an acute angle of a right triangle, in radians,
@@ -14,12 +18,37 @@ import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableInversibleF
  */
 public class Tangent implements DerivableInversibleFunction {
     
+    private final FastTrig.Precision precision;
+    private DerivableFunction cachedDerivative;
+    
     /**
      * Creates a tangent function (in radians).
      * 
      * @since 1.0
      */
     public Tangent() {
+        this(FastTrig.Precision.EXACT);
+    }
+
+    /**
+     * Creates a tangent function (in radians), whose outputs are found with the
+     * specified precision.
+     * 
+     * @param precision whether to find outputs with {@code Math} or {@link FastTrig}
+     * @since 1.2
+     */
+    public Tangent(FastTrig.Precision precision) {
+        this.precision = Objects.requireNonNull(precision);
+    }
+
+    /**
+     * Gives the way this function finds its outputs.
+     * 
+     * @return the precision of this function
+     * @since 1.2
+     */
+    public FastTrig.Precision getPrecision() {
+        return precision;
     }
 
     /**
@@ -27,8 +56,11 @@ public class Tangent implements DerivableInversibleFunction {
      * @since 1.0
      */
     @Override
-    public DerivableFunction derivative() {
-        return new Composition.Derivable(new Secant(), new Polynomial(1,0,0));
+    public synchronized DerivableFunction derivative() {
+        if (cachedDerivative == null) {
+            cachedDerivative = new Composition.Derivable(new Secant(), new Polynomial(1,0,0));
+        }
+        return cachedDerivative;
     }
 
     /**
@@ -43,7 +75,57 @@ public class Tangent implements DerivableInversibleFunction {
      */
     @Override
     public double get(double x) {
-        return Math.tan(x);
+        return precision == FastTrig.Precision.FAST ? FastTrig.tan(x) : Math.tan(x);
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getAll(double[] xs, double[] out, int from, int to) {
+        if (precision == FastTrig.Precision.FAST) {
+            for (int i = from; i < to; i++) {
+                out[i] = FastTrig.tan(xs[i]);
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            out[i] = Math.tan(xs[i]);
+        }
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public void getWithDerivatives(double x, int order, double[] out) {
+        double t = get(x);
+        double sec2 = 1 + t * t;
+        Jets.fill(out, order, t, sec2, 2 * t * sec2, 2 * sec2 * (1 + 3 * t * t));
+    }
+
+    /**
+     * 
+     * @since 1.2
+     */
+    @Override
+    public Interval evaluate(Interval x) {
+        if (x.isEmpty()) {
+            return Interval.EMPTY;
+        }
+        if (x.containsPeriodically(Math.PI / 2, Math.PI)) {
+            return Interval.ENTIRE;
+        }
+        Interval y = Interval.enclosing(get(x.getMin()), get(x.getMax()));
+        if (precision == FastTrig.Precision.FAST) {
+            // the error of the quotient grows with the larger square of the secant
+            double sec2 = 1 + Math.max(y.getMin() * y.getMin(), y.getMax() * y.getMax());
+            double error = 2 * FastTrig.MAX_ERROR * sec2;
+            return new Interval(y.getMin() - error, y.getMax() + error);
+        }
+        return y;
     }
 
     /**
@@ -54,7 +136,7 @@ public class Tangent implements DerivableInversibleFunction {
      */
     @Override
     public Arctangent inverse() {
-        return new Arctangent();
+        return new Arctangent(precision);
     }
 
     /**
@@ -75,7 +157,10 @@ public class Tangent implements DerivableInversibleFunction {
         if (obj == null) {
             return this == null;
         }
-        return obj.getClass().equals(getClass());
+        if (!obj.getClass().equals(getClass())) {
+            return false;
+        }
+        return ((Tangent) obj).precision == precision;
     }
 
     /**
@@ -85,6 +170,7 @@ public class Tangent implements DerivableInversibleFunction {
     @Override
     public int hashCode() {
         int hash = Tangent.class.hashCode() + 1;
+        hash = 31 * hash + Objects.hashCode(precision);
         return hash;
     }
     
@@ -3,6 +3,11 @@
  * using radians. The six trigonometric functions are sine, cosine, tangent, and
  * their reciprocals, forming together all possible ratios of two sides of a right
  * triangle given as radian input an acute angle of the triangle.
+ * <p>
+ * Sine, cosine, tangent, and arctangent can be created with a {@code FAST}
+ * {@link org.westtorrancerobotics.lib.util.FastTrig.Precision}, trading an error
+ * of up to {@link org.westtorrancerobotics.lib.util.FastTrig#MAX_ERROR} for speed
+ * in control loops.
  * 
  * @see org.westtorrancerobotics.lib.functionmath.trig.Sine
  * @see org.westtorrancerobotics.lib.functionmath.trig.Cosine
@@ -2,6 +2,8 @@ package org.westtorrancerobotics.lib.hardware.sensors;
 
 import org.westtorrancerobotics.lib.spline.geom.Angle;
 import org.westtorrancerobotics.lib.spline.geom.Location;
+import org.westtorrancerobotics.lib.util.FastTrig;
+import org.westtorrancerobotics.lib.util.LinearSolver;
 import org.westtorrancerobotics.lib.util.MathUtils;
 
 public class OmniOdometerProcessor {
@@ -16,6 +18,13 @@ public class OmniOdometerProcessor {
     private double wheelBlast;
     private double wheelClast;
 
+    private final LinearSolver rotationSolver;
+    private final LinearSolver translationSolver;
+    private final boolean translateWithB;
+    private final double wheelAsecant;
+    private final double translationSecant;
+    private final double[] sinCos = new double[2];
+
     public OmniOdometerProcessor(Location myLocation, OmniOdometer odometer) {
         this.myLocation = myLocation;
         this.odometer = odometer;
@@ -28,6 +37,27 @@ public class OmniOdometerProcessor {
         wheelAlast = odometer.getEncoderDistanceWheelA();
         wheelBlast = odometer.getEncoderDistanceWheelB();
         wheelClast = odometer.getEncoderDistanceWheelC();
+        // only the wheel distances change between updates, so everything else in
+        // the equations is set once here
+        rotationSolver = new LinearSolver(3);
+        setRotationRow(0, wheelAdir, odometer.getRelativeLocationWheelA());
+        setRotationRow(1, wheelBdir, odometer.getRelativeLocationWheelB());
+        setRotationRow(2, wheelCdir, odometer.getRelativeLocationWheelC());
+        translateWithB = !MathUtils.isZero((wheelAdir - wheelBdir) % Math.PI);
+        translationSolver = new LinearSolver(2);
+        translationSolver.set(0, 0, Math.tan(wheelAdir));
+        translationSolver.set(0, 1, 1);
+        translationSolver.set(1, 0, Math.tan(translateWithB ? wheelBdir : wheelCdir));
+        translationSolver.set(1, 1, 1);
+        wheelAsecant = 1 / Math.cos(wheelAdir);
+        translationSecant = 1 / Math.cos(translateWithB ? wheelBdir : wheelCdir);
+    }
+
+    private void setRotationRow(int row, double wheelDir, Location wheelLocation) {
+        rotationSolver.set(row, 0, Math.cos(wheelDir));
+        rotationSolver.set(row, 1, -Math.sin(wheelDir));
+        rotationSolver.setConstant(row, Math.cos(wheelDir) * wheelLocation.x
+                - Math.sin(wheelDir) * wheelLocation.y);
     }
 
     public void update() {
@@ -37,47 +67,25 @@ public class OmniOdometerProcessor {
         wheelBlast += dB;
         double dC = odometer.getEncoderDistanceWheelC() - wheelClast;
         wheelClast += dC;
-        double[] solved = MathUtils.solveAugmentedMatrix(new double[][]{
-                {
-                        Math.cos(wheelAdir),
-                        -Math.sin(wheelAdir),
-                        -dA,
-                        Math.cos(wheelAdir) * odometer.getRelativeLocationWheelA().x
-                                - Math.sin(wheelAdir) * odometer.getRelativeLocationWheelA().y
-                },
-                {
-                        Math.cos(wheelBdir),
-                        -Math.sin(wheelBdir),
-                        -dB,
-                        Math.cos(wheelBdir) * odometer.getRelativeLocationWheelB().x
-                                - Math.sin(wheelBdir) * odometer.getRelativeLocationWheelB().y
-                },
-                {
-                        Math.cos(wheelCdir),
-                        -Math.sin(wheelCdir),
-                        -dC,
-                        Math.cos(wheelCdir) * odometer.getRelativeLocationWheelC().x
-                                - Math.sin(wheelCdir) * odometer.getRelativeLocationWheelC().y
-                }
-            }
-        );
+        rotationSolver.set(0, 2, -dA);
+        rotationSolver.set(1, 2, -dB);
+        rotationSolver.set(2, 2, -dC);
+        double[] solved = rotationSolver.solve();
         double rotCenterRelX = solved[0];
         double rotCenterRelY = solved[1];
         double rotRadCw = 1 / solved[2];
         if (!Double.isFinite(rotCenterRelX) || !Double.isFinite(rotCenterRelY)
                 || !Double.isFinite(rotRadCw) || MathUtils.isZero(rotRadCw)) {
-            double[] xy = MathUtils.solveAugmentedMatrix(new double[][]{
-                {Math.tan(wheelAdir), 1, dA / Math.cos(wheelAdir)},
-                !MathUtils.isZero((wheelAdir - wheelBdir) % Math.PI) ?
-                        new double[]{Math.tan(wheelBdir), 1, dB / Math.cos(wheelBdir)} :
-                        new double[]{Math.tan(wheelCdir), 1, dC / Math.cos(wheelCdir)}
-            });
+            translationSolver.setConstant(0, dA * wheelAsecant);
+            translationSolver.setConstant(1, (translateWithB ? dB : dC) * translationSecant);
+            double[] xy = translationSolver.solve();
             double dx = xy[0];
             double dy = xy[1];
-            Angle thetaY = myLocation.direction;
-            Angle thetaX = Angle.add(thetaY, Angle.EAST, Angle.AngleOrientation.COMPASS_HEADING);
-            double fieldDx = dx * thetaX.getX() + dy * thetaY.getX();
-            double fieldDy = dx * thetaX.getY() + dy * thetaY.getY();
+            // the robot's y axis is its heading, and its x axis a quarter turn clockwise
+            FastTrig.sinCos(myLocation.direction.getValue(Angle.AngleUnit.RADIANS,
+                    Angle.AngleOrientation.UNIT_CIRCLE), sinCos);
+            double fieldDx = dx * sinCos[0] + dy * sinCos[1];
+            double fieldDy = -dx * sinCos[1] + dy * sinCos[0];
             myLocation.translate(fieldDx, fieldDy);
             return;
         }
@@ -89,11 +97,13 @@ public class OmniOdometerProcessor {
         );
         double hw = myLocation.x;
         double kw = myLocation.y;
-        double hr = hw + Math.sin(convT) * rotCenterRelX + Math.cos(convT) * rotCenterRelY;
-        double kr = kw - Math.cos(convT) * rotCenterRelX + Math.sin(convT) * rotCenterRelY;
+        FastTrig.sinCos(convT, sinCos);
+        double hr = hw + sinCos[0] * rotCenterRelX + sinCos[1] * rotCenterRelY;
+        double kr = kw - sinCos[1] * rotCenterRelX + sinCos[0] * rotCenterRelY;
         double r = Math.hypot(hw-hr, kw-kr);
-        double theta = -rotRadCw + Math.atan2(kw-kr, hw-hr);
-        myLocation.setLocation(hr + r * Math.cos(theta), kr + r * Math.sin(theta));
+        double theta = -rotRadCw + FastTrig.atan2(kw-kr, hw-hr);
+        FastTrig.sinCos(theta, sinCos);
+        myLocation.setLocation(hr + r * sinCos[1], kr + r * sinCos[0]);
     }
     
     public void setLocation(Location newPosition) {
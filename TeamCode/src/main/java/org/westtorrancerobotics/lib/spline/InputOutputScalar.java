@@ -42,6 +42,27 @@ public class InputOutputScalar implements DerivableFunction {
         this.scaled = new Composition.Derivable(new Product(new Constant(a), integralReciprocal), original);
     }
 
+    /**
+     * Converts the function {@code original}'s input from time to position. Assumes
+     * the output units of the first function were a velocity, and creates a function
+     * with an output in velocity units. The domain of the function will be [0,
+     * {@code maxInput}]. The integral of the reciprocal of the given function is
+     * estimated adaptively to within {@code TOLERANCE}, which usually needs far
+     * fewer evaluations than a fixed number of samples for the same accuracy.
+     * 
+     * @param original the function with time input and velocity output to change
+     * @param TOLERANCE specification of calculation accuracy for the function
+     * @param maxInput specifier of the function's valid domain
+     * @see org.westtorrancerobotics.lib.functionmath.casters.GaussKronrodIntegral
+     * @since 1.2
+     */
+    public InputOutputScalar (DerivableFunction original, double TOLERANCE, double maxInput) {
+        DerivableFunction integralReciprocal = new Calculify(
+                new Quotient(new Constant(1), original), TOLERANCE, maxInput).integral();
+        double a = maxInput / integralReciprocal.get(maxInput);
+        this.scaled = new Composition.Derivable(new Product(new Constant(a), integralReciprocal), original);
+    }
+
     /**
      * 
      * @since 1.0
@@ -20,6 +20,8 @@ import org.westtorrancerobotics.lib.hardware.ClosedLoopController;
 import org.westtorrancerobotics.lib.functionmath.Composition;
 import org.westtorrancerobotics.lib.functionmath.Constant;
 import org.westtorrancerobotics.lib.functionmath.Difference;
+import org.westtorrancerobotics.lib.functionmath.EvaluationPolicy;
+import org.westtorrancerobotics.lib.functionmath.FunctionCompiler;
 import org.westtorrancerobotics.lib.functionmath.ParametricFunction;
 import org.westtorrancerobotics.lib.functionmath.Piecewise;
 import org.westtorrancerobotics.lib.functionmath.PiecewiseDynamicBounds;
@@ -32,7 +34,9 @@ import org.westtorrancerobotics.lib.functionmath.Sum;
 import org.westtorrancerobotics.lib.functionmath.casters.BruteIntegral;
 import org.westtorrancerobotics.lib.functionmath.casters.BruteInverse;
 import org.westtorrancerobotics.lib.functionmath.casters.Inversiblify;
+import org.westtorrancerobotics.lib.functionmath.casters.SampledFunction;
 import org.westtorrancerobotics.lib.functionmath.interfaces.InversibleFunction;
+import org.westtorrancerobotics.lib.util.FastTrig;
 import org.westtorrancerobotics.lib.util.StringUtils;
 
 /**
@@ -56,6 +60,7 @@ import org.westtorrancerobotics.lib.util.StringUtils;
 public class OldTankFollower {
 
     private static final Logger LOG;
+    private static final int OFFSET_SAMPLES_PER_PARAMETER = 64;
     
     static {
         LOG = Logger.getLogger(OldTankFollower.class.getName());
@@ -567,39 +572,42 @@ public class OldTankFollower {
         this.driveTrain = driveTrain;
         this.midSpline = path;
         this.config = c;
+        // parts used more than once are built, and their derivatives cached, only once
         DerivableFunction slp = new Quotient(midSpline.getY().derivative(), midSpline.getX().derivative());
         DerivableFunction sgn = new PiecewiseDynamicBounds(
                 new CalculusFunction[]{new Constant(-1), new Constant(1)},
                 midSpline.getX().derivative(),
                 new double[]{Double.NEGATIVE_INFINITY, 0}, Double.POSITIVE_INFINITY
         );
-        DerivableFunction bigX = new Composition.Derivable(
-                new Composition.Derivable(slp, new Arctangent()), new Cosine());
-        DerivableFunction bigY = new Composition.Derivable(
-                new Composition.Derivable(slp, new Arctangent()), new Sine());
+        // the offsets are sampled below, far more coarsely than the error of fast trig
+        DerivableFunction angle = new Composition.Derivable(slp, new Arctangent(FastTrig.Precision.FAST));
+        DerivableFunction bigX = new Composition.Derivable(angle, new Cosine(FastTrig.Precision.FAST));
+        DerivableFunction bigY = new Composition.Derivable(angle, new Sine(FastTrig.Precision.FAST));
+        // the offsets are tabulated once, as the integrals of the side paths
+        // evaluate them and their derivatives many times
+        int offsetIntervals = Math.max(1, (int) Math.ceil(path.getMaxInput() * OFFSET_SAMPLES_PER_PARAMETER));
+        DerivableFunction offsetX = new SampledFunction(FunctionCompiler.compile(new Product(bigY, sgn)),
+                0, path.getMaxInput(), offsetIntervals).withPolicy(EvaluationPolicy.EXTRAPOLATE);
+        DerivableFunction offsetY = new SampledFunction(FunctionCompiler.compile(new Product(bigX, sgn)),
+                0, path.getMaxInput(), offsetIntervals).withPolicy(EvaluationPolicy.EXTRAPOLATE);
+        DerivableFunction wheelbase = new Constant(driveTrain.getWheelbaseWidth());
+        DerivableFunction sideX = new Product(wheelbase, offsetX);
+        DerivableFunction sideY = new Product(wheelbase, offsetY);
         this.leftSpline = new ParametricFunction(
-                new Difference.Derivable(midSpline.getX(), new Product(
-                        new Product(new Constant(driveTrain.getWheelbaseWidth())
-                                , bigY), sgn)),
-                new Sum.Derivable(midSpline.getY(), new Product(
-                        new Product(new Constant(driveTrain.getWheelbaseWidth())
-                                , bigX), sgn)),
+                new Difference.Derivable(midSpline.getX(), sideX),
+                new Sum.Derivable(midSpline.getY(), sideY),
                 path.getMaxInput(), config.DISTANCE_CALC_ACCURACY
         );
         this.rightSpline = new ParametricFunction(
-                new Sum.Derivable(midSpline.getX(), new Product(
-                        new Product(new Constant(driveTrain.getWheelbaseWidth())
-                                , bigY), sgn)),
-                new Difference.Derivable(midSpline.getY(), new Product(
-                        new Product(new Constant(driveTrain.getWheelbaseWidth())
-                                , bigX), sgn)),
+                new Sum.Derivable(midSpline.getX(), sideX),
+                new Difference.Derivable(midSpline.getY(), sideY),
                 path.getMaxInput(), config.DISTANCE_CALC_ACCURACY
         );
         LOG.log(Level.FINEST, "Left and right paths created.");
         leftSplineDistanceGetter = leftSpline.getDistance(c.INTEGRAL_NUMBER_OF_SAMPLES);
         midSplineDistanceGetter = midSpline.getDistance(c.INTEGRAL_NUMBER_OF_SAMPLES);
         rightSplineDistanceGetter = rightSpline.getDistance(c.INTEGRAL_NUMBER_OF_SAMPLES);
-        midSplineParameterGetter = midSpline.getParameter(c.INTEGRAL_NUMBER_OF_SAMPLES);
+        midSplineParameterGetter = midSpline.getParameter(c.INTEGRAL_NUMBER_OF_SAMPLES, EvaluationPolicy.NAN);
         double length = midSplineDistanceGetter.get(1);
         LOG.log(Level.FINEST, "Total length computed:{0}", length);
         this.velocitySpline = velocitySpline;
@@ -746,6 +754,16 @@ public class OldTankFollower {
         LOG.log(Level.FINER, "Following path...");
         try {
             double currentParameter = midSplineParameterGetter.get(dstTravelled);
+            if (Double.isNaN(currentParameter)) {
+                // the distance travelled is off either end of the path
+                if (!isFinished()) {
+                    LOG.log(Level.WARNING, "Distance out of path before finished: {0}", dstTravelled);
+                } else {
+                    LOG.log(Level.FINER, "Path completed.");
+                }
+                dstTravelled = totalDst;
+                return;
+            }
             double deltaP = currentParameter - lastP;
             if (deltaP == 0) {
                 return;
@@ -4,13 +4,9 @@ import org.westtorrancerobotics.lib.spline.geom.Location;
 import org.westtorrancerobotics.lib.spline.geom.Point;
 import org.westtorrancerobotics.lib.spline.geom.Angle;
 import org.westtorrancerobotics.lib.functionmath.ParametricFunction;
-import org.westtorrancerobotics.lib.functionmath.Sum;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
-import org.westtorrancerobotics.lib.functionmath.Piecewise;
-import org.westtorrancerobotics.lib.functionmath.Product;
-import org.westtorrancerobotics.lib.functionmath.Constant;
+import org.westtorrancerobotics.lib.functionmath.PiecewisePolynomial;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
-import org.westtorrancerobotics.lib.functionmath.interfaces.DerivableFunction;
 import org.westtorrancerobotics.lib.util.MathUtils;
 
 /**
@@ -23,6 +19,9 @@ import org.westtorrancerobotics.lib.util.MathUtils;
 public class SplineGenerator {
     
     private SplineGenerator() {} // no constructor
+
+    // farthest any equation of the quintic system reaches from the diagonal
+    private static final int QUINTIC_BAND = 7;
     
     /**
      * Creates a parametric function that begins at the specified {@code Location start}
@@ -73,43 +72,33 @@ public class SplineGenerator {
         }
         boolean forward = !(startScale + endScale < 0);
         // s1(x) in desmos
-        CalculusFunction endScalar = new Piecewise(new CalculusFunction[]{
+        Polynomial[] endScalar = {
             new Polynomial(2, 0, 0),
             new Polynomial(-2, 4, -1)
-        }, new double[]{Double.NEGATIVE_INFINITY, 0.5}, Double.POSITIVE_INFINITY);
+        };
         // s0(x) in desmos
-        CalculusFunction startScalar = new Piecewise(new CalculusFunction[]{
+        Polynomial[] startScalar = {
             new Polynomial(-2, 0, 1),
             new Polynomial(2, -4, 2)
-        }, new double[]{Double.NEGATIVE_INFINITY, 0.5}, Double.POSITIVE_INFINITY);
+        };
+        double[] bounds = {Double.NEGATIVE_INFINITY, 0.5, Double.POSITIVE_INFINITY};
         //\theta_x(\theta_0) and \theta_y(\theta_0)
         Point startDir = start.direction.toRect(1);
         //\theta_x(\theta_1) and \theta_y(\theta_1)
         Point endDir = end.direction.toRect(1);
         // h in desmos
-        DerivableFunction x = new Sum.Derivable(
-                new Product(startScalar, new Sum(
-                        new Constant(start.x),
-                        new Polynomial(startDir.x * startScale, 0)
-                )),
-                new Product(endScalar, new Sum(
-                        new Constant(end.x),
-                        new Polynomial(endScale * endDir.x, -1 * endScale * endDir.x)
-                ))
-        );
+        Polynomial[] xPieces = new Polynomial[2];
         // k in desmos
-        DerivableFunction y = new Sum.Derivable(
-                new Product(startScalar, new Sum(
-                        new Constant(start.y),
-                        new Polynomial(startDir.y * startScale, 0)
-                )),
-                new Product(endScalar, new Sum(
-                        new Constant(end.y),
-                        new Polynomial(endScale * endDir.y, -1 * endScale * endDir.y)
-                ))
-        );
+        Polynomial[] yPieces = new Polynomial[2];
+        for (int i = 0; i < 2; i++) {
+            xPieces[i] = startScalar[i].times(new Polynomial(startDir.x * startScale, start.x))
+                    .plus(endScalar[i].times(new Polynomial(endScale * endDir.x, end.x - endScale * endDir.x)));
+            yPieces[i] = startScalar[i].times(new Polynomial(startDir.y * startScale, start.y))
+                    .plus(endScalar[i].times(new Polynomial(endScale * endDir.y, end.y - endScale * endDir.y)));
+        }
         //create parametric function (x, y) with t in domain [0, 1], and store direction
-        return new ParametricFunction(x, y, 1, forward);
+        return new ParametricFunction(new PiecewisePolynomial(xPieces, bounds),
+                new PiecewisePolynomial(yPieces, bounds), 1, forward);
     }
     
     public static ParametricFunction makeSpline(Location start, Location end) {
@@ -128,171 +117,60 @@ public class SplineGenerator {
     public static CalculusFunction generateQuinticInterpolaterFunction(
             double initSlp, double finalSlp, Point... locations) {
         final int numSegs = locations.length - 1;
-        double[][] coeffs = new double[6*numSegs][6*numSegs+1];
+        // unknown 6*i + j is the coefficient of x^(5-j) in segment i, and each equation
+        // involves one segment or two neighbors, so only a narrow band is stored:
+        // band[row][col - row + QUINTIC_BAND] holds the coefficient at (row, col)
+        double[][] band = new double[6*numSegs][2*QUINTIC_BAND + 1];
+        double[] constants = new double[6*numSegs];
         int nextFree = 0;
         for (int i = 0; i < numSegs; i++) {
-            double[] row0 = new double[6*numSegs+1];
-            double pow = 1;
-            for (int j = row0.length - 2; j >= 0; j--) {
-                if (j % numSegs == i) {
-                    row0[j] = pow;
-                    pow *= locations[i].x;
-                } else {
-                    row0[j] = 0;
-                }
-            }
-            row0[row0.length - 1] = locations[i].y;
-            coeffs[nextFree] = row0;
-            nextFree++;
-            double[] row1 = new double[6*numSegs+1];
-            pow = 1;
-            for (int j = row1.length - 2; j >= 0; j--) {
-                if (j % numSegs == i) {
-                    row1[j] = pow;
-                    pow *= locations[i+1].x;
-                } else {
-                    row1[j] = 0;
-                }
-            }
-            row1[row1.length - 1] = locations[i+1].y;
-            coeffs[nextFree] = row1;
-            nextFree++;
             if (i == 0) {
                 // connect to start
-                double[] row2 = new double[6*numSegs+1];
-                pow = Double.NaN;
-                double der = 0;
-                for (int j = row2.length - 2; j >= 0; j--) {
-                    if (j % numSegs == i) {
-                        row2[j] = pow * der;
-                        if (Double.isNaN(row2[j])) {
-                            row2[j] = 0;
-                        }
-                        pow = Double.isNaN(pow) ? 1 : pow * locations[i].x;
-                        der++;
-                    } else {
-                        row2[j] = 0;
-                    }
-                }
-                row2[row2.length - 1] = initSlp;
-                coeffs[nextFree] = row2;
-                nextFree++;
-                double[] row3 = new double[6*numSegs+1];
-                pow = 1;
-                double[] ders = {0, 0, 2, 6, 12, 20};
-                int ind = 0;
-                for (int j = row3.length - 2; j >= 0; j--) {
-                    if (j % numSegs == i) {
-                        if (ders[ind] == 0) {
-                            ind++;
-                            continue;
-                        }
-                        row3[j] = pow * ders[ind];
-                        pow *= locations[i].x;
-                        ind++;
-                    } else {
-                        row3[j] = 0;
-                    }
-                }
-                row3[row3.length - 1] = 0;
-                coeffs[nextFree] = row3;
-                nextFree++;
-            }
-            if (i == numSegs - 1) {
-                // connect to end
-                double[] row2 = new double[6*numSegs+1];
-                pow = Double.NaN;
-                double der = 0;
-                for (int j = row2.length - 2; j >= 0; j--) {
-                    if (j % numSegs == i) {
-                        row2[j] = pow * der;
-                        if (Double.isNaN(row2[j])) {
-                            row2[j] = 0;
-                        }
-                        pow = Double.isNaN(pow) ? 1 : pow * locations[i+1].x;
-                        der++;
-                    } else {
-                        row2[j] = 0;
-                    }
-                }
-                row2[row2.length - 1] = finalSlp;
-                coeffs[nextFree] = row2;
+                addToRow(band, nextFree, i, derivative(1, locations[i].x), 1);
+                constants[nextFree] = initSlp;
                 nextFree++;
-                double[] row3 = new double[6*numSegs+1];
-                pow = 1;
-                double[] ders = {0, 0, 2, 6, 12, 20};
-                int ind = 0;
-                for (int j = row3.length - 2; j >= 0; j--) {
-                    if (j % numSegs == i) {
-                        if (ders[ind] == 0) {
-                            ind++;
-                            continue;
-                        }
-                        row3[j] = pow * ders[ind];
-                        pow *= locations[i+1].x;
-                        ind++;
-                    } else {
-                        row3[j] = 0;
-                    }
-                }
-                row3[row3.length - 1] = 0;
-                coeffs[nextFree] = row3;
+                addToRow(band, nextFree, i, derivative(2, locations[i].x), 1);
+                constants[nextFree] = 0;
                 nextFree++;
             }
+            addToRow(band, nextFree, i, derivative(0, locations[i].x), 1);
+            constants[nextFree] = locations[i].y;
+            nextFree++;
+            addToRow(band, nextFree, i, derivative(0, locations[i+1].x), 1);
+            constants[nextFree] = locations[i+1].y;
+            nextFree++;
             if (i != numSegs - 1) {
                 // connect to next segment
-                double[] d1 = derivative(1, locations[i+1].x);
-                double[] d2 = derivative(2, locations[i+1].x);
-                double[] d3 = derivative(3, locations[i+1].x);
-                double[] d4 = derivative(4, locations[i+1].x);
-                double[] row_1 = new double[6*numSegs+1];
-                double[] row_2 = new double[6*numSegs+1];
-                double[] row_3 = new double[6*numSegs+1];
-                double[] row_4 = new double[6*numSegs+1];
-                int n = 0;
-                for (int j = 0; j < 6*numSegs; j++) {
-                    row_1[j] = 0;
-                    row_2[j] = 0;
-                    row_3[j] = 0;
-                    row_4[j] = 0;
-                    if (j%numSegs == i) {
-                        row_1[j] = d1[n];
-                        row_2[j] = d2[n];
-                        row_3[j] = d3[n];
-                        row_4[j] = d4[n];
-                    }
-                    if (j%numSegs == i + 1) {
-                        row_1[j] = -d1[n];
-                        row_2[j] = -d2[n];
-                        row_3[j] = -d3[n];
-                        row_4[j] = -d4[n];
-                        n++;
-                    }
+                for (int d = 1; d <= 4; d++) {
+                    double[] der = derivative(d, locations[i+1].x);
+                    addToRow(band, nextFree, i, der, 1);
+                    addToRow(band, nextFree, i + 1, der, -1);
+                    constants[nextFree] = 0;
+                    nextFree++;
                 }
-                coeffs[nextFree] = row_1;
-                nextFree++;
-                coeffs[nextFree] = row_2;
-                nextFree++;
-                coeffs[nextFree] = row_3;
+            } else {
+                // connect to end
+                addToRow(band, nextFree, i, derivative(1, locations[i+1].x), 1);
+                constants[nextFree] = finalSlp;
                 nextFree++;
-                coeffs[nextFree] = row_4;
+                addToRow(band, nextFree, i, derivative(2, locations[i+1].x), 1);
+                constants[nextFree] = 0;
                 nextFree++;
             }
         }
-        double[] solutions = MathUtils.solveAugmentedMatrix(coeffs);
-        Polynomial[] segments = new Polynomial[numSegs];
-        for (int i = 0; i < numSegs; i++) {
-            double[] myCoeffs = new double[6];
-            for (int j = 0; j < 6; j++) {
-                myCoeffs[j] = solutions[numSegs*j + i];
-            }
-            segments[i] = new Polynomial(myCoeffs);
-        }
+        // the solutions are already packed as PiecewisePolynomial stores its pieces
+        double[] solutions = MathUtils.solveBandedMatrix(band, QUINTIC_BAND, QUINTIC_BAND, constants);
         double[] xs = new double[numSegs + 1];
         for (int i = 0; i < xs.length; i++) {
             xs[i] = locations[i].x;
         }
-        return new Piecewise(segments, xs);
+        return new PiecewisePolynomial(5, solutions, xs);
+    }
+
+    private static void addToRow(double[][] band, int row, int segment, double[] coeffs, double scale) {
+        for (int j = 0; j < 6; j++) {
+            band[row][6*segment + j - row + QUINTIC_BAND] += scale * coeffs[j];
+        }
     }
 
     private static double[] derivative(int derivative, double x) {
@@ -4,7 +4,7 @@ import org.westtorrancerobotics.lib.spline.geom.Point;
 import java.util.Objects;
 import org.westtorrancerobotics.lib.functionmath.Polynomial;
 import org.westtorrancerobotics.lib.functionmath.interfaces.CalculusFunction;
-import org.westtorrancerobotics.lib.functionmath.Piecewise;
+import org.westtorrancerobotics.lib.functionmath.PiecewisePolynomial;
 import org.westtorrancerobotics.lib.functionmath.PolynomialGenerator;
 
 /**
@@ -21,6 +21,9 @@ public class VelocitySpline implements CalculusFunction {
     
     private final CalculusFunction spline;
     private final double totalTime;
+    private final double[] times;
+    private final double[] distances;
+    private final Polynomial[] positions;
 
     /**
      * Creates a function limited by the maximums and minimums of its first and second
@@ -116,13 +119,78 @@ public class VelocitySpline implements CalculusFunction {
         bounds[lines.length - 1] = points[points.length - 1].x;
         bounds[lines.length] = Double.POSITIVE_INFINITY;
         totalTime = points[points.length - 1].x;
-        this.spline = new Piecewise(lines, bounds).integral();
+        this.spline = new PiecewisePolynomial(lines, bounds).integral();
+        CalculusFunction position = spline.integral();
+        times = new double[points.length];
+        distances = new double[points.length];
+        for (int i = 0; i < points.length; i++) {
+            times[i] = points[i].x;
+            distances[i] = position.get(times[i]);
+        }
+        // the position over each piece, as a single cubic, for finding times exactly
+        positions = new Polynomial[points.length - 1];
+        for (int i = 0; i < positions.length; i++) {
+            Polynomial velocity = lines[i + 1].integral();
+            double slope = spline.get(times[i]) - velocity.get(times[i]);
+            Polynomial cubic = velocity.integral();
+            double constant = distances[i] - cubic.get(times[i]) - slope * times[i];
+            positions[i] = cubic.plus(new Polynomial(slope, constant));
+        }
     }
     
     public double getTotalTime() {
         return totalTime;
     }
 
+    /**
+     * Gives the total distance travelled, the integral of the function over its
+     * whole domain.
+     * 
+     * @return the distance travelled by the time the velocity returns to zero
+     * @since 1.2
+     */
+    public double getTotalDistance() {
+        return distances[distances.length - 1];
+    }
+
+    /**
+     * Gives the time at which the integral of the function, the distance travelled,
+     * reaches the specified value. The distance is a cubic polynomial of time over
+     * each piece of the function, and the time is found as the root of that cubic,
+     * so no search over the whole function is needed.
+     * 
+     * @param distance the distance travelled
+     * @return the earliest time by which that distance has been travelled
+     * @throws ArithmeticException if the distance is negative or beyond the total
+     *                             distance travelled
+     * @since 1.2
+     */
+    public double getTimeAtDistance(double distance) {
+        int last = distances.length - 1;
+        if (distance < distances[0]) {
+            throw new ArithmeticException("Domain Error: Input too low.");
+        }
+        if (distance > distances[last]) {
+            throw new ArithmeticException("Domain Error: Input too high.");
+        }
+        int low = 0;
+        int high = last - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (distances[mid + 1] < distance) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        double[] roots = positions[low].realSolutions(distance, times[low], times[low + 1]);
+        if (roots.length == 0) {
+            // only when rounding has put the distance just past an end of the piece
+            return distance - distances[low] < distances[low + 1] - distance ? times[low] : times[low + 1];
+        }
+        return roots[0];
+    }
+
     /**
      * 
      * @see #VelocitySpline(double, double, double, double, double, double, double)
@@ -1,6 +1,7 @@
 package org.westtorrancerobotics.lib.spline.geom;
 
 import java.util.Objects;
+import org.westtorrancerobotics.lib.util.FastTrig;
 import org.westtorrancerobotics.lib.util.StringUtils;
 
 /**
@@ -214,6 +215,20 @@ public class Angle {
         return new Point(getX() * radius, getY() * radius);
     }
 
+    /**
+     * Converts this angle and a specified radius to rectangular coordinates, with
+     * components found at the specified precision, as {@link #toRect(double)} does.
+     * 
+     * @param radius the first polar coordinate to convert to Cartesian coordinates
+     * @param precision whether to find the components with {@code Math} or {@link FastTrig}
+     * @return a point representing the x and y components of this angle scaled by
+     *         the given radius
+     * @since 1.2
+     */
+    public Point toRect(double radius, FastTrig.Precision precision) {
+        return new Point(getX(precision) * radius, getY(precision) * radius);
+    }
+
     /**
      * Returns the measure of the angle in the desired units. The angle will be internally
      * converted to the supplied units and then the underlying value will be returned.
@@ -248,6 +263,20 @@ public class Angle {
     public double getX() {
         return Math.cos(getValue(AngleUnit.RADIANS, AngleOrientation.UNIT_CIRCLE));
     }
+
+    /**
+     * Gives the x value of this angle when its radius is one, with the cosine found
+     * at the specified precision. A {@code FAST} x value is within
+     * {@link FastTrig#MAX_ERROR} of that given by {@link #getX()}.
+     * 
+     * @param precision whether to find the cosine with {@code Math} or {@link FastTrig}
+     * @return the x value of this angle
+     * @since 1.2
+     */
+    public double getX(FastTrig.Precision precision) {
+        double radians = getValue(AngleUnit.RADIANS, AngleOrientation.UNIT_CIRCLE);
+        return precision == FastTrig.Precision.FAST ? FastTrig.cos(radians) : Math.cos(radians);
+    }
     
     /**
      * Gives the y value of this angle when its radius is one. Converts the angle to
@@ -263,6 +292,20 @@ public class Angle {
         return Math.sin(getValue(AngleUnit.RADIANS, AngleOrientation.UNIT_CIRCLE));
     }
 
+    /**
+     * Gives the y value of this angle when its radius is one, with the sine found
+     * at the specified precision. A {@code FAST} y value is within
+     * {@link FastTrig#MAX_ERROR} of that given by {@link #getY()}.
+     * 
+     * @param precision whether to find the sine with {@code Math} or {@link FastTrig}
+     * @return the y value of this angle
+     * @since 1.2
+     */
+    public double getY(FastTrig.Precision precision) {
+        double radians = getValue(AngleUnit.RADIANS, AngleOrientation.UNIT_CIRCLE);
+        return precision == FastTrig.Precision.FAST ? FastTrig.sin(radians) : Math.sin(radians);
+    }
+
     /**
      * Returns true if and only if {@code obj} is another angle created with the same
      * value, unit, and orientation. Two angles created by the constructor
@@ -0,0 +1,231 @@
+package org.westtorrancerobotics.lib.util;
+
+/**
+ * Utility class giving sines, cosines, tangents and arctangents faster than those
+ * of {@code Math}, for control loops that take many of them on every cycle. Each
+ * is read from a table at the nearest of evenly spaced points, and corrected for
+ * the small remaining distance with a short polynomial, so no call to {@code Math}
+ * is made for inputs of ordinary size.
+ * <p>
+ * The sine and cosine of an input within {@link #MAX_REDUCED_INPUT} of zero differ
+ * from those of {@code Math} by no more than {@link #MAX_ERROR}, and the
+ * arctangent of any input does too. A tangent is the quotient of a sine and
+ * cosine, so its error grows with the square of the secant as the cosine nears
+ * zero. Larger or undefined inputs are given to {@code Math}.
+ *
+ * @since 1.2
+ */
+public class FastTrig {
+
+    private FastTrig() {} // no constructor
+
+    /**
+     * How the functions of the {@code trig} package, and the components of an
+     * {@code Angle}, find their outputs.
+     *
+     * @since 1.2
+     */
+    public enum Precision {
+        /**
+         * Uses the functions of {@code Math}, which are accurate to within about
+         * an ulp.
+         *
+         * @since 1.2
+         */
+        EXACT,
+        /**
+         * Uses the functions of {@code FastTrig}, which are accurate to within
+         * {@link FastTrig#MAX_ERROR}.
+         *
+         * @since 1.2
+         */
+        FAST
+    }
+
+    /**
+     * The largest difference between an output of this class and that of
+     * {@code Math}, for sines and cosines of inputs within {@link #MAX_REDUCED_INPUT}
+     * of zero and for arctangents of any input.
+     *
+     * @since 1.2
+     */
+    public static final double MAX_ERROR = 1e-15;
+
+    /**
+     * The largest input, by absolute value, whose sine and cosine are found from
+     * the table. Beyond this, they are given by {@code Math}.
+     *
+     * @since 1.2
+     */
+    public static final double MAX_REDUCED_INPUT = 1e6;
+
+    private static final int SIZE = 512;
+    private static final int MASK = SIZE - 1;
+    private static final int QUARTER = SIZE / 4;
+    private static final double STEPS_PER_RADIAN = SIZE / (2 * Math.PI);
+    // pi / 256 in three parts, so that multiples of it up to 2^27 are subtracted exactly
+    private static final double STEP_HIGH = Double.longBitsToDouble(
+            Double.doubleToLongBits(Math.PI / 256) & 0xFFFFFFFFF0000000L);
+    private static final double STEP_MIDDLE = Math.PI / 256 - STEP_HIGH;
+    private static final double STEP_LOW = 1.2246467991473532e-16 / 256; // pi - Math.PI, over 256
+    private static final double[] SINES = new double[SIZE];
+
+    private static final int ATAN_SIZE = 256;
+    private static final double[] ARCTANGENTS = new double[ATAN_SIZE + 1];
+
+    static {
+        for (int i = 0; i < SIZE; i++) {
+            SINES[i] = Math.sin(i * STEP_HIGH + i * STEP_MIDDLE + i * STEP_LOW);
+        }
+        for (int i = 0; i <= ATAN_SIZE; i++) {
+            ARCTANGENTS[i] = Math.atan((double) i / ATAN_SIZE);
+        }
+    }
+
+    /**
+     * Gives the sine of an angle.
+     *
+     * @param x the angle, in radians
+     * @return the sine of {@code x}, within {@link #MAX_ERROR}
+     * @since 1.2
+     */
+    public static double sin(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_INPUT) || x == 0) {
+            return x == 0 ? x : Math.sin(x); // keeping the sign of zero
+        }
+        long k = Math.round(x * STEPS_PER_RADIAN);
+        double d = reduce(x, k);
+        int i = (int) k & MASK;
+        return SINES[i] * cosOfSmall(d) + SINES[(i + QUARTER) & MASK] * sinOfSmall(d);
+    }
+
+    /**
+     * Gives the cosine of an angle.
+     *
+     * @param x the angle, in radians
+     * @return the cosine of {@code x}, within {@link #MAX_ERROR}
+     * @since 1.2
+     */
+    public static double cos(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_INPUT)) {
+            return Math.cos(x);
+        }
+        long k = Math.round(x * STEPS_PER_RADIAN);
+        double d = reduce(x, k);
+        int i = (int) k & MASK;
+        return SINES[(i + QUARTER) & MASK] * cosOfSmall(d) - SINES[i] * sinOfSmall(d);
+    }
+
+    /**
+     * Gives the tangent of an angle, as the quotient of its sine and cosine.
+     *
+     * @param x the angle, in radians
+     * @return the tangent of {@code x}, within twice {@link #MAX_ERROR} times
+     *         the square of the secant of {@code x}
+     * @since 1.2
+     */
+    public static double tan(double x) {
+        if (!(Math.abs(x) <= MAX_REDUCED_INPUT) || x == 0) {
+            return x == 0 ? x : Math.tan(x); // keeping the sign of zero
+        }
+        long k = Math.round(x * STEPS_PER_RADIAN);
+        double d = reduce(x, k);
+        int i = (int) k & MASK;
+        double s = SINES[i];
+        double c = SINES[(i + QUARTER) & MASK];
+        double cd = cosOfSmall(d);
+        double sd = sinOfSmall(d);
+        return (s * cd + c * sd) / (c * cd - s * sd);
+    }
+
+    /**
+     * Gives the sine and cosine of an angle at once, sharing the work common to
+     * both.
+     *
+     * @param x the angle, in radians
+     * @param out the array in which to store the sine, at index 0, and cosine,
+     *            at index 1
+     * @since 1.2
+     */
+    public static void sinCos(double x, double[] out) {
+        if (!(Math.abs(x) <= MAX_REDUCED_INPUT)) {
+            out[0] = Math.sin(x);
+            out[1] = Math.cos(x);
+            return;
+        }
+        long k = Math.round(x * STEPS_PER_RADIAN);
+        double d = reduce(x, k);
+        int i = (int) k & MASK;
+        double s = SINES[i];
+        double c = SINES[(i + QUARTER) & MASK];
+        double cd = cosOfSmall(d);
+        double sd = sinOfSmall(d);
+        out[0] = s * cd + c * sd;
+        out[1] = c * cd - s * sd;
+    }
+
+    /**
+     * Gives the angle whose tangent is the input.
+     *
+     * @param x the tangent of the output angle
+     * @return the angle, in radians, from {@code -pi/2} to {@code pi/2}, within
+     *         {@link #MAX_ERROR}
+     * @since 1.2
+     */
+    public static double atan(double x) {
+        if (Double.isNaN(x)) {
+            return x;
+        }
+        double a = Math.abs(x);
+        double angle = a <= 1 ? atanOfUnit(a) : Math.PI / 2 - atanOfUnit(1 / a);
+        return Math.copySign(angle, x);
+    }
+
+    /**
+     * Gives the angle of the point ({@code x}, {@code y}) from the positive x-axis,
+     * as {@code Math.atan2} does.
+     *
+     * @param y the y coordinate of the point
+     * @param x the x coordinate of the point
+     * @return the angle of the point, in radians, from {@code -pi} to {@code pi},
+     *         within {@link #MAX_ERROR}
+     * @since 1.2
+     */
+    public static double atan2(double y, double x) {
+        double ax = Math.abs(x);
+        double ay = Math.abs(y);
+        if (!(ax < Double.POSITIVE_INFINITY && ay < Double.POSITIVE_INFINITY) || ax == 0 || ay == 0) {
+            return Math.atan2(y, x); // signed zeros, infinities and NaN
+        }
+        double angle = ay <= ax ? atanOfUnit(ay / ax) : Math.PI / 2 - atanOfUnit(ax / ay);
+        if (x < 0) {
+            angle = Math.PI - angle;
+        }
+        return y < 0 ? -angle : angle;
+    }
+
+    // x minus k steps, carried out in parts so that the table stays aligned for large k
+    private static double reduce(double x, long k) {
+        return ((x - k * STEP_HIGH) - k * STEP_MIDDLE) - k * STEP_LOW;
+    }
+
+    // Taylor series, whose first omitted terms are below 1e-16 within half a step of zero
+    private static double sinOfSmall(double d) {
+        double d2 = d * d;
+        return d + d * d2 * (-1.0 / 6 + d2 / 120);
+    }
+
+    private static double cosOfSmall(double d) {
+        double d2 = d * d;
+        return 1 + d2 * (-0.5 + d2 / 24);
+    }
+
+    // the arctangent of an input from 0 to 1, corrected from the nearest entry of the table
+    private static double atanOfUnit(double a) {
+        int j = (int) (a * ATAN_SIZE + 0.5);
+        double b = (double) j / ATAN_SIZE;
+        double t = (a - b) / (1 + a * b);
+        double t2 = t * t;
+        return ARCTANGENTS[j] + (t + t * t2 * (-1.0 / 3 + t2 / 5));
+    }
+}
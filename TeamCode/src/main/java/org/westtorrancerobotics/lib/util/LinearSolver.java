@@ -0,0 +1,208 @@
+package org.westtorrancerobotics.lib.util;
+
+import java.util.Arrays;
+
+/**
+ * A reusable workspace for solving a square system of linear equations. The
+ * coefficients and constants are stored in flat arrays owned by the solver, so a
+ * system can be set up once and solved again and again, changing only the entries
+ * that differ between calls, without creating any garbage. This suits loops that
+ * run on every update of the robot, like odometry.
+ * <p>
+ * Systems of three equations are solved in closed form by Cramer's rule, and all
+ * others by LU decomposition with partial pivoting. The cofactors or the LU factors
+ * are kept between solves, and found again only once a coefficient has changed,
+ * so a system whose constants alone change is factored only once. A system with no unique
+ * solution gives a solution of all {@code NaN} rather than throwing an exception,
+ * so callers can check the result with {@link Double#isFinite(double)}.
+ * <p>
+ * A solver is not safe for use by more than one thread at once.
+ * 
+ * @since 1.2
+ */
+public class LinearSolver {
+
+    private final int size;
+    private final double[] matrix;
+    private final double[] constants;
+    private final double[] factors;
+    private final int[] pivots;
+    private final double[] solution;
+    private boolean factored;
+    private boolean singular;
+    private double determinant;
+
+    /**
+     * Creates a workspace for a system of {@code size} equations in {@code size}
+     * unknowns, with every coefficient and constant initially zero.
+     * 
+     * @param size the number of equations and unknowns
+     * @throws IllegalArgumentException if {@code size} is not positive
+     * @since 1.2
+     */
+    public LinearSolver(int size) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Size must be positive: " + size);
+        }
+        this.size = size;
+        this.matrix = new double[size * size];
+        this.constants = new double[size];
+        this.factors = new double[size * size];
+        this.pivots = new int[size];
+        this.solution = new double[size];
+    }
+
+    /**
+     * Gives the number of equations and unknowns in the system.
+     * 
+     * @return the size of the system
+     * @since 1.2
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Sets the coefficient of one unknown in one equation.
+     * 
+     * @param row the index of the equation
+     * @param column the index of the unknown
+     * @param value the coefficient of the unknown in the equation
+     * @since 1.2
+     */
+    public void set(int row, int column, double value) {
+        int index = row * size + column;
+        if (!(matrix[index] == value)) {
+            matrix[index] = value;
+            factored = false;
+        }
+    }
+
+    /**
+     * Sets the constant side of one equation.
+     * 
+     * @param row the index of the equation
+     * @param value the value the equation must equal
+     * @since 1.2
+     */
+    public void setConstant(int row, double value) {
+        constants[row] = value;
+    }
+
+    /**
+     * Solves the system as it is currently set. The coefficients and constants are
+     * left unchanged. The array returned belongs to the solver, and is overwritten
+     * by the next call to this method.
+     * 
+     * @return the value of each unknown, or all {@code NaN} if the system is singular
+     * @since 1.2
+     */
+    public double[] solve() {
+        if (!factored) {
+            if (size == 3) {
+                factorCramer();
+            } else {
+                factorLU();
+            }
+            factored = true;
+        }
+        if (singular) {
+            Arrays.fill(solution, Double.NaN);
+        } else if (size == 3) {
+            solveCramer();
+        } else {
+            solveLU();
+        }
+        return solution;
+    }
+
+    // the cofactors, transposed, so that each unknown is a row of them times the
+    // constants, over the determinant
+    private void factorCramer() {
+        double a = matrix[0], b = matrix[1], c = matrix[2];
+        double d = matrix[3], e = matrix[4], f = matrix[5];
+        double g = matrix[6], h = matrix[7], i = matrix[8];
+        factors[0] = e * i - f * h;
+        factors[1] = c * h - b * i;
+        factors[2] = b * f - c * e;
+        factors[3] = f * g - d * i;
+        factors[4] = a * i - c * g;
+        factors[5] = c * d - a * f;
+        factors[6] = d * h - e * g;
+        factors[7] = b * g - a * h;
+        factors[8] = a * e - b * d;
+        determinant = a * factors[0] + b * factors[3] + c * factors[6];
+        singular = determinant == 0 || !Double.isFinite(determinant);
+    }
+
+    private void solveCramer() {
+        double p = constants[0], q = constants[1], r = constants[2];
+        solution[0] = (p * factors[0] + q * factors[1] + r * factors[2]) / determinant;
+        solution[1] = (p * factors[3] + q * factors[4] + r * factors[5]) / determinant;
+        solution[2] = (p * factors[6] + q * factors[7] + r * factors[8]) / determinant;
+    }
+
+    // U on and above the diagonal, and the multipliers of L below it, with the row
+    // swapped into each place kept in pivots
+    private void factorLU() {
+        System.arraycopy(matrix, 0, factors, 0, matrix.length);
+        singular = false;
+        for (int k = 0; k < size; k++) {
+            int pivot = k;
+            for (int i = k + 1; i < size; i++) {
+                if (Math.abs(factors[i * size + k]) > Math.abs(factors[pivot * size + k])) {
+                    pivot = i;
+                }
+            }
+            pivots[k] = pivot;
+            double diagonal = factors[pivot * size + k];
+            if (diagonal == 0 || !Double.isFinite(diagonal)) {
+                singular = true;
+                return;
+            }
+            if (pivot != k) {
+                for (int j = 0; j < size; j++) {
+                    double temp = factors[k * size + j];
+                    factors[k * size + j] = factors[pivot * size + j];
+                    factors[pivot * size + j] = temp;
+                }
+            }
+            for (int i = k + 1; i < size; i++) {
+                double factor = factors[i * size + k] / diagonal;
+                factors[i * size + k] = factor;
+                if (factor == 0) {
+                    continue;
+                }
+                for (int j = k + 1; j < size; j++) {
+                    factors[i * size + j] -= factor * factors[k * size + j];
+                }
+            }
+        }
+    }
+
+    private void solveLU() {
+        System.arraycopy(constants, 0, solution, 0, size);
+        for (int k = 0; k < size; k++) {
+            int pivot = pivots[k];
+            if (pivot != k) {
+                double temp = solution[k];
+                solution[k] = solution[pivot];
+                solution[pivot] = temp;
+            }
+        }
+        for (int i = 1; i < size; i++) {
+            double sum = solution[i];
+            for (int j = 0; j < i; j++) {
+                sum -= factors[i * size + j] * solution[j];
+            }
+            solution[i] = sum;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            double sum = solution[i];
+            for (int j = i + 1; j < size; j++) {
+                sum -= factors[i * size + j] * solution[j];
+            }
+            solution[i] = sum / factors[i * size + i];
+        }
+    }
+}
@@ -39,13 +39,68 @@ public class MathUtils {
         return solutions;
     }
     
+    // band[i][j - i + lower] is the coefficient in row i and column j, for columns
+    // j from i - lower through i + upper; every other coefficient is zero. Uses
+    // Gaussian elimination with partial pivoting, in time linear in the number of rows.
+    public static double[] solveBandedMatrix(double[][] band, int lower, int upper, double[] constants) {
+        int n = constants.length;
+        // row swaps can push coefficients up to lower + upper right of the diagonal
+        int reach = lower + upper;
+        double[][] a = new double[n][lower + reach + 1];
+        for (int i = 0; i < n; i++) {
+            System.arraycopy(band[i], 0, a[i], 0, lower + upper + 1);
+        }
+        double[] b = constants.clone();
+        for (int k = 0; k < n; k++) {
+            int last = Math.min(n - 1, k + lower);
+            int end = Math.min(n - 1, k + reach);
+            int pivot = k;
+            for (int i = k + 1; i <= last; i++) {
+                if (Math.abs(a[i][k - i + lower]) > Math.abs(a[pivot][k - pivot + lower])) {
+                    pivot = i;
+                }
+            }
+            if (a[pivot][k - pivot + lower] == 0) {
+                throw new ArithmeticException("Singular matrix.");
+            }
+            if (pivot != k) {
+                for (int j = k; j <= end; j++) {
+                    double temp = a[k][j - k + lower];
+                    a[k][j - k + lower] = a[pivot][j - pivot + lower];
+                    a[pivot][j - pivot + lower] = temp;
+                }
+                double temp = b[k];
+                b[k] = b[pivot];
+                b[pivot] = temp;
+            }
+            double diagonal = a[k][lower];
+            for (int i = k + 1; i <= last; i++) {
+                double factor = a[i][k - i + lower] / diagonal;
+                if (factor == 0) {
+                    continue;
+                }
+                for (int j = k; j <= end; j++) {
+                    a[i][j - i + lower] -= factor * a[k][j - k + lower];
+                }
+                b[i] -= factor * b[k];
+            }
+        }
+        double[] solutions = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double sum = b[i];
+            int end = Math.min(n - 1, i + reach);
+            for (int j = i + 1; j <= end; j++) {
+                sum -= a[i][j - i + lower] * solutions[j];
+            }
+            solutions[i] = sum / a[i][lower];
+        }
+        return solutions;
+    }
+    
     private static void swap(double[][] grid, int rowa, int rowb) {
-        double[] row1 = new double[grid[0].length];
-        System.arraycopy(grid[rowa], 0, row1, 0, row1.length);
-        double[] row2 = new double[grid[0].length];
-        System.arraycopy(grid[rowb], 0, row2, 0, row2.length);
-        grid[rowb] = row1;
-        grid[rowa] = row2;
+        double[] row = grid[rowa];
+        grid[rowa] = grid[rowb];
+        grid[rowb] = row;
     }
     
     private static void multiply(double[][] grid, int row, double scalar) {
@@ -1,7 +1,5 @@
 package org.westtorrancerobotics.lib.util;
 
-import java.math.BigDecimal;
-
 /**
  * Utility class containing methods for reformatting and performing functions on
  * {@code String}s.
@@ -44,21 +42,57 @@ public class StringUtils {
             return String.valueOf(number);
         }
         String coString = String.valueOf(number);
-        double valueToRound = number;
-        double strt1 = System.nanoTime();
-        if (coString.contains("E")) {
-            String[] coStrings = coString.split("E");
-            valueToRound = Double.valueOf(coStrings[0]);
-            coString = "\\cdot 10^{" + coStrings[1] + "}";
-        } else {
-            coString = "";
+        int exponent = coString.indexOf('E');
+        StringBuilder str = new StringBuilder(coString.length() + numDecimals + 2);
+        roundHalfUp(exponent < 0 ? coString : coString.substring(0, exponent), numDecimals, str);
+        if (exponent >= 0) {
+            str.append("\\cdot 10^{").append(coString, exponent + 1, coString.length()).append('}');
+        }
+        return str.toString();
+    }
+
+    // rounds the plain decimal string to the number of decimals, away from zero
+    // at a half, as BigDecimal does with ROUND_HALF_UP, and drops trailing zeros
+    private static void roundHalfUp(String plain, int numDecimals, StringBuilder str) {
+        boolean negative = plain.charAt(0) == '-';
+        int start = negative ? 1 : 0;
+        int point = plain.indexOf('.');
+        if (point < 0) {
+            point = plain.length();
+        }
+        int wholeDigits = point - start;
+        char[] digits = new char[wholeDigits + numDecimals + 1];
+        digits[0] = '0'; // room for a carry
+        plain.getChars(start, point, digits, 1);
+        int fraction = Math.max(0, Math.min(numDecimals, plain.length() - point - 1));
+        plain.getChars(point + 1, point + 1 + fraction, digits, wholeDigits + 1);
+        for (int i = wholeDigits + 1 + fraction; i < digits.length; i++) {
+            digits[i] = '0';
+        }
+        int next = point + 1 + numDecimals;
+        if (next < plain.length() && plain.charAt(next) >= '5') {
+            int i = digits.length - 1;
+            while (digits[i] == '9') {
+                digits[i--] = '0';
+            }
+            digits[i]++;
+        }
+        int first = digits[0] == '0' ? 1 : 0;
+        int last = digits.length - 1;
+        while (last > wholeDigits && digits[last] == '0') {
+            last--;
+        }
+        boolean zero = true;
+        for (int i = first; i <= last; i++) {
+            zero &= digits[i] == '0';
+        }
+        if (negative && !zero) {
+            str.append('-');
         }
-        String str = BigDecimal.valueOf(valueToRound).setScale(numDecimals, BigDecimal.ROUND_HALF_UP).toPlainString();
-        str = str.replaceFirst("0+(?!.)\\b", "");
-        if (str.endsWith(".")) {
-            str = str.substring(0, str.length() - 1);
+        str.append(digits, first, wholeDigits + 1 - first);
+        if (last > wholeDigits) {
+            str.append('.').append(digits, wholeDigits + 1, last - wholeDigits);
         }
-        return str + coString;
     }
     
     /**